@@ -0,0 +1,85 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api;
+
+import edu.ie3.datamodel.models.StandardUnits;
+import java.util.Random;
+import java.util.UUID;
+import javax.measure.quantity.Power;
+import tech.units.indriya.ComparableQuantity;
+import tech.units.indriya.quantity.Quantities;
+
+/** Deterministic test data for the benchmarks. */
+public final class BenchmarkData {
+
+  /** Seed of all random numbers, to create the same data in every run. */
+  public static final long SEED = 42L;
+
+  private BenchmarkData() {}
+
+  /**
+   * Creates the given number of distinct uuids.
+   *
+   * @param count number of uuids
+   * @return an array of uuids
+   */
+  public static UUID[] uuids(int count) {
+    Random random = new Random(SEED);
+    UUID[] uuids = new UUID[count];
+
+    for (int i = 0; i < count; i++) {
+      uuids[i] = new UUID(random.nextLong(), i);
+    }
+
+    return uuids;
+  }
+
+  /**
+   * Creates the external ids for the given number of entities.
+   *
+   * @param count number of ids
+   * @return an array of ids
+   */
+  public static String[] ids(int count) {
+    String[] ids = new String[count];
+
+    for (int i = 0; i < count; i++) {
+      ids[i] = "asset_" + i;
+    }
+
+    return ids;
+  }
+
+  /**
+   * Creates a random order of indices, that is used to access entities in a cache unfriendly way.
+   *
+   * @param count number of indices
+   * @return a shuffled array of indices
+   */
+  public static int[] shuffledIndices(int count) {
+    Random random = new Random(SEED);
+    int[] indices = new int[count];
+
+    for (int i = 0; i < count; i++) {
+      indices[i] = i;
+    }
+
+    for (int i = count - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = indices[i];
+      indices[i] = indices[j];
+      indices[j] = tmp;
+    }
+
+    return indices;
+  }
+
+  /** Returns an active power in kW. */
+  public static ComparableQuantity<Power> power(double value) {
+    return Quantities.getQuantity(value, StandardUnits.ACTIVE_POWER_IN);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data;
+
+import edu.ie3.simona.api.data.ExtDataContainerQueue.CapacityUnit;
+import edu.ie3.simona.api.data.ExtDataContainerQueue.WaitStrategy;
+import edu.ie3.simona.api.data.container.ExtInputContainer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the hand-off of containers between two threads. An echo thread takes every container
+ * from the request queue and adds it to the response queue, like SIMONA does with the external
+ * data.
+ *
+ * <p>{@link #roundTrip()} measures the latency of a single hand-off in both directions, while
+ * {@link #burst()} measures the throughput, if many containers are queued at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExtDataContainerQueueBenchmark {
+  private static final int BURST_SIZE = 1000;
+  private static final int CAPACITY = 1024;
+
+  /** Type of queue. */
+  public enum QueueType {
+    DEFAULT,
+    BOUNDED,
+    SPSC,
+    TICK;
+
+    ExtDataQueue<ExtInputContainer> create() {
+      return switch (this) {
+        case DEFAULT -> new ExtDataContainerQueue<>();
+        case BOUNDED -> ExtDataContainerQueue.bounded(CAPACITY, CapacityUnit.CONTAINERS);
+        case SPSC ->
+            ExtDataContainerQueue.singleProducerSingleConsumer(CAPACITY, WaitStrategy.PARK);
+        case TICK -> new ExtTickDataContainerQueue<>();
+      };
+    }
+  }
+
+  @Param({"DEFAULT", "BOUNDED", "SPSC", "TICK"})
+  public QueueType queueType;
+
+  private ExtDataQueue<ExtInputContainer> requests;
+  private ExtDataQueue<ExtInputContainer> responses;
+  private Thread echo;
+
+  private ExtInputContainer[] containers;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    requests = queueType.create();
+    responses = queueType.create();
+
+    containers = new ExtInputContainer[BURST_SIZE];
+    for (int i = 0; i < BURST_SIZE; i++) {
+      containers[i] = new ExtInputContainer(i);
+    }
+
+    echo =
+        new Thread(
+            () -> {
+              try {
+                while (!Thread.currentThread().isInterrupted()) {
+                  responses.queueData(requests.takeContainer());
+                }
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            },
+            "echo");
+    echo.setDaemon(true);
+    echo.start();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    echo.interrupt();
+    echo.join();
+  }
+
+  @Benchmark
+  public ExtInputContainer roundTrip() throws InterruptedException {
+    requests.queueData(containers[next]);
+    next = (next + 1) % BURST_SIZE;
+    return responses.takeContainer();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BURST_SIZE)
+  public ExtInputContainer burst() throws InterruptedException {
+    for (ExtInputContainer container : containers) {
+      requests.queueData(container);
+    }
+
+    ExtInputContainer last = null;
+    for (int i = 0; i < BURST_SIZE; i++) {
+      last = responses.takeContainer();
+    }
+
+    return last;
+  }
+}
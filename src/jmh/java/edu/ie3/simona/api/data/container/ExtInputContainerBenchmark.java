@@ -0,0 +1,110 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data.container;
+
+import edu.ie3.datamodel.models.value.PValue;
+import edu.ie3.datamodel.models.value.Value;
+import edu.ie3.simona.api.BenchmarkData;
+import edu.ie3.simona.api.data.model.em.SetPoint;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/** Benchmarks filling an {@link ExtInputContainer} and extracting its data. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExtInputContainerBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int entities;
+
+  private UUID[] uuids;
+  private PValue[] values;
+
+  private ExtInputContainer reused;
+  private Map<UUID, Value> recycled;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    uuids = BenchmarkData.uuids(entities);
+    values = new PValue[entities];
+
+    for (int i = 0; i < entities; i++) {
+      values[i] = new PValue(BenchmarkData.power(i));
+    }
+
+    reused = new ExtInputContainer(0L, OptionalLong.of(900L), entities, 0);
+    recycled = new HashMap<>();
+  }
+
+  @Benchmark
+  public ExtInputContainer fillPrimaryData() {
+    ExtInputContainer container = new ExtInputContainer(0L, 900L);
+
+    for (int i = 0; i < entities; i++) {
+      container.addPrimaryValue(uuids[i], values[i]);
+    }
+
+    return container;
+  }
+
+  @Benchmark
+  public ExtInputContainer fillPrimaryDataPresized() {
+    ExtInputContainer container = new ExtInputContainer(0L, OptionalLong.of(900L), entities, 0);
+
+    for (int i = 0; i < entities; i++) {
+      container.addPrimaryValue(uuids[i], values[i]);
+    }
+
+    return container;
+  }
+
+  @Benchmark
+  public Map<UUID, Value> fillAndExtractPrimaryDataReused() {
+    reused.reset(0L, OptionalLong.of(900L));
+
+    for (int i = 0; i < entities; i++) {
+      reused.addPrimaryValue(uuids[i], values[i]);
+    }
+
+    return reused.extractPrimaryData();
+  }
+
+  @Benchmark
+  public Map<UUID, Value> fillAndExtractPrimaryDataRecycled() {
+    reused.reset(0L, OptionalLong.of(900L));
+
+    for (int i = 0; i < entities; i++) {
+      reused.addPrimaryValue(uuids[i], values[i]);
+    }
+
+    // the extracted map is recycled by the next invocation
+    Map<UUID, Value> extracted = reused.extractPrimaryData(recycled);
+    recycled = extracted;
+    return extracted;
+  }
+
+  @Benchmark
+  public Map<UUID, Value> fillAndExtractPrimaryData() {
+    return fillPrimaryData().extractPrimaryData();
+  }
+
+  @Benchmark
+  public Map<UUID, SetPoint> fillAndExtractSetPoints() {
+    ExtInputContainer container = new ExtInputContainer(0L, 900L);
+
+    for (int i = 0; i < entities; i++) {
+      container.addSetPoint(uuids[i], values[i]);
+    }
+
+    return container.extractSetPoints();
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data.container;
+
+import edu.ie3.datamodel.models.StandardUnits;
+import edu.ie3.datamodel.models.result.NodeResult;
+import edu.ie3.datamodel.models.result.ResultEntity;
+import edu.ie3.datamodel.models.result.system.FlexOptionsResult;
+import edu.ie3.datamodel.models.result.system.LoadResult;
+import edu.ie3.simona.api.BenchmarkData;
+import edu.ie3.util.quantities.PowerSystemUnits;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * Benchmarks retrieving the results of one type from an {@link ExtOutputContainer}, that contains
+ * node, load and flex options results in equal parts, and filling such a container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExtOutputContainerBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int entities;
+
+  private ExtOutputContainer container;
+  private UUID[] uuids;
+  private ResultEntity[] results;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    ZonedDateTime time = ZonedDateTime.parse("2020-01-30T17:26:44Z");
+    uuids = BenchmarkData.uuids(entities);
+    container = new ExtOutputContainer(0L);
+
+    results = new ResultEntity[entities];
+
+    for (int i = 0; i < entities; i++) {
+      UUID uuid = uuids[i];
+
+      results[i] =
+          switch (i % 3) {
+            case 0 ->
+                new NodeResult(
+                    time,
+                    uuid,
+                    Quantities.getQuantity(1d, PowerSystemUnits.PU),
+                    Quantities.getQuantity(0d, StandardUnits.VOLTAGE_ANGLE));
+            case 1 ->
+                new LoadResult(
+                    time,
+                    uuid,
+                    Quantities.getQuantity(10d, StandardUnits.ACTIVE_POWER_RESULT),
+                    Quantities.getQuantity(5d, StandardUnits.REACTIVE_POWER_RESULT));
+            default ->
+                new FlexOptionsResult(
+                    time,
+                    uuid,
+                    BenchmarkData.power(0d),
+                    BenchmarkData.power(-10d),
+                    BenchmarkData.power(10d));
+          };
+
+      container.addResult(uuid, results[i]);
+    }
+  }
+
+  @Benchmark
+  public ExtOutputContainer fillResults() {
+    return fill(new ExtOutputContainer(0L));
+  }
+
+  @Benchmark
+  public ExtOutputContainer fillResultsPresized() {
+    return fill(new ExtOutputContainer(0L, OptionalLong.empty(), entities, 0));
+  }
+
+  private ExtOutputContainer fill(ExtOutputContainer target) {
+    for (int i = 0; i < entities; i++) {
+      target.addResult(uuids[i], results[i]);
+    }
+
+    return target;
+  }
+
+  @Benchmark
+  public Map<UUID, NodeResult> getNodeResults() {
+    return container.getResults(NodeResult.class);
+  }
+
+  @Benchmark
+  public int iterateNodeResultsView() {
+    int count = 0;
+
+    for (NodeResult result : container.getResultsView(NodeResult.class).values()) {
+      if (result.getInputModel() != null) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  @Benchmark
+  public Map<UUID, LoadResult> getLoadResults() {
+    return container.getResults(LoadResult.class);
+  }
+
+  @Benchmark
+  public PowerResultColumns convertToPowerResults() {
+    return PowerResultColumns.from(container.getResults());
+  }
+
+  @Benchmark
+  public double fillAndReadPowerResults() {
+    ExtOutputContainer powerContainer = new ExtOutputContainer(0L);
+
+    for (int i = 0; i < entities; i++) {
+      powerContainer.addPowerResult(uuids[i], i, -i);
+    }
+
+    PowerResultColumns columns = powerContainer.getPowerResults();
+    double sum = 0d;
+
+    for (int row = 0; row < columns.size(); row++) {
+      sum += columns.getP(row) + columns.getQ(row);
+    }
+
+    return sum;
+  }
+}
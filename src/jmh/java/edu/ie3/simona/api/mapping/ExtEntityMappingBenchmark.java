@@ -0,0 +1,126 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.mapping;
+
+import edu.ie3.simona.api.BenchmarkData;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the lookups of an {@link ExtEntityMapping}. The single lookups access the entities in
+ * a random order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExtEntityMappingBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int entities;
+
+  private List<ExtEntityEntry> entries;
+  private ExtEntityMapping mapping;
+  private ExtEntityMapping readMapping;
+  private Path file;
+
+  private UUID[] uuids;
+  private String[] ids;
+  private int[] order;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    uuids = BenchmarkData.uuids(entities);
+    ids = BenchmarkData.ids(entities);
+    order = BenchmarkData.shuffledIndices(entities);
+
+    DataType[] dataTypes = {DataType.PRIMARY, DataType.RESULT, DataType.EM};
+    entries = new ArrayList<>(entities);
+
+    for (int i = 0; i < entities; i++) {
+      entries.add(new ExtEntityEntry(uuids[i], ids[i], dataTypes[i % dataTypes.length]));
+    }
+
+    mapping = new ExtEntityMapping(entries);
+
+    file = Files.createTempFile("mapping", ".bin");
+    mapping.write(file);
+    readMapping = ExtEntityMapping.read(file);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private int nextIndex() {
+    int index = order[next];
+    next = next + 1 == order.length ? 0 : next + 1;
+    return index;
+  }
+
+  @Benchmark
+  public String uuidToId() {
+    return mapping.from(uuids[nextIndex()]);
+  }
+
+  @Benchmark
+  public UUID idToUuid() {
+    return mapping.from(ids[nextIndex()]);
+  }
+
+  @Benchmark
+  public int uuidToOrdinal() {
+    return mapping.ordinalOf(uuids[nextIndex()]);
+  }
+
+  @Benchmark
+  public UUID readIdToUuid() {
+    return readMapping.from(ids[nextIndex()]);
+  }
+
+  @Benchmark
+  public int readUuidToOrdinal() {
+    return readMapping.ordinalOf(uuids[nextIndex()]);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<UUID> getAssets() {
+    return mapping.getAssets(DataType.PRIMARY);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public ExtEntityMapping create() {
+    return new ExtEntityMapping(entries);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<UUID> createAndGetAssets() {
+    return new ExtEntityMapping(entries).getAssets(DataType.PRIMARY);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public ExtEntityMapping include() {
+    return mapping.include(entries);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public ExtEntityMapping read() throws IOException {
+    return ExtEntityMapping.read(file);
+  }
+}
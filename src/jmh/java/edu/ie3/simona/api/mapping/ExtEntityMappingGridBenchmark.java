@@ -0,0 +1,119 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.mapping;
+
+import edu.ie3.datamodel.models.input.AssetInput;
+import edu.ie3.datamodel.models.input.EmInput;
+import edu.ie3.datamodel.models.input.NodeInput;
+import edu.ie3.datamodel.models.input.container.GraphicElements;
+import edu.ie3.datamodel.models.input.container.RawGridElements;
+import edu.ie3.datamodel.models.input.container.SubGridContainer;
+import edu.ie3.datamodel.models.input.container.SystemParticipants;
+import edu.ie3.datamodel.models.input.system.FixedFeedInInput;
+import edu.ie3.datamodel.models.input.system.SystemParticipantInput;
+import edu.ie3.datamodel.models.voltagelevels.GermanVoltageLevelUtils;
+import edu.ie3.simona.api.BenchmarkData;
+import edu.ie3.util.quantities.PowerSystemUnits;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * Benchmarks creating an {@link ExtEntityMapping} from a synthetic grid. The grid has one node per
+ * ten participants. Each participant is controlled by an em. The ems form a tree, in which each em
+ * controls ten participants resp. ems.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExtEntityMappingGridBenchmark {
+
+  /** Number of participants resp. ems, that are controlled by one em. */
+  private static final int FAN_OUT = 10;
+
+  @Param({"10000", "100000", "1000000"})
+  public int participants;
+
+  private SubGridContainer grid;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    UUID[] uuids = BenchmarkData.uuids(participants * 2 + FAN_OUT);
+    int next = 0;
+
+    List<AssetInput> nodes = new ArrayList<>();
+
+    for (int i = 0; i < participants / FAN_OUT; i++) {
+      nodes.add(
+          new NodeInput(
+              uuids[next++],
+              "node_" + i,
+              Quantities.getQuantity(1d, PowerSystemUnits.PU),
+              false,
+              NodeInput.DEFAULT_GEO_POSITION,
+              GermanVoltageLevelUtils.LV,
+              1));
+    }
+
+    // number of ems per level, starting with the ems, that control the participants
+    List<Integer> levelSizes = new ArrayList<>();
+    int levelSize = participants;
+
+    do {
+      levelSize = (levelSize + FAN_OUT - 1) / FAN_OUT;
+      levelSizes.add(levelSize);
+    } while (levelSize > 1);
+
+    // the ems are created top down, so that each em knows its controlling em
+    List<EmInput> parents = List.of();
+
+    for (int level = levelSizes.size() - 1; level >= 0; level--) {
+      List<EmInput> ems = new ArrayList<>(levelSizes.get(level));
+
+      for (int i = 0; i < levelSizes.get(level); i++) {
+        EmInput parent = parents.isEmpty() ? null : parents.get(i / FAN_OUT);
+        ems.add(new EmInput(uuids[next++], "em_" + level + "_" + i, "", parent));
+      }
+
+      parents = ems;
+    }
+
+    List<EmInput> leafEms = parents;
+    List<SystemParticipantInput> participantInputs = new ArrayList<>(participants);
+
+    for (int i = 0; i < participants; i++) {
+      NodeInput node = (NodeInput) nodes.get(i / FAN_OUT);
+      EmInput em = leafEms.get(i / FAN_OUT);
+
+      participantInputs.add(
+          new FixedFeedInInput(
+              uuids[next++],
+              "ffi_" + i,
+              node,
+              null,
+              em,
+              Quantities.getQuantity(10, PowerSystemUnits.KILOVOLTAMPERE),
+              0.9));
+    }
+
+    grid =
+        new SubGridContainer(
+            "benchmark grid",
+            1,
+            new RawGridElements(nodes),
+            new SystemParticipants(participantInputs),
+            new GraphicElements(List.of()));
+  }
+
+  @Benchmark
+  public ExtEntityMapping createFromGrid() {
+    return new ExtEntityMapping(grid);
+  }
+}
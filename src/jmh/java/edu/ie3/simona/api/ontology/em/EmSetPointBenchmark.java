@@ -0,0 +1,85 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.ontology.em;
+
+import edu.ie3.simona.api.BenchmarkData;
+import edu.ie3.simona.api.data.model.em.SetPoint;
+import edu.ie3.simona.api.data.model.em.SetPointBatch;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * Benchmarks creating the message for the aggregated set points of an optimizer, that calculated
+ * the active power of each em as a double. The set points are either created as {@link
+ * SetPoint.AggregatedSetPoint}s or written into a {@link SetPointBatch}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmSetPointBenchmark {
+
+  @Param({"1000", "10000", "50000", "100000"})
+  public int ems;
+
+  private List<UUID> receivers;
+  private double[] p;
+
+  private SetPointBatch reused;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    receivers = List.of(BenchmarkData.uuids(ems));
+    p = new double[ems];
+
+    for (int i = 0; i < ems; i++) {
+      p[i] = i % 100;
+    }
+
+    reused = new SetPointBatch(receivers);
+  }
+
+  @Benchmark
+  public ProvideEmData setPoints() {
+    Map<UUID, SetPoint> setPoints = new HashMap<>();
+
+    for (int i = 0; i < ems; i++) {
+      UUID receiver = receivers.get(i);
+      setPoints.put(
+          receiver,
+          new SetPoint.AggregatedSetPoint(
+              receiver, Quantities.getQuantity(p[i], SetPointBatch.P_UNIT)));
+    }
+
+    return new ProvideEmData(900L, Collections.emptyMap(), Collections.emptyMap(), setPoints);
+  }
+
+  @Benchmark
+  public ProvideEmSetPoints setPointBatch() {
+    SetPointBatch batch = new SetPointBatch(receivers);
+
+    for (int i = 0; i < ems; i++) {
+      batch.setP(i, p[i]);
+    }
+
+    // the batch is copied, like when it is sent
+    return new ProvideEmSetPoints(900L, batch.copy());
+  }
+
+  @Benchmark
+  public ProvideEmSetPoints setPointBatchReused() {
+    reused.clear();
+
+    for (int i = 0; i < ems; i++) {
+      reused.setP(i, p[i]);
+    }
+
+    // the batch is copied, like when it is sent
+    return new ProvideEmSetPoints(900L, reused.copy());
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.ontology.em;
+
+import edu.ie3.simona.api.BenchmarkData;
+import edu.ie3.simona.api.data.model.em.EmData;
+import edu.ie3.simona.api.data.model.em.FlexOptionRequest;
+import edu.ie3.simona.api.data.model.em.PowerLimitFlexOptions;
+import edu.ie3.simona.api.data.model.em.SetPoint;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmarks partitioning em data into flex requests, flex options and set points with {@link
+ * ProvideEmData#create(long, Map, Logger)}. The data consists of all three types in equal parts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProvideEmDataBenchmark {
+  private static final Logger log = LoggerFactory.getLogger(ProvideEmDataBenchmark.class);
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int entities;
+
+  private Map<UUID, EmData> emData;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    UUID[] uuids = BenchmarkData.uuids(entities);
+    emData = new HashMap<>();
+
+    for (int i = 0; i < entities; i++) {
+      UUID uuid = uuids[i];
+
+      EmData data =
+          switch (i % 3) {
+            case 0 -> new FlexOptionRequest(uuid);
+            case 1 ->
+                new PowerLimitFlexOptions(
+                    uuid,
+                    uuid,
+                    BenchmarkData.power(0d),
+                    BenchmarkData.power(-10d),
+                    BenchmarkData.power(10d));
+            default -> new SetPoint.AggregatedSetPoint(uuid, BenchmarkData.power(i));
+          };
+
+      emData.put(uuid, data);
+    }
+  }
+
+  @Benchmark
+  public ProvideEmData create() {
+    return ProvideEmData.create(900L, emData, log);
+  }
+}
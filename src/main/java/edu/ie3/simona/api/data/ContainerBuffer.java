@@ -0,0 +1,82 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data;
+
+import edu.ie3.simona.api.data.container.ExtDataContainer;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Storage that backs an {@link ExtDataQueue}. Implementations define how containers are handed over
+ * between the producing and the consuming threads.
+ *
+ * @param <V> type of container
+ */
+sealed interface ContainerBuffer<V extends ExtDataContainer>
+    permits DequeContainerBuffer, SpscContainerBuffer, TickContainerBuffer {
+
+  /** Returns the number of containers in this buffer. */
+  int size();
+
+  /** Removes all containers from this buffer. */
+  void clear();
+
+  /** Returns the current statistics of this buffer. */
+  ExtDataContainerQueue.Statistics statistics();
+
+  /**
+   * Adds a container to the end of this buffer.
+   *
+   * @param data to be added
+   * @throws InterruptedException if interrupted while waiting
+   */
+  void put(V data) throws InterruptedException;
+
+  /**
+   * Removes the first container. Blocks until a container is available.
+   *
+   * @return the first container
+   * @throws InterruptedException if interrupted while waiting
+   */
+  V take() throws InterruptedException;
+
+  /**
+   * Removes the first container. Blocks until a container is available or the timeout is reached.
+   *
+   * @param timeout maximal time to wait
+   * @param unit unit of the timeout
+   * @return the first container or {@code null}, if the timeout was reached
+   * @throws InterruptedException if interrupted while waiting
+   */
+  V poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+  /**
+   * Applies the extractor to the first container. The container is only removed, if it is empty
+   * afterward. Blocks until a container is available.
+   *
+   * @param extractor function to extract a part of the container
+   * @return the extracted part
+   * @param <R> type of returned value
+   * @throws InterruptedException if interrupted while waiting
+   */
+  <R> R takeData(Function<V, R> extractor) throws InterruptedException;
+
+  /**
+   * Applies the extractor to the first container. The container is only removed, if it is empty
+   * afterward. Blocks until a container is available or the timeout is reached.
+   *
+   * @param extractor function to extract a part of the container
+   * @param timeout maximal time to wait
+   * @param unit unit of the timeout
+   * @return an option for the extracted part
+   * @param <R> type of returned value
+   * @throws InterruptedException if interrupted while waiting
+   */
+  <R> Optional<R> pollData(Function<V, R> extractor, long timeout, TimeUnit unit)
+      throws InterruptedException;
+}
@@ -0,0 +1,314 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data;
+
+import edu.ie3.simona.api.data.ExtDataContainerQueue.CapacityUnit;
+import edu.ie3.simona.api.data.ExtDataContainerQueue.Statistics;
+import edu.ie3.simona.api.data.container.ExtDataContainer;
+import edu.ie3.simona.api.exceptions.ExtDataQueueFullException;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Buffer based on an {@link ArrayDeque} that is guarded by a single lock. This buffer can be used
+ * by any number of producers and consumers.
+ *
+ * <p>If a merge function is given, an added container is merged into the last container, if both
+ * containers are meant for the same tick.
+ *
+ * <p>Partial extractions are applied to the first container in place, while holding the lock. The
+ * container is only removed, if it is empty afterward. Therefore, multiple threads can extract
+ * different parts of the same container without ever seeing a later container first.
+ *
+ * <p>The buffer can be bounded. Each container then has a weight, that is either one or the number
+ * of its entries (see {@link CapacityUnit}). A container is only added, if the total weight does
+ * not exceed the capacity afterward. To never block forever, a container is always added to an
+ * empty buffer, even if its weight exceeds the capacity.
+ *
+ * @param <V> type of container
+ */
+final class DequeContainerBuffer<V extends ExtDataContainer> implements ContainerBuffer<V> {
+  private final ArrayDeque<V> containers = new ArrayDeque<>();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+
+  private final long capacity;
+  private final CapacityUnit unit;
+
+  /** Maximal time a producer waits for free capacity. A negative value means no timeout. */
+  private final long timeoutNanos;
+
+  /** Merges an added container (second) into a queued container (first), may be null. */
+  private final BiConsumer<V, V> merger;
+
+  /** Total weight of all containers. */
+  private long weight;
+
+  // statistics
+  private long highWaterMark;
+  private long blockedNanos;
+  private long rejected;
+
+  /** Creates an unbounded buffer. */
+  DequeContainerBuffer() {
+    this(Long.MAX_VALUE, CapacityUnit.CONTAINERS, -1L, null);
+  }
+
+  /**
+   * Creates a bounded buffer.
+   *
+   * @param capacity maximal total weight of the containers
+   * @param unit of the capacity
+   * @param timeoutNanos maximal time a producer waits for free capacity, a negative value means no
+   *     timeout
+   * @param merger function to merge an added container into a queued container for the same tick,
+   *     or null, if containers should not be merged
+   */
+  DequeContainerBuffer(
+      long capacity, CapacityUnit unit, long timeoutNanos, BiConsumer<V, V> merger) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException(
+          "The capacity needs to be at least 1, but was " + capacity + "!");
+    }
+
+    this.capacity = capacity;
+    this.unit = unit;
+    this.timeoutNanos = timeoutNanos;
+    this.merger = merger;
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return containers.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.lock();
+    try {
+      containers.clear();
+      weight = 0L;
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Statistics statistics() {
+    lock.lock();
+    try {
+      return new Statistics(highWaterMark, blockedNanos, rejected);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void put(V data) throws InterruptedException {
+    long dataWeight = weightOf(data);
+
+    lock.lockInterruptibly();
+    try {
+      boolean mergeable = canMerge(data);
+
+      // merging does not add a container, but may add entries
+      long growth = mergeable && unit == CapacityUnit.CONTAINERS ? 0L : dataWeight;
+
+      if (growth > 0L && weight > 0L && weight + growth > capacity) {
+        awaitCapacity(growth);
+        mergeable = canMerge(data);
+      }
+
+      if (mergeable) {
+        V last = containers.peekLast();
+        long before = weightOf(last);
+        merger.accept(last, data);
+        weight += weightOf(last) - before;
+      } else {
+        containers.addLast(data);
+        weight += dataWeight;
+      }
+
+      highWaterMark = Math.max(highWaterMark, weight);
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public V take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (containers.isEmpty()) {
+        notEmpty.await();
+      }
+
+      return removeFirst();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public V poll(long timeout, TimeUnit unit) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      return awaitFirst(unit.toNanos(timeout)) ? removeFirst() : null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public <R> R takeData(Function<V, R> extractor) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (containers.isEmpty()) {
+        notEmpty.await();
+      }
+
+      return extractFirst(extractor);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public <R> Optional<R> pollData(Function<V, R> extractor, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      if (awaitFirst(unit.toNanos(timeout))) {
+        return Optional.of(extractFirst(extractor));
+      }
+
+      return Optional.empty();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until a container is available. Must be called while holding the lock.
+   *
+   * @param nanos maximal time to wait
+   * @return false, if no container is available after waiting
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private boolean awaitFirst(long nanos) throws InterruptedException {
+    long remaining = nanos;
+
+    while (containers.isEmpty()) {
+      if (remaining <= 0L) {
+        return false;
+      }
+
+      remaining = notEmpty.awaitNanos(remaining);
+    }
+
+    return true;
+  }
+
+  /**
+   * Waits until a container with the given weight can be added. Must be called while holding the
+   * lock.
+   *
+   * @param dataWeight weight of the container
+   * @throws InterruptedException if interrupted while waiting
+   * @throws ExtDataQueueFullException if the timeout was reached
+   */
+  private void awaitCapacity(long dataWeight) throws InterruptedException {
+    long start = System.nanoTime();
+    long remaining = timeoutNanos;
+
+    try {
+      while (weight > 0L && weight + dataWeight > capacity) {
+        if (timeoutNanos < 0L) {
+          notFull.await();
+        } else if (remaining <= 0L) {
+          rejected++;
+          throw new ExtDataQueueFullException(
+              "The queue is full (capacity: "
+                  + capacity
+                  + " "
+                  + unit.name().toLowerCase()
+                  + ")! Could not add container within "
+                  + TimeUnit.NANOSECONDS.toMillis(timeoutNanos)
+                  + " ms.");
+        } else {
+          remaining = notFull.awaitNanos(remaining);
+        }
+      }
+    } finally {
+      blockedNanos += System.nanoTime() - start;
+    }
+  }
+
+  /** Returns true, if the given container can be merged into the last container. */
+  private boolean canMerge(V data) {
+    V last = containers.peekLast();
+    return merger != null && last != null && last.getTick() == data.getTick();
+  }
+
+  /** Removes the first container. Must be called while holding the lock. */
+  private V removeFirst() {
+    V data = containers.pollFirst();
+    release(weightOf(data));
+    return data;
+  }
+
+  /**
+   * Applies the extractor to the first container and removes the container, if it is empty
+   * afterward. Must be called while holding the lock.
+   */
+  private <R> R extractFirst(Function<V, R> extractor) {
+    V data = containers.peekFirst();
+    long before = weightOf(data);
+    R result = extractor.apply(data);
+
+    if (data.isEmpty()) {
+      containers.pollFirst();
+      release(before);
+    } else {
+      release(before - weightOf(data));
+    }
+
+    return result;
+  }
+
+  /** Releases the given weight and wakes up waiting producers. */
+  private void release(long released) {
+    // containers may be changed after they were added, therefore the weight is reset, if empty
+    long newWeight = containers.isEmpty() ? 0L : Math.max(weight - released, 0L);
+
+    if (newWeight < weight) {
+      weight = newWeight;
+      notFull.signalAll();
+    }
+  }
+
+  private long weightOf(V data) {
+    return switch (unit) {
+      case CONTAINERS -> 1L;
+      case ENTRIES -> data.entryCount();
+    };
+  }
+}
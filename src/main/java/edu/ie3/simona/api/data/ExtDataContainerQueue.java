@@ -7,116 +7,156 @@
 package edu.ie3.simona.api.data;
 
 import edu.ie3.simona.api.data.container.ExtDataContainer;
-import java.util.Optional;
-import java.util.concurrent.LinkedBlockingDeque;
+import edu.ie3.simona.api.data.container.ExtInputContainer;
+import edu.ie3.simona.api.exceptions.ExtDataQueueFullException;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 
-/** Data queue to allow data flow between SimonaAPI and an external simulation */
-public final class ExtDataContainerQueue<V extends ExtDataContainer> {
-  private final LinkedBlockingDeque<V> receiverTriggerDeque = new LinkedBlockingDeque<>();
+/**
+ * Data queue to allow data flow between SimonaAPI and an external simulation. The containers are
+ * retrieved in the order they were added in.
+ *
+ * <p>By default, the queue can be used by any number of producers and consumers. If exactly one
+ * thread adds data and exactly one thread retrieves data, a lock-free queue can be created with
+ * {@link #singleProducerSingleConsumer(int, WaitStrategy)}. To retrieve containers ordered by their
+ * tick, use {@link ExtTickDataContainerQueue} instead.
+ *
+ * <p>The default queue is unbounded. To limit the memory used by a producer that is faster than the
+ * consumer, a bounded queue can be created with {@link #bounded(long, CapacityUnit)} or {@link
+ * #bounded(long, CapacityUnit, long, TimeUnit)}. Input containers that are provided for the same
+ * tick can be merged into one container by a queue created with {@link #coalescing()}.
+ */
+public final class ExtDataContainerQueue<V extends ExtDataContainer> extends ExtDataQueue<V> {
 
-  /** Returns the number of elements in this queue. */
-  public int size() {
-    return receiverTriggerDeque.size();
+  /** Creates a queue that can be used by any number of producers and consumers. */
+  public ExtDataContainerQueue() {
+    this(new DequeContainerBuffer<>());
   }
 
-  /** Method for clearing this queue. */
-  public void clear() {
-    receiverTriggerDeque.clear();
+  private ExtDataContainerQueue(ContainerBuffer<V> buffer) {
+    super(buffer);
   }
 
   /**
-   * Method for adding an {@link ExtDataContainer} to the queue.
+   * Creates a lock-free queue backed by a ring buffer, that does not allocate while handing over
+   * containers. If the ring buffer is full, {@link #queueData(ExtDataContainer)} waits until the
+   * consumer has taken a container.
+   *
+   * <p>ATTENTION: The queue is only safe to use, if all data is added by the same thread and all
+   * data is retrieved by the same (other) thread. Methods that retrieve data, including {@link
+   * #clear()}, must only be called by the consumer.
    *
-   * @param data to be added
-   * @throws InterruptedException if the thread running this has been interrupted during the
-   *     blocking operation
+   * @param capacity minimal number of containers the queue can hold, will be rounded up to the next
+   *     power of two
+   * @param waitStrategy that is used by the consumer and the producer while waiting
+   * @return a new queue
+   * @param <V> type of container
    */
-  public void queueData(V data) throws InterruptedException {
-    receiverTriggerDeque.putLast(data);
+  public static <V extends ExtDataContainer> ExtDataContainerQueue<V> singleProducerSingleConsumer(
+      int capacity, WaitStrategy waitStrategy) {
+    return new ExtDataContainerQueue<>(new SpscContainerBuffer<>(capacity, waitStrategy));
   }
 
   /**
-   * Method to retrieve and remove an {@link ExtDataContainer} from the queue. This method waits
-   * (blocks) until data is added to the queue.
+   * Creates a bounded queue that can be used by any number of producers and consumers. If the queue
+   * is full, {@link #queueData(ExtDataContainer)} waits until enough containers or entries were
+   * retrieved.
    *
-   * @return a data container
-   * @throws InterruptedException if the thread running this has been interrupted during the
-   *     blocking operation
+   * <p>To prevent blocking forever, a container is always added to an empty queue, even if it
+   * exceeds the capacity on its own.
+   *
+   * @param capacity of the queue
+   * @param unit of the capacity
+   * @return a new queue
+   * @param <V> type of container
    */
-  public V takeContainer() throws InterruptedException {
-    return receiverTriggerDeque.takeFirst();
+  public static <V extends ExtDataContainer> ExtDataContainerQueue<V> bounded(
+      long capacity, CapacityUnit unit) {
+    return new ExtDataContainerQueue<>(new DequeContainerBuffer<>(capacity, unit, -1L, null));
   }
 
   /**
-   * Method to retrieve and remove an {@link ExtDataContainer} from the queue. This method waits
-   * (blocks) until either data is added to the queue or the specified wait time is reached.
+   * Creates a bounded queue that can be used by any number of producers and consumers. If the queue
+   * is full, {@link #queueData(ExtDataContainer)} waits at most the given timeout and throws an
+   * {@link ExtDataQueueFullException}, if the container could not be added until then. With a
+   * timeout of zero, containers are rejected immediately.
    *
-   * @param timeout maximal time to wait for data
-   * @param unit unit of the timeout
-   * @return an option for a data container
-   * @throws InterruptedException if the thread running this has been interrupted during the
-   *     blocking operation
+   * @param capacity of the queue
+   * @param unit of the capacity
+   * @param timeout maximal time a producer waits for free capacity
+   * @param timeUnit unit of the timeout
+   * @return a new queue
+   * @param <V> type of container
    */
-  public Optional<V> pollContainer(long timeout, TimeUnit unit) throws InterruptedException {
-    return Optional.ofNullable(receiverTriggerDeque.pollFirst(timeout, unit));
+  public static <V extends ExtDataContainer> ExtDataContainerQueue<V> bounded(
+      long capacity, CapacityUnit unit, long timeout, TimeUnit timeUnit) {
+    if (timeout < 0L) {
+      throw new IllegalArgumentException("The timeout must not be negative, but was " + timeout);
+    }
+
+    return new ExtDataContainerQueue<>(
+        new DequeContainerBuffer<>(capacity, unit, timeUnit.toNanos(timeout), null));
   }
 
   /**
-   * Method to retrieve only a part of a container from the queue. This method waits (blocks) until
-   * data is added to the queue.
+   * Creates a queue that merges same-tick input containers. If a container is added for the same
+   * tick as the last queued container, it is merged into the queued container (see {@link
+   * ExtInputContainer#merge(ExtInputContainer)}) instead of being added separately. This reduces
+   * the number of messages, if data for one tick is provided in multiple containers.
    *
-   * @param extractor function to extract a part of the container
-   * @return the extracted part
-   * @param <R> type of returned value
-   * @throws InterruptedException if the thread running this has been interrupted during the
-   *     blocking operation
+   * @return a new queue
    */
-  public <R> R takeData(Function<V, R> extractor) throws InterruptedException {
-    // removes the first container from the queue
-    V data = receiverTriggerDeque.takeFirst();
-    R result = extractor.apply(data);
-
-    // if the container is not empty, it should remain in the queue.
-    // else the container needs to be removed
-    if (!data.isEmpty()) {
-      receiverTriggerDeque.putFirst(data);
-    }
-
-    return result;
+  public static ExtDataContainerQueue<ExtInputContainer> coalescing() {
+    return new ExtDataContainerQueue<>(
+        new DequeContainerBuffer<>(
+            Long.MAX_VALUE, CapacityUnit.CONTAINERS, -1L, ExtInputContainer::merge));
   }
 
   /**
-   * Method to retrieve only a part of a container from the queue. This method waits (blocks) until
-   * either data is added to the queue or the specified wait time is reached.
+   * Creates a bounded queue that merges same-tick input containers. See {@link #coalescing()} and
+   * {@link #bounded(long, CapacityUnit)}. Merging a container into a queued container never blocks,
+   * if the capacity is given in {@link CapacityUnit#CONTAINERS}.
    *
-   * @param extractor function to extract a part of the container
-   * @param timeout maximal time to wait for data
-   * @param unit unit of the timeout
-   * @return an option for the extracted part
-   * @param <R> type of returned value
-   * @throws InterruptedException if the thread running this has been interrupted during the
-   *     blocking operation
+   * @param capacity of the queue
+   * @param unit of the capacity
+   * @return a new queue
    */
-  public <R> Optional<R> pollData(Function<V, R> extractor, long timeout, TimeUnit unit)
-      throws InterruptedException {
-    // removes the first container from the queue
-    Optional<V> containerOption = pollContainer(timeout, unit);
-
-    if (containerOption.isPresent()) {
-      V data = containerOption.get();
-      R result = extractor.apply(data);
-
-      // if the container is not empty, it should remain in the queue.
-      // else the container needs to be removed
-      if (!data.isEmpty()) {
-        receiverTriggerDeque.putFirst(data);
-      }
+  public static ExtDataContainerQueue<ExtInputContainer> coalescing(
+      long capacity, CapacityUnit unit) {
+    return new ExtDataContainerQueue<>(
+        new DequeContainerBuffer<>(capacity, unit, -1L, ExtInputContainer::merge));
+  }
 
-      return Optional.of(result);
-    }
+  /** Units for the capacity of a bounded queue. */
+  public enum CapacityUnit {
+    /** Each container counts as one. */
+    CONTAINERS,
+    /**
+     * Each container counts with its number of entries (see {@link ExtDataContainer#entryCount()}).
+     * This estimates the retained memory better, if the containers differ in size.
+     */
+    ENTRIES
+  }
 
-    return Optional.empty();
+  /**
+   * Statistics about the usage of a queue. The blocked time and the rejected containers only apply
+   * to queues with a limited capacity. For unbounded queues, e.g. the default queue and the {@link
+   * ExtTickDataContainerQueue}, they are always 0. A single producer single consumer queue blocks,
+   * but never rejects containers.
+   *
+   * @param highWaterMark highest number of containers resp. entries that were in the queue at the
+   *     same time
+   * @param blockedNanos total time producers were blocked, because the queue was full
+   * @param rejected number of containers that could not be added, because the queue was full
+   */
+  public record Statistics(long highWaterMark, long blockedNanos, long rejected) {}
+
+  /** Strategies for waiting on a single producer single consumer queue. */
+  public enum WaitStrategy {
+    /** Busy spinning. Lowest latency, but occupies a core while waiting. */
+    SPIN,
+    /** Yields the processor while waiting. */
+    YIELD,
+    /** Parks the waiting thread until it is signaled by the other side. */
+    PARK
   }
 }
@@ -0,0 +1,127 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data;
+
+import edu.ie3.simona.api.data.ExtDataContainerQueue.Statistics;
+import edu.ie3.simona.api.data.container.ExtDataContainer;
+import edu.ie3.simona.api.exceptions.ExtDataQueueFullException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Common base of the data queues between SimonaAPI and an external simulation. The order, in which
+ * the containers are retrieved, depends on the queue: an {@link ExtDataContainerQueue} retrieves
+ * them in the order they were added in, an {@link ExtTickDataContainerQueue} by their tick.
+ *
+ * <p>The queues are created by the constructors and static factories of the concrete classes.
+ * Therefore, this class has no factories, that could be called through the wrong class.
+ *
+ * @param <V> type of container
+ */
+public abstract sealed class ExtDataQueue<V extends ExtDataContainer>
+    permits ExtDataContainerQueue, ExtTickDataContainerQueue {
+  private final ContainerBuffer<V> buffer;
+
+  ExtDataQueue(ContainerBuffer<V> buffer) {
+    this.buffer = buffer;
+  }
+
+  /** Returns the number of elements in this queue. */
+  public int size() {
+    return buffer.size();
+  }
+
+  /** Method for clearing this queue. */
+  public void clear() {
+    buffer.clear();
+  }
+
+  /** Returns statistics about the usage of this queue. */
+  public Statistics getStatistics() {
+    return buffer.statistics();
+  }
+
+  /**
+   * Method for adding an {@link ExtDataContainer} to the queue. If the queue is bounded and full,
+   * this method waits (blocks) until the container can be added.
+   *
+   * @param data to be added
+   * @throws InterruptedException if the thread running this has been interrupted during the
+   *     blocking operation
+   * @throws ExtDataQueueFullException if the queue is bounded with a timeout and the container
+   *     could not be added in time
+   */
+  public void queueData(V data) throws InterruptedException {
+    buffer.put(data);
+  }
+
+  /**
+   * Method to retrieve and remove an {@link ExtDataContainer} from the queue. This method waits
+   * (blocks) until data is added to the queue.
+   *
+   * @return a data container
+   * @throws InterruptedException if the thread running this has been interrupted during the
+   *     blocking operation
+   */
+  public V takeContainer() throws InterruptedException {
+    return buffer.take();
+  }
+
+  /**
+   * Method to retrieve and remove an {@link ExtDataContainer} from the queue. This method waits
+   * (blocks) until either data is added to the queue or the specified wait time is reached.
+   *
+   * @param timeout maximal time to wait for data
+   * @param unit unit of the timeout
+   * @return an option for a data container
+   * @throws InterruptedException if the thread running this has been interrupted during the
+   *     blocking operation
+   */
+  public Optional<V> pollContainer(long timeout, TimeUnit unit) throws InterruptedException {
+    return Optional.ofNullable(buffer.poll(timeout, unit));
+  }
+
+  /**
+   * Method to retrieve only a part of a container from the queue. This method waits (blocks) until
+   * data is added to the queue. The extractor is applied to the first container in place. The
+   * container is only removed, if it is empty after the extraction.
+   *
+   * <p>The extraction is atomic. Multiple threads can therefore extract different parts of the same
+   * container, without seeing an empty queue or a later container in between.
+   *
+   * @param extractor function to extract a part of the container
+   * @return the extracted part
+   * @param <R> type of returned value
+   * @throws InterruptedException if the thread running this has been interrupted during the
+   *     blocking operation
+   */
+  public <R> R takeData(Function<V, R> extractor) throws InterruptedException {
+    return buffer.takeData(extractor);
+  }
+
+  /**
+   * Method to retrieve only a part of a container from the queue. This method waits (blocks) until
+   * either data is added to the queue or the specified wait time is reached. The extractor is
+   * applied to the first container in place. The container is only removed, if it is empty after
+   * the extraction.
+   *
+   * <p>The extraction is atomic. See {@link #takeData(Function)}.
+   *
+   * @param extractor function to extract a part of the container
+   * @param timeout maximal time to wait for data
+   * @param unit unit of the timeout
+   * @return an option for the extracted part
+   * @param <R> type of returned value
+   * @throws InterruptedException if the thread running this has been interrupted during the
+   *     blocking operation
+   */
+  public <R> Optional<R> pollData(Function<V, R> extractor, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    return buffer.pollData(extractor, timeout, unit);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data;
+
+import edu.ie3.simona.api.data.container.ExtDataContainer;
+import edu.ie3.simona.api.data.container.ExtInputContainer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data queue that orders the containers by their tick instead of the order they were added in. This
+ * allows an external simulation to provide data for future ticks, before the data for the current
+ * tick was retrieved.
+ *
+ * <p>All methods of {@link ExtDataQueue} retrieve the container with the lowest tick. Containers
+ * with the same tick are retrieved in the order they were added in.
+ *
+ * <p>This queue is always unbounded. A bounded queue could be filled with containers for future
+ * ticks, while the consumer waits for the current tick with {@link #takeForTick(long)}, so that
+ * neither side could continue. Therefore, the blocked time and the rejected containers of the
+ * {@link ExtDataContainerQueue.Statistics} are always 0. Only the high water mark is recorded.
+ */
+public final class ExtTickDataContainerQueue<V extends ExtDataContainer> extends ExtDataQueue<V> {
+  private final TickContainerBuffer<V> tickBuffer;
+
+  /** Creates a queue that can be used by any number of producers and consumers. */
+  public ExtTickDataContainerQueue() {
+    this(new TickContainerBuffer<>());
+  }
+
+  /**
+   * Creates a queue that merges same-tick input containers. If a container for the same tick is
+   * already queued, the added container is merged into it (see {@link
+   * ExtInputContainer#merge(ExtInputContainer)}) instead of being added separately.
+   *
+   * @return a new queue
+   */
+  public static ExtTickDataContainerQueue<ExtInputContainer> coalescing() {
+    return new ExtTickDataContainerQueue<>(new TickContainerBuffer<>(ExtInputContainer::merge));
+  }
+
+  private ExtTickDataContainerQueue(TickContainerBuffer<V> tickBuffer) {
+    super(tickBuffer);
+    this.tickBuffer = tickBuffer;
+  }
+
+  /**
+   * Method to retrieve and remove the container for the given tick from the queue. Containers for
+   * other ticks remain in the queue. This method waits (blocks) until data for the tick is added to
+   * the queue.
+   *
+   * @param tick of the container
+   * @return the data container
+   * @throws InterruptedException if the thread running this has been interrupted during the
+   *     blocking operation
+   */
+  public V takeForTick(long tick) throws InterruptedException {
+    return tickBuffer.takeForTick(tick);
+  }
+
+  /**
+   * Method to retrieve and remove the container for the given tick from the queue. Containers for
+   * other ticks remain in the queue. This method waits (blocks) until either data for the tick is
+   * added to the queue or the specified wait time is reached.
+   *
+   * @param tick of the container
+   * @param timeout maximal time to wait for data
+   * @param unit unit of the timeout
+   * @return an option for the data container
+   * @throws InterruptedException if the thread running this has been interrupted during the
+   *     blocking operation
+   */
+  public Optional<V> pollForTick(long tick, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    return Optional.ofNullable(tickBuffer.pollForTick(tick, timeout, unit));
+  }
+
+  /**
+   * Method to retrieve and remove all containers up to the given tick from the queue. This method
+   * does not block.
+   *
+   * @param tick the latest tick (inclusive) for which containers are returned
+   * @return a list of containers ordered by their tick, or an empty list, if no containers up to
+   *     the given tick are present
+   */
+  public List<V> pollUpTo(long tick) {
+    return tickBuffer.pollUpTo(tick);
+  }
+}
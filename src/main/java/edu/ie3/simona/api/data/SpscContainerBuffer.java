@@ -0,0 +1,330 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data;
+
+import edu.ie3.simona.api.data.ExtDataContainerQueue.WaitStrategy;
+import edu.ie3.simona.api.data.container.ExtDataContainer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Lock-free ring buffer for exactly one producer thread and one consumer thread. The buffer does
+ * not allocate while handing over containers.
+ *
+ * <p>The head index is only written by the consumer and the tail index is only written by the
+ * producer. Each side caches the last seen index of the other side, so that the shared index is
+ * only read, if the cached value indicates an empty resp. full buffer.
+ *
+ * @param <V> type of container
+ */
+final class SpscContainerBuffer<V extends ExtDataContainer> implements ContainerBuffer<V> {
+
+  /** Largest supported capacity. */
+  static final int MAX_CAPACITY = 1 << 30;
+
+  private static final VarHandle HEAD;
+  private static final VarHandle TAIL;
+
+  static {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      HEAD = lookup.findVarHandle(SpscContainerBuffer.class, "head", long.class);
+      TAIL = lookup.findVarHandle(SpscContainerBuffer.class, "tail", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final Object[] elements;
+  private final int mask;
+  private final WaitStrategy waitStrategy;
+
+  // consumer side
+  /** Index of the next container to take. Only written by the consumer. */
+  private volatile long head;
+
+  /** Last tail seen by the consumer. */
+  private long cachedTail;
+
+  private volatile Thread waitingConsumer;
+
+  // producer side
+  /** Index of the next free slot. Only written by the producer. */
+  private volatile long tail;
+
+  /** Last head seen by the producer. */
+  private long cachedHead;
+
+  private volatile Thread waitingProducer;
+
+  // statistics, only written by the producer
+  private volatile long highWaterMark;
+  private volatile long blockedNanos;
+
+  /**
+   * Creates a new ring buffer.
+   *
+   * @param capacity minimal number of containers, will be rounded up to the next power of two
+   * @param waitStrategy used by both sides while waiting
+   */
+  SpscContainerBuffer(int capacity, WaitStrategy waitStrategy) {
+    if (capacity < 1 || capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException(
+          "The capacity needs to be between 1 and " + MAX_CAPACITY + ", but was " + capacity + "!");
+    }
+
+    int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.elements = new Object[size];
+    this.mask = size - 1;
+    this.waitStrategy = waitStrategy;
+  }
+
+  /** Returns the number of slots of this buffer. */
+  int capacity() {
+    return elements.length;
+  }
+
+  @Override
+  public int size() {
+    long currentHead = head;
+    long size = tail - currentHead;
+    return (int) Math.min(Math.max(size, 0L), elements.length);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Note: This method must only be called by the consumer.
+   */
+  @Override
+  public void clear() {
+    long h = head;
+    long t = tail;
+
+    while (h < t) {
+      elements[index(h)] = null;
+      h++;
+    }
+    publishHead(h);
+  }
+
+  @Override
+  public ExtDataContainerQueue.Statistics statistics() {
+    return new ExtDataContainerQueue.Statistics(highWaterMark, blockedNanos, 0L);
+  }
+
+  @Override
+  public void put(V data) throws InterruptedException {
+    long t = tail;
+
+    if (t - cachedHead >= elements.length) {
+      awaitSlot(t);
+    }
+
+    elements[index(t)] = data;
+    publishTail(t + 1);
+
+    if (t + 1 - cachedHead > highWaterMark) {
+      // the cached head might be outdated, therefore the actual size is checked
+      cachedHead = head;
+      highWaterMark = Math.max(highWaterMark, t + 1 - cachedHead);
+    }
+  }
+
+  @Override
+  public V take() throws InterruptedException {
+    long h = head;
+
+    if (h >= cachedTail) {
+      awaitElement(h, false, 0L);
+    }
+
+    return remove(h);
+  }
+
+  @Override
+  public V poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long h = head;
+
+    if (h >= cachedTail && !awaitElement(h, true, System.nanoTime() + unit.toNanos(timeout))) {
+      return null;
+    }
+
+    return remove(h);
+  }
+
+  @Override
+  public <R> R takeData(Function<V, R> extractor) throws InterruptedException {
+    long h = head;
+
+    if (h >= cachedTail) {
+      awaitElement(h, false, 0L);
+    }
+
+    return extract(h, extractor);
+  }
+
+  @Override
+  public <R> Optional<R> pollData(Function<V, R> extractor, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    long h = head;
+
+    if (h >= cachedTail && !awaitElement(h, true, System.nanoTime() + unit.toNanos(timeout))) {
+      return Optional.empty();
+    }
+
+    return Optional.of(extract(h, extractor));
+  }
+
+  /**
+   * Applies the extractor to the container at the given index. Since only the consumer removes
+   * containers, the container can be read in place and is only removed, if it is empty afterward.
+   */
+  @SuppressWarnings("unchecked")
+  private <R> R extract(long h, Function<V, R> extractor) {
+    V data = (V) elements[index(h)];
+    R result = extractor.apply(data);
+
+    if (data.isEmpty()) {
+      elements[index(h)] = null;
+      publishHead(h + 1);
+    }
+
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V remove(long h) {
+    int index = index(h);
+    V data = (V) elements[index];
+    elements[index] = null;
+    publishHead(h + 1);
+    return data;
+  }
+
+  private int index(long sequence) {
+    return (int) sequence & mask;
+  }
+
+  /**
+   * Method to publish a new head. For {@link WaitStrategy#PARK} the write needs to be volatile, to
+   * make sure that a producer, that is about to park, either sees the new head or is seen by this
+   * thread.
+   */
+  private void publishHead(long newHead) {
+    if (waitStrategy == WaitStrategy.PARK) {
+      head = newHead;
+      Thread producer = waitingProducer;
+
+      if (producer != null) {
+        LockSupport.unpark(producer);
+      }
+    } else {
+      HEAD.setRelease(this, newHead);
+    }
+  }
+
+  /** Method to publish a new tail. See {@link #publishHead(long)}. */
+  private void publishTail(long newTail) {
+    if (waitStrategy == WaitStrategy.PARK) {
+      tail = newTail;
+      Thread consumer = waitingConsumer;
+
+      if (consumer != null) {
+        LockSupport.unpark(consumer);
+      }
+    } else {
+      TAIL.setRelease(this, newTail);
+    }
+  }
+
+  /**
+   * Waits until the container with the given index is available.
+   *
+   * @param h index of the container
+   * @param timed true, if the deadline should be considered
+   * @param deadline in nanoseconds
+   * @return false, if the deadline was reached
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private boolean awaitElement(long h, boolean timed, long deadline) throws InterruptedException {
+    cachedTail = tail;
+
+    while (h >= cachedTail) {
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+
+      long remaining = timed ? deadline - System.nanoTime() : Long.MAX_VALUE;
+
+      if (remaining <= 0) {
+        return false;
+      }
+
+      switch (waitStrategy) {
+        case SPIN -> Thread.onSpinWait();
+        case YIELD -> Thread.yield();
+        case PARK -> {
+          waitingConsumer = Thread.currentThread();
+
+          // check again, after announcing that this thread is about to park
+          if (h >= tail) {
+            LockSupport.parkNanos(this, remaining);
+          }
+          waitingConsumer = null;
+        }
+      }
+
+      cachedTail = tail;
+    }
+
+    return true;
+  }
+
+  /**
+   * Waits until the slot with the given index is free.
+   *
+   * @param t index of the slot
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private void awaitSlot(long t) throws InterruptedException {
+    long wrapPoint = t - elements.length;
+    long start = System.nanoTime();
+
+    cachedHead = head;
+
+    try {
+      while (wrapPoint >= cachedHead) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+
+        switch (waitStrategy) {
+          case SPIN -> Thread.onSpinWait();
+          case YIELD -> Thread.yield();
+          case PARK -> {
+            waitingProducer = Thread.currentThread();
+
+            // check again, after announcing that this thread is about to park
+            if (wrapPoint >= head) {
+              LockSupport.park(this);
+            }
+            waitingProducer = null;
+          }
+        }
+
+        cachedHead = head;
+      }
+    } finally {
+      blockedNanos += System.nanoTime() - start;
+    }
+  }
+}
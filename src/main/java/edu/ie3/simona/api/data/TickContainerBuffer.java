@@ -0,0 +1,413 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data;
+
+import edu.ie3.simona.api.data.container.ExtDataContainer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Buffer that orders containers by their tick. Containers with the same tick keep the order they
+ * were added in.
+ *
+ * <p>The ticks are stored in a sorted {@code long[]} with a parallel array of containers. The used
+ * part of the arrays starts at {@link #first}, so that removing the first container does not
+ * require shifting. Looking up a tick is a binary search over primitive values.
+ *
+ * <p>If a merge function is given, an added container is merged into the last queued container for
+ * the same tick, if present.
+ *
+ * @param <V> type of container
+ */
+final class TickContainerBuffer<V extends ExtDataContainer> implements ContainerBuffer<V> {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] ticks = new long[INITIAL_CAPACITY];
+  private Object[] containers = new Object[INITIAL_CAPACITY];
+
+  /** Index of the container with the lowest tick. */
+  private int first;
+
+  /** Number of containers. */
+  private int size;
+
+  /** Highest number of containers. */
+  private int highWaterMark;
+
+  /** Merges an added container (second) into a queued container (first), may be null. */
+  private final BiConsumer<V, V> merger;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /** Signaled every time a container is added. */
+  private final Condition added = lock.newCondition();
+
+  /** Creates a buffer that does not merge containers. */
+  TickContainerBuffer() {
+    this(null);
+  }
+
+  /**
+   * Creates a buffer.
+   *
+   * @param merger function to merge an added container into a queued container for the same tick,
+   *     or null, if containers should not be merged
+   */
+  TickContainerBuffer(BiConsumer<V, V> merger) {
+    this.merger = merger;
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.lock();
+    try {
+      Arrays.fill(containers, first, first + size, null);
+      first = 0;
+      size = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public ExtDataContainerQueue.Statistics statistics() {
+    lock.lock();
+    try {
+      // this buffer is unbounded, therefore producers are never blocked and nothing is rejected
+      return new ExtDataContainerQueue.Statistics(highWaterMark, 0L, 0L);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void put(V data) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      insert(data);
+      highWaterMark = Math.max(highWaterMark, size);
+      added.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public V take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (size == 0) {
+        added.await();
+      }
+
+      return removeAt(first);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public V poll(long timeout, TimeUnit unit) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      long remaining = unit.toNanos(timeout);
+
+      while (size == 0) {
+        if (remaining <= 0L) {
+          return null;
+        }
+
+        remaining = added.awaitNanos(remaining);
+      }
+
+      return removeAt(first);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public <R> R takeData(Function<V, R> extractor) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (size == 0) {
+        added.await();
+      }
+
+      return extractFirst(extractor);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public <R> Optional<R> pollData(Function<V, R> extractor, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      long remaining = unit.toNanos(timeout);
+
+      while (size == 0) {
+        if (remaining <= 0L) {
+          return Optional.empty();
+        }
+
+        remaining = added.awaitNanos(remaining);
+      }
+
+      return Optional.of(extractFirst(extractor));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes the first container for the given tick. Blocks until such a container is available.
+   *
+   * @param tick of the container
+   * @return the container
+   * @throws InterruptedException if interrupted while waiting
+   */
+  V takeForTick(long tick) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      int index = indexOf(tick);
+
+      while (index < 0) {
+        added.await();
+        index = indexOf(tick);
+      }
+
+      return removeAt(index);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes the first container for the given tick. Blocks until such a container is available or
+   * the timeout is reached.
+   *
+   * @param tick of the container
+   * @param timeout maximal time to wait
+   * @param unit unit of the timeout
+   * @return the container or {@code null}, if the timeout was reached
+   * @throws InterruptedException if interrupted while waiting
+   */
+  V pollForTick(long tick, long timeout, TimeUnit unit) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      long remaining = unit.toNanos(timeout);
+      int index = indexOf(tick);
+
+      while (index < 0) {
+        if (remaining <= 0L) {
+          return null;
+        }
+
+        remaining = added.awaitNanos(remaining);
+        index = indexOf(tick);
+      }
+
+      return removeAt(index);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes all containers with a tick smaller or equal to the given tick. This method does not
+   * block.
+   *
+   * @param tick the latest tick to include
+   * @return the removed containers ordered by their tick
+   */
+  @SuppressWarnings("unchecked")
+  List<V> pollUpTo(long tick) {
+    lock.lock();
+    try {
+      int end = upperBound(tick);
+      int count = end - first;
+
+      if (count == 0) {
+        return Collections.emptyList();
+      }
+
+      List<V> result = new ArrayList<>(count);
+      for (int i = first; i < end; i++) {
+        result.add((V) containers[i]);
+        containers[i] = null;
+      }
+
+      size -= count;
+      first = size == 0 ? 0 : end;
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Applies the extractor to the container with the lowest tick and removes the container, if it is
+   * empty afterward. Must be called while holding the lock.
+   */
+  @SuppressWarnings("unchecked")
+  private <R> R extractFirst(Function<V, R> extractor) {
+    V data = (V) containers[first];
+    R result = extractor.apply(data);
+
+    if (data.isEmpty()) {
+      removeAt(first);
+    }
+
+    return result;
+  }
+
+  /**
+   * Inserts the container after all containers with a smaller or equal tick or merges it into the
+   * last container with the same tick.
+   */
+  @SuppressWarnings("unchecked")
+  private void insert(V data) {
+    long tick = data.getTick();
+    int index = upperBound(tick);
+
+    if (merger != null && index > first && ticks[index - 1] == tick) {
+      merger.accept((V) containers[index - 1], data);
+      return;
+    }
+
+    if (index == first && first > 0) {
+      // the new container has the lowest tick, use the free slot in front
+      first--;
+      ticks[first] = tick;
+      containers[first] = data;
+      size++;
+      return;
+    }
+
+    if (first + size == ticks.length) {
+      index -= makeRoom();
+    }
+
+    int end = first + size;
+    System.arraycopy(ticks, index, ticks, index + 1, end - index);
+    System.arraycopy(containers, index, containers, index + 1, end - index);
+    ticks[index] = tick;
+    containers[index] = data;
+    size++;
+  }
+
+  /**
+   * Makes room for at least one container at the end of the arrays. Either the used part is moved
+   * to the start of the arrays or the arrays are grown.
+   *
+   * @return the distance the used part was moved towards the start
+   */
+  private int makeRoom() {
+    int shift = first;
+
+    if (size < ticks.length / 2 && first > 0) {
+      System.arraycopy(ticks, first, ticks, 0, size);
+      System.arraycopy(containers, first, containers, 0, size);
+      Arrays.fill(containers, size, first + size, null);
+    } else {
+      long[] newTicks = new long[ticks.length * 2];
+      Object[] newContainers = new Object[ticks.length * 2];
+      System.arraycopy(ticks, first, newTicks, 0, size);
+      System.arraycopy(containers, first, newContainers, 0, size);
+      ticks = newTicks;
+      containers = newContainers;
+    }
+
+    first = 0;
+    return shift;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V removeAt(int index) {
+    V data = (V) containers[index];
+    int end = first + size;
+
+    if (index == first) {
+      containers[first] = null;
+      first++;
+    } else {
+      System.arraycopy(ticks, index + 1, ticks, index, end - index - 1);
+      System.arraycopy(containers, index + 1, containers, index, end - index - 1);
+      containers[end - 1] = null;
+    }
+
+    size--;
+
+    if (size == 0) {
+      first = 0;
+    }
+
+    return data;
+  }
+
+  /** Returns the index of the first container for the given tick or {@code -1}. */
+  private int indexOf(long tick) {
+    int index = lowerBound(tick);
+    return index < first + size && ticks[index] == tick ? index : -1;
+  }
+
+  /** Returns the index of the first container with a tick greater or equal to the given tick. */
+  private int lowerBound(long tick) {
+    int low = first;
+    int high = first + size;
+
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+
+      if (ticks[mid] < tick) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  /** Returns the index of the first container with a tick greater than the given tick. */
+  private int upperBound(long tick) {
+    int low = first;
+    int high = first + size;
+
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+
+      if (ticks[mid] <= tick) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+}
@@ -9,13 +9,32 @@ package edu.ie3.simona.api.data.connection;
 import edu.ie3.simona.api.exceptions.UnexpectedResponseMessageException;
 import edu.ie3.simona.api.ontology.DataMessageFromExt;
 import edu.ie3.simona.api.ontology.DataResponseMessageToExt;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
 
 /**
  * Enables bidirectional communication when extended by an external data connection.
  *
+ * <p>Requests are sent with {@link #sendWithResponse(LongFunction, Class, Function)}, which gives
+ * each request a unique request id and returns a future for the response. Blocking requests wait
+ * for this future with {@link #await(CompletableFuture)}. A response that carries the id of a
+ * pending request is dispatched to the future of that request, so that multiple requests can be
+ * pending at the same time and can be answered in any order. Only responses without request id,
+ * which are sent by versions of SIMONA that do not support request ids, are dispatched to the
+ * oldest pending future that expects their type. All other responses are added to the {@link
+ * #receiveTriggerQueue}.
+ *
+ * <p>A pending request is removed, when its future is completed in any way, e.g. if it is cancelled
+ * or times out, or if the request could not be sent.
+ *
  * @param <M> type of message to SIMONA
  * @param <R> type of response messages to ext
  */
@@ -27,13 +46,170 @@ public abstract sealed class BiDirectional<
   /** Data message queue containing messages from SIMONA */
   public final LinkedBlockingQueue<R> receiveTriggerQueue = new LinkedBlockingQueue<>();
 
+  /** Pending requests by their request id. */
+  private final Map<Long, PendingRequest<R>> pendingById = new HashMap<>();
+
+  /** Pending requests per response type, in the order the requests were sent. */
+  private final Map<Class<?>, Queue<PendingRequest<R>>> pendingByType = new HashMap<>();
+
+  private final ReentrantLock pendingLock = new ReentrantLock();
+
+  /** Last used request id. */
+  private final AtomicLong lastRequestId = new AtomicLong(DataMessageFromExt.NO_REQUEST_ID);
+
   protected BiDirectional() {
     super();
   }
 
   @Override
   public final void queueExtResponseMsg(R msg) throws InterruptedException {
-    receiveTriggerQueue.put(msg);
+    PendingRequest<R> pending = removePending(msg);
+
+    if (pending == null) {
+      receiveTriggerQueue.put(msg);
+    } else if (pending.responseClass().equals(msg.getClass())) {
+      pending.onResponse().accept(msg);
+    } else {
+      pending
+          .future()
+          .completeExceptionally(
+              new UnexpectedResponseMessageException(
+                  "Received unexpected message '"
+                      + msg
+                      + "', expected type '"
+                      + pending.responseClass()
+                      + "'"));
+    }
+  }
+
+  /**
+   * Sends a request to SIMONA and returns a future for the result of the response. The request is
+   * created with a new request id. The future is registered before the request is sent, so that the
+   * response can not be missed. The request is removed from the pending requests, when the returned
+   * future is completed, cancelled or times out. If sending fails, the future is completed
+   * exceptionally and the exception is rethrown.
+   *
+   * <p>Note: The future is completed by the thread that queues the response. Dependent actions that
+   * take a longer time should therefore be executed asynchronously.
+   *
+   * @param request function to create the request for a given request id
+   * @param responseClass the expected class of the response
+   * @param result function to extract the result from the response
+   * @return a future for the result
+   * @param <T> the type of the expected response
+   * @param <U> the type of the result
+   */
+  protected final <T extends R, U> CompletableFuture<U> sendWithResponse(
+      LongFunction<M> request, Class<T> responseClass, Function<? super T, ? extends U> result) {
+    long requestId = lastRequestId.incrementAndGet();
+    CompletableFuture<U> future = new CompletableFuture<>();
+    PendingRequest<R> pending =
+        new PendingRequest<>(
+            requestId,
+            responseClass,
+            future,
+            response -> {
+              try {
+                future.complete(result.apply(responseClass.cast(response)));
+              } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+              }
+            });
+
+    pendingLock.lock();
+    try {
+      pendingById.put(requestId, pending);
+      pendingByType.computeIfAbsent(responseClass, k -> new ArrayDeque<>()).add(pending);
+    } finally {
+      pendingLock.unlock();
+    }
+
+    future.whenComplete((value, failure) -> removePending(pending));
+
+    try {
+      sendExtMsg(request.apply(requestId));
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    }
+    return future;
+  }
+
+  /**
+   * Blocks until the given future of a request is completed.
+   *
+   * @param future of the request
+   * @return the response
+   * @param <T> the type of the response
+   * @throws InterruptedException if the thread has been interrupted while waiting, the request is
+   *     cancelled in this case
+   */
+  protected static <T> T await(CompletableFuture<T> future) throws InterruptedException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(false);
+      throw e;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new CompletionException(e.getCause());
+    }
+  }
+
+  /** Returns the number of requests that are waiting for a response. */
+  public final int pendingRequests() {
+    pendingLock.lock();
+    try {
+      return pendingById.size();
+    } finally {
+      pendingLock.unlock();
+    }
+  }
+
+  /**
+   * Removes the pending request the given response belongs to. If the response carries no request
+   * id, it was sent by a version of SIMONA without request ids, which answers the requests in the
+   * order they were sent. The oldest pending request for the type of the response is used then.
+   *
+   * @param msg the response
+   * @return the pending request or null
+   */
+  private PendingRequest<R> removePending(R msg) {
+    pendingLock.lock();
+    try {
+      if (msg.requestId() == DataMessageFromExt.NO_REQUEST_ID) {
+        Queue<PendingRequest<R>> requests = pendingByType.get(msg.getClass());
+        PendingRequest<R> pending = requests != null ? requests.poll() : null;
+
+        if (pending != null) {
+          pendingById.remove(pending.requestId());
+        }
+        return pending;
+      }
+
+      PendingRequest<R> pending = pendingById.remove(msg.requestId());
+
+      if (pending != null) {
+        pendingByType.get(pending.responseClass()).remove(pending);
+      }
+      return pending;
+    } finally {
+      pendingLock.unlock();
+    }
+  }
+
+  /** Removes the given request from the pending requests, if it is still pending. */
+  private void removePending(PendingRequest<R> pending) {
+    pendingLock.lock();
+    try {
+      if (pendingById.remove(pending.requestId(), pending)) {
+        pendingByType.get(pending.responseClass()).remove(pending);
+      }
+    } finally {
+      pendingLock.unlock();
+    }
   }
 
   @Override
@@ -65,4 +241,19 @@ public abstract sealed class BiDirectional<
               + expectedMessageClass
               + "'");
   }
+
+  /**
+   * A request that is waiting for its response.
+   *
+   * @param requestId id of the request
+   * @param responseClass expected class of the response
+   * @param future that is completed with the result of the response
+   * @param onResponse completes the future with a response of the expected class
+   * @param <R> type of response messages
+   */
+  private record PendingRequest<R>(
+      long requestId,
+      Class<?> responseClass,
+      CompletableFuture<?> future,
+      Consumer<R> onResponse) {}
 }
@@ -9,6 +9,7 @@ package edu.ie3.simona.api.data.connection;
 import edu.ie3.simona.api.data.model.em.*;
 import edu.ie3.simona.api.ontology.em.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 
 /** Enables data connection of em data between SIMONA and SimonaAPI */
@@ -81,6 +82,26 @@ public final class ExtEmDataConnection
     return false;
   }
 
+  /**
+   * Tries to send a batch of aggregated set points to SIMONA. Unlike {@link #sendEmData(long, Map,
+   * Map, Map)}, no set point objects are created. A message is sent, if the batch has at least one
+   * row. Rows without set point signal SIMONA, that the current set point should be kept.
+   *
+   * <p>A copy of the batch is sent, therefore the batch can be reused afterward.
+   *
+   * @param tick current tick
+   * @param setPoints batch of set points that should be sent to SIMONA
+   * @return true, if data was sent
+   */
+  public boolean sendEmData(long tick, SetPointBatch setPoints) {
+    // send message only if at least one row is present
+    if (setPoints.size() > 0) {
+      sendExtMsg(new ProvideEmSetPoints(tick, setPoints.copy()));
+      return true;
+    }
+    return false;
+  }
+
   /**
    * Tries to send communication messages to SIMONA. A message is sent, if at least one message is
    * given.
@@ -109,13 +130,24 @@ public final class ExtEmDataConnection
    */
   public Map<UUID, List<FlexOptions>> requestEmFlexResults(
       long tick, List<UUID> entities, boolean disaggregated) throws InterruptedException {
-    // create requests
-    Map<UUID, FlexOptionRequest> requests = new HashMap<>();
-    entities.forEach(
-        emEntity -> requests.put(emEntity, new FlexOptionRequest(emEntity, disaggregated)));
+    return await(requestEmFlexResultsAsync(tick, entities, disaggregated));
+  }
 
-    sendExtMsg(new ProvideEmData(tick, requests, Collections.emptyMap(), Collections.emptyMap()));
-    return receiveWithType(FlexOptionsResponse.class).receiverToFlexOptions();
+  /**
+   * Method to request em flexibility options from SIMONA without blocking. The returned future is
+   * completed, when SIMONA responds to this request. Multiple requests can be pending at the same
+   * time.
+   *
+   * @param tick for which set points are requested
+   * @param entities for which set points are requested
+   * @return a future for a map: uuid to list of flex options
+   */
+  public CompletableFuture<Map<UUID, List<FlexOptions>>> requestEmFlexResultsAsync(
+      long tick, List<UUID> entities, boolean disaggregated) {
+    return sendWithResponse(
+        requestId -> createFlexRequests(tick, entities, disaggregated, requestId),
+        FlexOptionsResponse.class,
+        FlexOptionsResponse::receiverToFlexOptions);
   }
 
   /**
@@ -125,8 +157,32 @@ public final class ExtEmDataConnection
    * @return an option for the next tick in SIMONA
    */
   public OptionalLong requestCompletion(long tick, long nextTick) throws InterruptedException {
-    sendExtMsg(new RequestEmCompletion(tick, OptionalLong.of(nextTick)));
-    return receiveWithType(EmCompletion.class).maybeNextTick();
+    return await(requestCompletionAsync(tick, nextTick));
+  }
+
+  /**
+   * Method to request the completion of the em service in SIMONA for the given tick without
+   * blocking. The returned future is completed, when SIMONA responds.
+   *
+   * @param tick for which the em service should stop
+   * @return a future for an option for the next tick in SIMONA
+   */
+  public CompletableFuture<OptionalLong> requestCompletionAsync(long tick, long nextTick) {
+    return sendWithResponse(
+        requestId -> new RequestEmCompletion(tick, OptionalLong.of(nextTick), requestId),
+        EmCompletion.class,
+        EmCompletion::maybeNextTick);
+  }
+
+  /** Creates a message, that requests flex options for all given entities. */
+  private static ProvideEmData createFlexRequests(
+      long tick, List<UUID> entities, boolean disaggregated, long requestId) {
+    Map<UUID, FlexOptionRequest> requests = new HashMap<>();
+    entities.forEach(
+        emEntity -> requests.put(emEntity, new FlexOptionRequest(emEntity, disaggregated)));
+
+    return new ProvideEmData(
+        tick, requests, Collections.emptyMap(), Collections.emptyMap(), requestId);
   }
 
   /** Mode of the em connection */
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public final class ExtEvDataConnection
     extends BiDirectional<EvDataMessageFromExt, EvDataResponseMessageToExt> {
@@ -29,9 +30,7 @@ public final class ExtEvDataConnection
    *     blocking operation
    */
   public Map<UUID, Integer> requestAvailablePublicEvcs() throws InterruptedException {
-    sendExtMsg(new RequestEvcsFreeLots());
-
-    return receiveWithType(ProvideEvcsFreeLots.class).evcs();
+    return await(requestAvailablePublicEvcsAsync());
   }
 
   /**
@@ -43,9 +42,7 @@ public final class ExtEvDataConnection
    *     blocking operation
    */
   public Map<UUID, Double> requestCurrentPrices() throws InterruptedException {
-    sendExtMsg(new RequestCurrentPrices());
-
-    return receiveWithType(ProvideCurrentPrices.class).prices();
+    return await(requestCurrentPricesAsync());
   }
 
   /**
@@ -60,9 +57,44 @@ public final class ExtEvDataConnection
    */
   public List<EvModel> requestDepartingEvs(Map<UUID, List<UUID>> departures)
       throws InterruptedException {
-    sendExtMsg(new RequestDepartingEvs(departures));
+    return await(requestDepartingEvsAsync(departures));
+  }
 
-    return receiveWithType(ProvideDepartingEvs.class).departedEvs();
+  /**
+   * Requests currently available evcs charging stations lots from SIMONA without blocking. The
+   * returned future is completed, when SIMONA responds to this request.
+   *
+   * @return a future for a mapping from evcs uuid to the amount of available charging station lots
+   */
+  public CompletableFuture<Map<UUID, Integer>> requestAvailablePublicEvcsAsync() {
+    return sendWithResponse(
+        RequestEvcsFreeLots::new, ProvideEvcsFreeLots.class, ProvideEvcsFreeLots::evcs);
+  }
+
+  /**
+   * Requests prices at all EVCS station at current tick without blocking. The returned future is
+   * completed, when SIMONA responds to this request.
+   *
+   * @return a future for a mapping from evcs uuid to current price
+   */
+  public CompletableFuture<Map<UUID, Double>> requestCurrentPricesAsync() {
+    return sendWithResponse(
+        RequestCurrentPrices::new, ProvideCurrentPrices.class, ProvideCurrentPrices::prices);
+  }
+
+  /**
+   * Request the charged EVs that are departing from their charging stations at the current tick
+   * without blocking. The returned future is completed, when SIMONA responds to this request.
+   *
+   * @param departures the departing EV UUIDs per charging station UUID
+   * @return a future for all charged departing vehicles
+   */
+  public CompletableFuture<List<EvModel>> requestDepartingEvsAsync(
+      Map<UUID, List<UUID>> departures) {
+    return sendWithResponse(
+        requestId -> new RequestDepartingEvs(departures, requestId),
+        ProvideDepartingEvs.class,
+        ProvideDepartingEvs::departedEvs);
   }
 
   /**
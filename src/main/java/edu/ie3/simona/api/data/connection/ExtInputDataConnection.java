@@ -9,6 +9,7 @@ package edu.ie3.simona.api.data.connection;
 import edu.ie3.simona.api.ontology.DataMessageFromExt;
 import edu.ie3.simona.api.ontology.ScheduleDataServiceMessage;
 import edu.ie3.simona.api.ontology.simulation.ControlResponseMessageFromExt;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.pekko.actor.typed.ActorRef;
 
 /**
@@ -24,6 +25,11 @@ public abstract sealed class ExtInputDataConnection<M extends DataMessageFromExt
   /** Actor reference to adapter that handles scheduler control flow in SIMONA */
   private ActorRef<ControlResponseMessageFromExt> extSimAdapter;
 
+  private static final int NO_BATCH = -1;
+
+  /** Number of messages sent in the open batch, or {@link #NO_BATCH}, if no batch is open. */
+  private final AtomicInteger batchSize = new AtomicInteger(NO_BATCH);
+
   /**
    * Sets the actor refs for data and control flow
    *
@@ -40,13 +46,52 @@ public abstract sealed class ExtInputDataConnection<M extends DataMessageFromExt
   /**
    * Send information from the external simulation to SIMONA's external data service. Furthermore,
    * ExtSimAdapter within SIMONA is instructed to activate the external data service with the
-   * current tick.
+   * current tick. If a batch is open, the activation is postponed until the batch is committed.
    *
    * @param msg the data/information that is sent to SIMONA's result data service
    */
   public final void sendExtMsg(M msg) {
     dataService.tell(msg);
-    // we need to schedule data receiver activation with scheduler
-    extSimAdapter.tell(new ScheduleDataServiceMessage(dataService));
+
+    if (batchSize.getAndUpdate(size -> size == NO_BATCH ? NO_BATCH : size + 1) == NO_BATCH) {
+      // we need to schedule data receiver activation with scheduler
+      extSimAdapter.tell(new ScheduleDataServiceMessage(dataService));
+    }
+  }
+
+  /**
+   * Opens a batch. All messages that are sent until the batch is committed are passed to the data
+   * service right away, but the data service is only activated once, when {@link #commitBatch()} is
+   * called.
+   *
+   * <p>ATTENTION: SIMONA does not handle the messages of a batch before it is committed. Blocking
+   * requests must therefore not be sent while a batch is open.
+   *
+   * @throws IllegalStateException if a batch is already open
+   */
+  public final void openBatch() {
+    if (!batchSize.compareAndSet(NO_BATCH, 0)) {
+      throw new IllegalStateException("A batch is already open!");
+    }
+  }
+
+  /**
+   * Commits the open batch. If at least one message was sent in the batch, the ExtSimAdapter within
+   * SIMONA is instructed to activate the external data service.
+   *
+   * @return the number of messages that were sent in the batch
+   * @throws IllegalStateException if no batch is open
+   */
+  public final int commitBatch() {
+    int size = batchSize.getAndSet(NO_BATCH);
+
+    if (size == NO_BATCH) {
+      throw new IllegalStateException("No batch is open!");
+    }
+
+    if (size > 0) {
+      extSimAdapter.tell(new ScheduleDataServiceMessage(dataService));
+    }
+    return size;
   }
 }
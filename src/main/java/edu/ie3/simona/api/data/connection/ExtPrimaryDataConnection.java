@@ -6,25 +6,58 @@
 
 package edu.ie3.simona.api.data.connection;
 
+import edu.ie3.datamodel.models.value.PValue;
+import edu.ie3.datamodel.models.value.SValue;
 import edu.ie3.datamodel.models.value.Value;
 import edu.ie3.simona.api.ontology.primary.PrimaryDataMessageFromExt;
 import edu.ie3.simona.api.ontology.primary.ProvidePrimaryData;
+import edu.ie3.simona.api.ontology.primary.ProvidePrimaryDataColumns;
 import java.util.*;
+import javax.measure.Unit;
+import javax.measure.quantity.Power;
 import org.slf4j.Logger;
+import tech.units.indriya.ComparableQuantity;
 
-/** Enables data connection of primary data between SIMONA and SimonaAPI */
+/**
+ * Enables data connection of primary data between SIMONA and SimonaAPI
+ *
+ * <p>In delta mode (see {@link #enableDeltaMode(ComparableQuantity, ComparableQuantity)}), the
+ * connection caches the last value that was sent for each asset. Only values that changed are sent
+ * to SIMONA, and the message is marked as a delta.
+ */
 public final class ExtPrimaryDataConnection
     extends ExtInputDataConnection<PrimaryDataMessageFromExt> {
 
   private final Map<UUID, Class<? extends Value>> valueClasses;
 
+  /** Assets that expect primary data, in a fixed order. */
+  private final List<UUID> assets;
+
+  /** Value class of each asset, in the order of {@link #assets}. */
+  private final Class<?>[] assetValueClasses;
+
+  /** Map: asset to the last value that was sent in delta mode. */
+  private final Map<UUID, Value> lastValues = new HashMap<>();
+
+  /** Maximal active power difference of unchanged values, or null, if delta mode is disabled. */
+  private ComparableQuantity<Power> pTolerance;
+
+  /** Maximal reactive power difference of unchanged values, or null, if delta mode is disabled. */
+  private ComparableQuantity<Power> qTolerance;
+
   public ExtPrimaryDataConnection(Map<UUID, Class<? extends Value>> valueClasses) {
     this.valueClasses = valueClasses;
+    this.assets = List.copyOf(valueClasses.keySet());
+    this.assetValueClasses = assets.stream().map(valueClasses::get).toArray(Class<?>[]::new);
   }
 
-  /** Returns a list of the uuids of the system participants that expect external primary data */
+  /**
+   * Returns a list of the uuids of the system participants that expect external primary data. The
+   * order of the list does not change and is used by {@link #sendPrimaryData(long, double[], Unit,
+   * OptionalLong, Logger)}.
+   */
   public List<UUID> getPrimaryDataAssets() {
-    return valueClasses.keySet().stream().toList();
+    return assets;
   }
 
   /**
@@ -36,7 +69,46 @@ public final class ExtPrimaryDataConnection
   }
 
   /**
-   * Sends primary data from an external simulation to SIMONA
+   * Enables the delta mode. The first primary data is sent completely. Afterward, a value is only
+   * sent, if it changed compared to the last value sent for the same asset. Power values ({@link
+   * PValue} and {@link SValue}) are unchanged, if the active and reactive power differ by at most
+   * the respective tolerance. All other values are unchanged, if they are equal.
+   *
+   * @param pTolerance maximal active power difference of unchanged values
+   * @param qTolerance maximal reactive power difference of unchanged values
+   * @throws IllegalArgumentException if a tolerance is negative
+   */
+  public void enableDeltaMode(
+      ComparableQuantity<Power> pTolerance, ComparableQuantity<Power> qTolerance) {
+    if (pTolerance.getValue().doubleValue() < 0d || qTolerance.getValue().doubleValue() < 0d) {
+      throw new IllegalArgumentException(
+          "The tolerances must not be negative, but were "
+              + pTolerance
+              + " and "
+              + qTolerance
+              + "!");
+    }
+
+    this.pTolerance = pTolerance;
+    this.qTolerance = qTolerance;
+    lastValues.clear();
+  }
+
+  /** Disables the delta mode. All following primary data is sent completely. */
+  public void disableDeltaMode() {
+    this.pTolerance = null;
+    this.qTolerance = null;
+    lastValues.clear();
+  }
+
+  /** Returns true, if the delta mode is enabled. */
+  public boolean isDeltaMode() {
+    return pTolerance != null;
+  }
+
+  /**
+   * Sends primary data from an external simulation to SIMONA. In delta mode, only values that
+   * changed are sent. If no value changed, an empty message is sent nonetheless.
    *
    * @param tick current tick
    * @param primaryData to be sent
@@ -47,9 +119,154 @@ public final class ExtPrimaryDataConnection
       long tick, Map<UUID, Value> primaryData, OptionalLong maybeNextTick, Logger log) {
     if (primaryData.isEmpty()) {
       log.debug("No primary data found! Sending no primary data to SIMONA for tick {}.", tick);
+    } else if (isDeltaMode()) {
+      Map<UUID, Value> changed = new HashMap<>();
+
+      primaryData.forEach(
+          (asset, value) -> {
+            if (hasChanged(lastValues.get(asset), value)) {
+              changed.put(asset, value);
+              lastValues.put(asset, value);
+            }
+          });
+
+      log.debug(
+          "Provided SIMONA with {} of {} primary data values, that changed. Data: {}",
+          changed.size(),
+          primaryData.size(),
+          changed);
+      sendExtMsg(new ProvidePrimaryData(tick, changed, maybeNextTick, true));
     } else {
       log.debug("Provided SIMONA with primary data. Data: {}", primaryData);
       sendExtMsg(new ProvidePrimaryData(tick, primaryData, maybeNextTick));
     }
   }
+
+  /** Returns true, if the value differs from the last value by more than the tolerance. */
+  private boolean hasChanged(Value last, Value value) {
+    if (last == null || last.getClass() != value.getClass()) {
+      return true;
+    }
+
+    // subclasses of power values can contain other values, therefore the exact class is checked
+    if (value.getClass() == PValue.class) {
+      return exceedsTolerance(((PValue) last).getP(), ((PValue) value).getP(), pTolerance);
+    } else if (value.getClass() == SValue.class) {
+      return exceedsTolerance(((SValue) last).getP(), ((SValue) value).getP(), pTolerance)
+          || exceedsTolerance(((SValue) last).getQ(), ((SValue) value).getQ(), qTolerance);
+    }
+
+    return !last.equals(value);
+  }
+
+  private static boolean exceedsTolerance(
+      Optional<ComparableQuantity<Power>> last,
+      Optional<ComparableQuantity<Power>> value,
+      ComparableQuantity<Power> tolerance) {
+    if (last.isEmpty() || value.isEmpty()) {
+      return last.isPresent() != value.isPresent();
+    }
+
+    Unit<Power> unit = tolerance.getUnit();
+    double difference =
+        last.get().to(unit).getValue().doubleValue()
+            - value.get().to(unit).getValue().doubleValue();
+    return Math.abs(difference) > tolerance.getValue().doubleValue();
+  }
+
+  /**
+   * Sends active power primary data for all assets from an external simulation to SIMONA. Unlike
+   * {@link #sendPrimaryData(long, Map, OptionalLong, Logger)}, no value objects are created. The
+   * value at position {@code i} belongs to the asset at position {@code i} of {@link
+   * #getPrimaryDataAssets()}. Assets, whose value is {@link Double#NaN}, receive no data. All other
+   * assets must expect a {@link PValue}.
+   *
+   * <p>ATTENTION: The array is sent without copying and must not be changed afterward.
+   *
+   * @param tick current tick
+   * @param p active power for each asset
+   * @param pUnit unit of the active power
+   * @param maybeNextTick option for the next tick in the simulation
+   * @param log logger
+   * @throws IllegalArgumentException if the number of values does not match the number of assets,
+   *     or if an asset with a value does not expect a {@link PValue}
+   */
+  public void sendPrimaryData(
+      long tick, double[] p, Unit<Power> pUnit, OptionalLong maybeNextTick, Logger log) {
+    send(new ProvidePrimaryDataColumns(tick, assets, p, pUnit, maybeNextTick), log);
+  }
+
+  /**
+   * Sends active and reactive power primary data for all assets from an external simulation to
+   * SIMONA. See {@link #sendPrimaryData(long, double[], Unit, OptionalLong, Logger)}. All assets,
+   * whose active power is not {@link Double#NaN}, must expect an {@link SValue}.
+   *
+   * <p>ATTENTION: The arrays are sent without copying and must not be changed afterward.
+   *
+   * @param tick current tick
+   * @param p active power for each asset
+   * @param q reactive power for each asset
+   * @param pUnit unit of the active power
+   * @param qUnit unit of the reactive power
+   * @param maybeNextTick option for the next tick in the simulation
+   * @param log logger
+   * @throws IllegalArgumentException if the number of values does not match the number of assets,
+   *     or if an asset with a value does not expect an {@link SValue}
+   */
+  public void sendPrimaryData(
+      long tick,
+      double[] p,
+      double[] q,
+      Unit<Power> pUnit,
+      Unit<Power> qUnit,
+      OptionalLong maybeNextTick,
+      Logger log) {
+    if (q.length != p.length) {
+      throw new IllegalArgumentException(
+          "Got " + p.length + " active power values, but " + q.length + " reactive power values!");
+    }
+
+    send(new ProvidePrimaryDataColumns(tick, assets, p, q, pUnit, qUnit, maybeNextTick), log);
+  }
+
+  private void send(ProvidePrimaryDataColumns columns, Logger log) {
+    checkValueClasses(columns);
+
+    // the columns are not cached, therefore the next primary data in delta mode is sent completely
+    lastValues.clear();
+
+    if (assets.isEmpty()) {
+      log.debug(
+          "No primary data assets found! Sending no primary data to SIMONA for tick {}.",
+          columns.tick());
+    } else {
+      log.debug("Provided SIMONA with primary data for {} assets.", assets.size());
+      sendExtMsg(columns);
+    }
+  }
+
+  /**
+   * Checks that every asset, that receives data from the given columns, expects the value class the
+   * columns are converted to.
+   *
+   * @param columns to check
+   * @throws IllegalArgumentException if an asset expects another value class
+   */
+  private void checkValueClasses(ProvidePrimaryDataColumns columns) {
+    Class<? extends Value> valueClass = columns.hasReactivePower() ? SValue.class : PValue.class;
+    double[] p = columns.p();
+
+    for (int i = 0; i < p.length; i++) {
+      if (!Double.isNaN(p[i]) && assetValueClasses[i] != valueClass) {
+        throw new IllegalArgumentException(
+            "Asset "
+                + assets.get(i)
+                + " expects primary data of type "
+                + assetValueClasses[i]
+                + ", but the columns provide "
+                + valueClass
+                + "!");
+      }
+    }
+  }
 }
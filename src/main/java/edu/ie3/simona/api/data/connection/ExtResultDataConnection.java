@@ -15,6 +15,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /** Enables data transfer of results between SIMONA and simonaAPI. */
 public final class ExtResultDataConnection
@@ -58,7 +59,38 @@ public final class ExtResultDataConnection
    */
   public Map<UUID, List<ResultEntity>> requestResults(
       long tick, List<UUID> entities, boolean sendUnchangedResults) throws InterruptedException {
-    sendExtMsg(new RequestResultEntities(tick, entities, sendUnchangedResults));
-    return receiveWithType(ProvideResultEntities.class).results();
+    return await(requestResultsAsync(tick, entities, sendUnchangedResults));
+  }
+
+  /**
+   * Method for requesting SIMONA results without blocking. The returned future is completed, when
+   * SIMONA responds to this request. Multiple requests can be pending at the same time.
+   *
+   * @param tick For which results should be returned.
+   * @param sendUnchangedResults If false only results that have changed since the last request are
+   *     returned, else all results will be returned.
+   * @return A future for a map: uuid to results.
+   */
+  public CompletableFuture<Map<UUID, List<ResultEntity>>> requestResultsAsync(
+      long tick, boolean sendUnchangedResults) {
+    return requestResultsAsync(tick, resultUuids, sendUnchangedResults);
+  }
+
+  /**
+   * Method for requesting SIMONA results without blocking. The returned future is completed, when
+   * SIMONA responds to this request. Multiple requests can be pending at the same time.
+   *
+   * @param tick For which results should be returned.
+   * @param entities For with results should be returned.
+   * @param sendUnchangedResults If false only results that have changed since the last request are
+   *     returned, else all results will be returned.
+   * @return A future for a map: uuid to results.
+   */
+  public CompletableFuture<Map<UUID, List<ResultEntity>>> requestResultsAsync(
+      long tick, List<UUID> entities, boolean sendUnchangedResults) {
+    return sendWithResponse(
+        requestId -> new RequestResultEntities(tick, entities, sendUnchangedResults, requestId),
+        ProvideResultEntities.class,
+        ProvideResultEntities::results);
   }
 }
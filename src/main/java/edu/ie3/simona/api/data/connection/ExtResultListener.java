@@ -6,13 +6,30 @@
 
 package edu.ie3.simona.api.data.connection;
 
+import edu.ie3.datamodel.models.result.ResultEntity;
 import edu.ie3.simona.api.exceptions.UnexpectedResponseMessageException;
+import edu.ie3.simona.api.ontology.results.ProvideResultEntities;
 import edu.ie3.simona.api.ontology.results.ResultDataResponseMessageToExt;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * External result listener. This listener is similar to the {@link ExtResultDataConnection}, but is
  * not able to request results from SIMONA.
+ *
+ * <p>Besides receiving the messages, consumers can subscribe to the results of specific assets or
+ * result classes (see {@link #subscribe(Set, Consumer)} and {@link #subscribe(Class, Consumer)}).
+ * Results are dispatched to the matching subscriptions as soon as they arrive. The subscriptions
+ * are stored in a routing table, so that dispatching a result only costs a lookup by its asset and
+ * class. If there are only asset subscriptions for fewer assets than results, only the results of
+ * the subscribed assets are looked up. Results can also be published to a {@link Flow.Subscriber}
+ * (see {@link #subscribe(Set, Flow.Subscriber, Executor, int, OverflowPolicy)}).
  */
 public non-sealed class ExtResultListener
     implements ExtOutputDataConnection<ResultDataResponseMessageToExt> {
@@ -21,14 +38,199 @@ public non-sealed class ExtResultListener
   public final LinkedBlockingQueue<ResultDataResponseMessageToExt> receiveTriggerQueue =
       new LinkedBlockingQueue<>();
 
+  /** True, if received messages are added to the {@link #receiveTriggerQueue}. */
+  private final boolean queueMessages;
+
+  private final ReentrantLock subscriptionLock = new ReentrantLock();
+
+  /** All active subscriptions. Only changed while holding the subscription lock. */
+  private final List<Subscription> subscriptions = new ArrayList<>();
+
+  /** Routing table, that is replaced every time the subscriptions change. */
+  private volatile RoutingTable routingTable = RoutingTable.EMPTY;
+
   public ExtResultListener() {
+    this(true);
+  }
+
+  /**
+   * Creates a listener.
+   *
+   * @param queueMessages true, if messages should be queued for {@link #receiveAny()}, false, if
+   *     results are only passed to subscriptions
+   */
+  public ExtResultListener(boolean queueMessages) {
     super();
+    this.queueMessages = queueMessages;
   }
 
   @Override
   public final void queueExtResponseMsg(ResultDataResponseMessageToExt msg)
       throws InterruptedException {
-    receiveTriggerQueue.put(msg);
+    if (msg instanceof ProvideResultEntities provideResults) {
+      dispatch(provideResults.results());
+    }
+
+    if (queueMessages) {
+      receiveTriggerQueue.put(msg);
+    }
+  }
+
+  /**
+   * Subscribes to all results for the given assets.
+   *
+   * <p>ATTENTION: The consumer is called by the thread, that passes the results to this listener.
+   * It should therefore return quickly and hand over longer work to another thread. If the consumer
+   * throws an exception, the subscription is cancelled.
+   *
+   * @param assets uuids of the assets
+   * @param consumer that receives the results
+   * @return the subscription
+   */
+  public final Subscription subscribe(Set<UUID> assets, Consumer<ResultEntity> consumer) {
+    return addSubscription(new Subscription(this, Set.copyOf(assets), Set.of(), consumer));
+  }
+
+  /**
+   * Subscribes to all results of the given class. Only results with exactly this class are passed
+   * to the consumer. See {@link #subscribe(Set, Consumer)}.
+   *
+   * @param resultClass class of the results
+   * @param consumer that receives the results
+   * @return the subscription
+   * @param <R> type of results
+   */
+  @SuppressWarnings("unchecked")
+  public final <R extends ResultEntity> Subscription subscribe(
+      Class<R> resultClass, Consumer<? super R> consumer) {
+    Consumer<ResultEntity> resultConsumer = result -> consumer.accept((R) result);
+    return addSubscription(new Subscription(this, Set.of(), Set.of(resultClass), resultConsumer));
+  }
+
+  /**
+   * Subscribes a flow subscriber to all results for the given assets. The results are published
+   * with a {@link SubmissionPublisher}, that delivers them asynchronously with the given executor.
+   * Therefore, a slow subscriber does not block the thread, that passes the results to this
+   * listener. If the buffer of the subscriber is full, the overflow policy is applied.
+   *
+   * <p>When the subscription is cancelled, the subscriber is completed. If the subscription was
+   * cancelled because of an overflow, {@link Flow.Subscriber#onError(Throwable)} is called instead.
+   * If the subscriber cancels its flow subscription, this subscription is cancelled with the next
+   * result.
+   *
+   * @param assets uuids of the assets
+   * @param subscriber that receives the results
+   * @param executor that delivers the results to the subscriber
+   * @param bufferCapacity maximal number of buffered results, rounded up to a power of two
+   * @param overflow policy, if the buffer of the subscriber is full
+   * @return the subscription
+   */
+  public final Subscription subscribe(
+      Set<UUID> assets,
+      Flow.Subscriber<? super ResultEntity> subscriber,
+      Executor executor,
+      int bufferCapacity,
+      OverflowPolicy overflow) {
+    FlowConsumer<ResultEntity> consumer =
+        new FlowConsumer<>(subscriber, executor, bufferCapacity, overflow);
+    return addSubscription(new Subscription(this, Set.copyOf(assets), Set.of(), consumer));
+  }
+
+  /**
+   * Subscribes a flow subscriber to all results of the given class. Only results with exactly this
+   * class are published. See {@link #subscribe(Set, Flow.Subscriber, Executor, int,
+   * OverflowPolicy)}.
+   *
+   * @param resultClass class of the results
+   * @param subscriber that receives the results
+   * @param executor that delivers the results to the subscriber
+   * @param bufferCapacity maximal number of buffered results, rounded up to a power of two
+   * @param overflow policy, if the buffer of the subscriber is full
+   * @return the subscription
+   * @param <R> type of results
+   */
+  public final <R extends ResultEntity> Subscription subscribe(
+      Class<R> resultClass,
+      Flow.Subscriber<? super R> subscriber,
+      Executor executor,
+      int bufferCapacity,
+      OverflowPolicy overflow) {
+    FlowConsumer<R> consumer = new FlowConsumer<>(subscriber, executor, bufferCapacity, overflow);
+    return addSubscription(new Subscription(this, Set.of(), Set.of(resultClass), consumer));
+  }
+
+  /** Returns the number of active subscriptions. */
+  public final int subscriptionCount() {
+    return routingTable.subscriptionCount();
+  }
+
+  private Subscription addSubscription(Subscription subscription) {
+    subscriptionLock.lock();
+    try {
+      subscriptions.add(subscription);
+      routingTable = RoutingTable.of(subscriptions);
+      return subscription;
+    } finally {
+      subscriptionLock.unlock();
+    }
+  }
+
+  private void removeSubscription(Subscription subscription) {
+    subscriptionLock.lock();
+    try {
+      if (subscriptions.remove(subscription)) {
+        routingTable = RoutingTable.of(subscriptions);
+      }
+    } finally {
+      subscriptionLock.unlock();
+    }
+  }
+
+  /** Passes the results to all matching subscriptions. */
+  private void dispatch(Map<UUID, List<ResultEntity>> results) {
+    RoutingTable table = routingTable;
+
+    if (table.subscriptionCount() == 0) {
+      return;
+    }
+
+    if (table.byType().isEmpty() && table.byAsset().size() < results.size()) {
+      // only asset subscriptions, therefore only the results of the subscribed assets are looked up
+      table
+          .byAsset()
+          .forEach(
+              (asset, assetSubscriptions) -> {
+                List<ResultEntity> entities = results.get(asset);
+
+                if (entities != null) {
+                  entities.forEach(entity -> deliver(assetSubscriptions, entity));
+                }
+              });
+      return;
+    }
+
+    results.forEach(
+        (asset, entities) -> {
+          Subscription[] assetSubscriptions = table.byAsset().get(asset);
+
+          for (ResultEntity entity : entities) {
+            if (assetSubscriptions != null) {
+              deliver(assetSubscriptions, entity);
+            }
+
+            Subscription[] typeSubscriptions = table.byType().get(entity.getClass());
+
+            if (typeSubscriptions != null) {
+              deliver(typeSubscriptions, entity);
+            }
+          }
+        });
+  }
+
+  private static void deliver(Subscription[] subscriptions, ResultEntity result) {
+    for (Subscription subscription : subscriptions) {
+      subscription.deliver(result);
+    }
   }
 
   @Override
@@ -53,4 +255,168 @@ public non-sealed class ExtResultListener
               + expectedMessageClass
               + "'");
   }
+
+  /** Subscription to results of a {@link ExtResultListener}. */
+  public static final class Subscription {
+    private final ExtResultListener listener;
+    private final Set<UUID> assets;
+    private final Set<Class<? extends ResultEntity>> resultClasses;
+    private final Consumer<ResultEntity> consumer;
+
+    private volatile boolean cancelled;
+    private volatile RuntimeException failure;
+
+    private Subscription(
+        ExtResultListener listener,
+        Set<UUID> assets,
+        Set<Class<? extends ResultEntity>> resultClasses,
+        Consumer<ResultEntity> consumer) {
+      this.listener = listener;
+      this.assets = assets;
+      this.resultClasses = resultClasses;
+      this.consumer = consumer;
+    }
+
+    /** Cancels this subscription. No results are passed to the consumer afterward. */
+    public void cancel() {
+      cancelled = true;
+      listener.removeSubscription(this);
+
+      if (consumer instanceof FlowConsumer<?> flowConsumer) {
+        flowConsumer.close(failure);
+      }
+    }
+
+    /** Returns true, if this subscription was cancelled. */
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    /** Returns an option for the exception, that was thrown by the consumer. */
+    public Optional<RuntimeException> getFailure() {
+      return Optional.ofNullable(failure);
+    }
+
+    /**
+     * Returns the number of results, that were dropped, because the buffer of a flow subscriber was
+     * full. For other subscriptions, this is always 0.
+     */
+    public long droppedResults() {
+      return consumer instanceof FlowConsumer<?> flowConsumer ? flowConsumer.dropped.sum() : 0;
+    }
+
+    private void deliver(ResultEntity result) {
+      if (cancelled) {
+        return;
+      }
+
+      if (consumer instanceof FlowConsumer<?> flowConsumer && flowConsumer.isUnsubscribed()) {
+        // the subscriber cancelled its flow subscription
+        cancel();
+        return;
+      }
+
+      try {
+        consumer.accept(result);
+      } catch (RuntimeException e) {
+        failure = e;
+        cancel();
+      }
+    }
+  }
+
+  /** Policy, if the buffer of a flow subscriber is full. */
+  public enum OverflowPolicy {
+    /** The result is dropped and counted (see {@link Subscription#droppedResults()}). */
+    DROP,
+    /** The result is dropped and the subscription is cancelled with a failure. */
+    CANCEL
+  }
+
+  /**
+   * Consumer, that publishes the results to a flow subscriber without blocking.
+   *
+   * @param <R> type of results
+   */
+  private static final class FlowConsumer<R extends ResultEntity>
+      implements Consumer<ResultEntity> {
+    private final SubmissionPublisher<R> publisher;
+    private final OverflowPolicy overflow;
+    private final LongAdder dropped = new LongAdder();
+
+    private FlowConsumer(
+        Flow.Subscriber<? super R> subscriber,
+        Executor executor,
+        int bufferCapacity,
+        OverflowPolicy overflow) {
+      this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+      this.overflow = overflow;
+      publisher.subscribe(subscriber);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void accept(ResultEntity result) {
+      int lag =
+          publisher.offer(
+              (R) result,
+              (subscriber, item) -> {
+                dropped.increment();
+                return false;
+              });
+
+      if (lag < 0 && overflow == OverflowPolicy.CANCEL) {
+        throw new IllegalStateException(
+            "The buffer of the subscriber is full (capacity: "
+                + publisher.getMaxBufferCapacity()
+                + " results)!");
+      }
+    }
+
+    private boolean isUnsubscribed() {
+      return !publisher.hasSubscribers();
+    }
+
+    private void close(RuntimeException failure) {
+      if (failure != null) {
+        publisher.closeExceptionally(failure);
+      } else {
+        publisher.close();
+      }
+    }
+  }
+
+  /**
+   * Routing table of the subscriptions.
+   *
+   * @param byAsset map: asset to subscriptions
+   * @param byType map: result class to subscriptions
+   * @param subscriptionCount number of subscriptions
+   */
+  private record RoutingTable(
+      Map<UUID, Subscription[]> byAsset,
+      Map<Class<?>, Subscription[]> byType,
+      int subscriptionCount) {
+    private static final RoutingTable EMPTY = new RoutingTable(Map.of(), Map.of(), 0);
+
+    private static RoutingTable of(List<Subscription> subscriptions) {
+      Map<UUID, List<Subscription>> byAsset = new HashMap<>();
+      Map<Class<?>, List<Subscription>> byType = new HashMap<>();
+
+      for (Subscription subscription : subscriptions) {
+        subscription.assets.forEach(
+            asset -> byAsset.computeIfAbsent(asset, k -> new ArrayList<>()).add(subscription));
+        subscription.resultClasses.forEach(
+            clazz -> byType.computeIfAbsent(clazz, k -> new ArrayList<>()).add(subscription));
+      }
+
+      return new RoutingTable(toArrays(byAsset), toArrays(byType), subscriptions.size());
+    }
+
+    private static <K> Map<K, Subscription[]> toArrays(Map<K, List<Subscription>> map) {
+      Map<K, Subscription[]> arrays = new HashMap<>();
+      map.forEach((key, value) -> arrays.put(key, value.toArray(new Subscription[0])));
+      return arrays;
+    }
+  }
 }
@@ -17,6 +17,15 @@ public sealed interface ExtDataContainer permits ExtInputContainer, ExtOutputCon
   /** Returns true, if the container is empty. */
   boolean isEmpty();
 
+  /** Returns the tick the data is provided for. */
+  long getTick();
+
+  /**
+   * Returns the number of entries in the maps and lists of this container. The number can be used
+   * to estimate the memory retained by this container.
+   */
+  int entryCount();
+
   /**
    * Method to copy a given map and clear the original.
    *
@@ -24,7 +33,10 @@ public sealed interface ExtDataContainer permits ExtInputContainer, ExtOutputCon
    * @return the copy
    * @param <K> type of key
    * @param <V> type of value
+   * @deprecated The containers hand over extracted maps without copying. Use {@code new
+   *     HashMap<>(map)} and {@link Map#clear()} instead, if a copy is needed.
    */
+  @Deprecated(forRemoval = true)
   default <K, V> Map<K, V> copyAndClear(Map<K, V> map) {
     Map<K, V> result = new HashMap<>(map);
     map.clear();
@@ -37,7 +49,10 @@ public sealed interface ExtDataContainer permits ExtInputContainer, ExtOutputCon
    * @param list to be copied and cleared
    * @return the copy
    * @param <V> type of value
+   * @deprecated The containers hand over extracted lists without copying. Use {@code new
+   *     ArrayList<>(list)} and {@link List#clear()} instead, if a copy is needed.
    */
+  @Deprecated(forRemoval = true)
   default <V> List<V> copyAndClear(List<V> list) {
     List<V> result = new ArrayList<>(list);
     list.clear();
@@ -9,33 +9,50 @@ package edu.ie3.simona.api.data.container;
 import edu.ie3.datamodel.models.value.PValue;
 import edu.ie3.datamodel.models.value.Value;
 import edu.ie3.simona.api.data.model.em.*;
+import edu.ie3.simona.api.mapping.DataType;
+import edu.ie3.simona.api.mapping.ExtEntityMapping;
 import java.util.*;
 
-/** Contains all inputs for SIMONA for a certain tick */
+/**
+ * Contains all inputs for SIMONA for a certain tick
+ *
+ * <p>A container can be reused for another tick with {@link #reset(long, OptionalLong)}. Extracted
+ * maps and lists are handed over to the receiver and are therefore not reused. They are replaced by
+ * new maps, that are sized for the expected number of entries, so that they do not need to grow. To
+ * avoid this allocation for each tick, a map or list, that was extracted before and is no longer
+ * used, can be handed back as replacement, e.g. with {@link #extractPrimaryData(Map)}.
+ */
 public final class ExtInputContainer implements ExtDataContainer {
 
   /** The tick, the input data is meant for. */
-  private final long tick;
+  private long tick;
 
   /** The next tick, when data will be provided, if available. */
-  private final OptionalLong maybeNextTick;
+  private OptionalLong maybeNextTick;
 
   // mapping for primary data
   /** Map uuid to primary input value for SIMONA. */
-  private final Map<UUID, Value> primaryData = new HashMap<>();
+  private Map<UUID, Value> primaryData;
 
   // mappings for em data
   /** Map uuid to flex option requests. */
-  private final Map<UUID, FlexOptionRequest> flexRequests = new HashMap<>();
+  private Map<UUID, FlexOptionRequest> flexRequests;
 
   /** Map uuid to flex options. */
-  private final Map<UUID, List<FlexOptions>> flexOptions = new HashMap<>();
+  private Map<UUID, List<FlexOptions>> flexOptions;
 
   /** Map uuid to em set points. */
-  private final Map<UUID, SetPoint> setPoints = new HashMap<>();
+  private Map<UUID, SetPoint> setPoints;
+
+  /** List of batches of em set points. */
+  private List<SetPointBatch> setPointBatches;
 
   /** List of em communication messages. */
-  private final List<EmCommunicationMessage> emMessages = new ArrayList<>();
+  private List<EmCommunicationMessage> emMessages;
+
+  // expected sizes
+  private final int expectedPrimaryData;
+  private final int expectedEmData;
 
   /**
    * Container class for input data for SIMONA which can be read by SimonaAPI
@@ -44,13 +61,88 @@ public final class ExtInputContainer implements ExtDataContainer {
    * @param nextTick tick, when the next data will be provided
    */
   public ExtInputContainer(long tick, long nextTick) {
-    this.tick = tick;
-    this.maybeNextTick = OptionalLong.of(nextTick);
+    this(tick, OptionalLong.of(nextTick), 0, 0);
   }
 
   public ExtInputContainer(long tick) {
+    this(tick, OptionalLong.empty(), 0, 0);
+  }
+
+  /**
+   * Container class for input data for SIMONA, that is sized for the expected number of entries.
+   *
+   * @param tick The tick, the input data is meant for
+   * @param nextTick option for the tick, when the next data will be provided
+   * @param expectedPrimaryData expected number of assets with primary data
+   * @param expectedEmData expected number of em agents, that receive data
+   */
+  public ExtInputContainer(
+      long tick, OptionalLong nextTick, int expectedPrimaryData, int expectedEmData) {
+    if (expectedPrimaryData < 0 || expectedEmData < 0) {
+      throw new IllegalArgumentException(
+          "The expected number of entries must not be negative, but was "
+              + Math.min(expectedPrimaryData, expectedEmData)
+              + "!");
+    }
+
     this.tick = tick;
-    this.maybeNextTick = OptionalLong.empty();
+    this.maybeNextTick = nextTick;
+    this.expectedPrimaryData = expectedPrimaryData;
+    this.expectedEmData = expectedEmData;
+
+    this.primaryData = newMap(expectedPrimaryData);
+    this.flexRequests = newMap(expectedEmData);
+    this.flexOptions = newMap(expectedEmData);
+    this.setPoints = newMap(expectedEmData);
+    this.setPointBatches = new ArrayList<>();
+    this.emMessages = new ArrayList<>();
+  }
+
+  /**
+   * Creates a container, that is sized for the primary and em assets of the given mapping.
+   *
+   * @param tick The tick, the input data is meant for
+   * @param nextTick option for the tick, when the next data will be provided
+   * @param mapping that contains the assets
+   * @return a new container
+   */
+  public static ExtInputContainer sizedFor(
+      long tick, OptionalLong nextTick, ExtEntityMapping mapping) {
+    return new ExtInputContainer(
+        tick,
+        nextTick,
+        mapping.getAssets(DataType.PRIMARY).size(),
+        mapping.getAssets(DataType.EM).size());
+  }
+
+  /**
+   * Returns a map, that can hold the expected number of entries without growing. Without expected
+   * entries, a map with the default capacity is returned, because a map with a smaller capacity
+   * would be resized more often.
+   */
+  private static <K, V> Map<K, V> newMap(int expected) {
+    return expected <= 0 ? new HashMap<>() : new HashMap<>((int) Math.ceil(expected / 0.75));
+  }
+
+  /**
+   * Removes all data from this container and sets a new tick, so that this container can be reused.
+   * Maps, that were not extracted, keep their capacity.
+   *
+   * <p>ATTENTION: A container must only be reset, if it is no longer used elsewhere, e.g. if it is
+   * not queued anymore.
+   *
+   * @param tick The new tick, the input data is meant for
+   * @param nextTick option for the tick, when the next data will be provided
+   */
+  public void reset(long tick, OptionalLong nextTick) {
+    this.tick = tick;
+    this.maybeNextTick = nextTick;
+    primaryData.clear();
+    flexRequests.clear();
+    flexOptions.clear();
+    setPoints.clear();
+    setPointBatches.clear();
+    emMessages.clear();
   }
 
   @Override
@@ -59,14 +151,25 @@ public final class ExtInputContainer implements ExtDataContainer {
         && flexRequests.isEmpty()
         && flexOptions.isEmpty()
         && setPoints.isEmpty()
+        && setPointBatches.isEmpty()
         && emMessages.isEmpty();
   }
 
-  /** Returns the tick the data is provided for. */
+  @Override
   public long getTick() {
     return tick;
   }
 
+  @Override
+  public int entryCount() {
+    return primaryData.size()
+        + flexRequests.size()
+        + flexOptions.size()
+        + setPoints.size()
+        + setPointBatches.stream().mapToInt(SetPointBatch::size).sum()
+        + emMessages.size();
+  }
+
   /** Returns an option for the next tick, when data will be provided. */
   public OptionalLong getMaybeNextTick() {
     return maybeNextTick;
@@ -82,6 +185,7 @@ public final class ExtInputContainer implements ExtDataContainer {
     return !flexRequests.isEmpty()
         || !flexOptions.isEmpty()
         || !setPoints.isEmpty()
+        || !setPointBatches.isEmpty()
         || !emMessages.isEmpty();
   }
 
@@ -158,11 +262,78 @@ public final class ExtInputContainer implements ExtDataContainer {
     setPoints.put(setPoint.receiver(), setPoint);
   }
 
+  /**
+   * Method for adding a batch of em set points. The batch is kept separately from the single set
+   * points and can be extracted with {@link #extractSetPointBatches()}. If only {@link
+   * #extractSetPoints()} is used, the rows of the batch are extracted as single set points.
+   *
+   * <p>A copy of the batch is stored, therefore the batch can be reused afterward.
+   *
+   * @param setPoints batch of set points
+   */
+  public void addSetPoint(SetPointBatch setPoints) {
+    setPointBatches.add(setPoints.copy());
+  }
+
+  /**
+   * Method for merging the data of another container for the same tick into this container. The
+   * other container is not changed. The data is merged using the following rules:
+   *
+   * <ul>
+   *   <li>primary data, flex option requests and set points: the value of the other container
+   *       replaces the value for the same asset (last writer wins)
+   *   <li>flex options, set point batches and em messages: the values of the other container are
+   *       appended
+   *   <li>next tick: the earlier next tick is used
+   * </ul>
+   *
+   * @param other container with data for the same tick
+   * @throws IllegalArgumentException if the other container is meant for a different tick
+   */
+  public void merge(ExtInputContainer other) {
+    if (other.tick != tick) {
+      throw new IllegalArgumentException(
+          "Cannot merge a container for tick " + other.tick + " into a container for tick " + tick);
+    }
+
+    primaryData.putAll(other.primaryData);
+    flexRequests.putAll(other.flexRequests);
+    other.flexOptions.forEach(this::addFlexOptions);
+    setPoints.putAll(other.setPoints);
+    setPointBatches.addAll(other.setPointBatches);
+    emMessages.addAll(other.emMessages);
+
+    if (other.maybeNextTick.isPresent()
+        && (maybeNextTick.isEmpty()
+            || other.maybeNextTick.getAsLong() < maybeNextTick.getAsLong())) {
+      maybeNextTick = other.maybeNextTick;
+    }
+  }
+
+  // extract data, the collections are handed over without copying and replaced by new ones or by
+  // recycled ones of the caller
+
   /**
    * Extracts the primary input data from this container. All other input data remains unchanged.
    */
   public Map<UUID, Value> extractPrimaryData() {
-    return copyAndClear(primaryData);
+    Map<UUID, Value> extracted = primaryData;
+    primaryData = newMap(expectedPrimaryData);
+    return extracted;
+  }
+
+  /**
+   * Extracts the primary input data from this container and replaces it with the given map, which
+   * is cleared. If the given map was extracted before and is no longer used, no map is allocated
+   * and the replacement keeps its capacity. All other input data remains unchanged.
+   *
+   * @param recycled map, that is cleared and used to collect the next data
+   * @return the extracted data
+   */
+  public Map<UUID, Value> extractPrimaryData(Map<UUID, Value> recycled) {
+    Map<UUID, Value> extracted = primaryData;
+    primaryData = recycle(extracted, recycled);
+    return extracted;
   }
 
   /**
@@ -170,28 +341,155 @@ public final class ExtInputContainer implements ExtDataContainer {
    * the same.
    */
   public Map<UUID, FlexOptionRequest> extractFlexRequests() {
-    return copyAndClear(flexRequests);
+    Map<UUID, FlexOptionRequest> extracted = flexRequests;
+    flexRequests = newMap(expectedEmData);
+    return extracted;
+  }
+
+  /**
+   * Extracts the flex option request input data from this container and replaces it with the given
+   * map, which is cleared (see {@link #extractPrimaryData(Map)}). All other input data remains the
+   * same.
+   *
+   * @param recycled map, that is cleared and used to collect the next data
+   * @return the extracted data
+   */
+  public Map<UUID, FlexOptionRequest> extractFlexRequests(Map<UUID, FlexOptionRequest> recycled) {
+    Map<UUID, FlexOptionRequest> extracted = flexRequests;
+    flexRequests = recycle(extracted, recycled);
+    return extracted;
   }
 
   /**
    * Extracts the flex option input data from this container. All other input data remains the same.
    */
   public Map<UUID, List<FlexOptions>> extractFlexOptions() {
-    return copyAndClear(flexOptions);
+    Map<UUID, List<FlexOptions>> extracted = flexOptions;
+    flexOptions = newMap(expectedEmData);
+    return extracted;
   }
 
   /**
-   * Extracts the set point input data from this container. All other input data remains the same.
+   * Extracts the flex option input data from this container and replaces it with the given map,
+   * which is cleared (see {@link #extractPrimaryData(Map)}). All other input data remains the same.
+   *
+   * @param recycled map, that is cleared and used to collect the next data
+   * @return the extracted data
+   */
+  public Map<UUID, List<FlexOptions>> extractFlexOptions(Map<UUID, List<FlexOptions>> recycled) {
+    Map<UUID, List<FlexOptions>> extracted = flexOptions;
+    flexOptions = recycle(extracted, recycled);
+    return extracted;
+  }
+
+  /**
+   * Extracts the set point input data from this container. The rows of batches, that were not
+   * extracted with {@link #extractSetPointBatches()} before, are converted into set points and
+   * extracted as well. A single set point takes precedence over a row of a batch for the same
+   * receiver. All other input data remains the same.
    */
   public Map<UUID, SetPoint> extractSetPoints() {
-    return copyAndClear(setPoints);
+    Map<UUID, SetPoint> extracted = setPoints;
+    setPoints = newMap(expectedEmData);
+
+    if (!setPointBatches.isEmpty()) {
+      for (SetPointBatch batch : extractSetPointBatches()) {
+        batch.toSetPoints().forEach(extracted::putIfAbsent);
+      }
+    }
+    return extracted;
+  }
+
+  /**
+   * Extracts the set point input data from this container and replaces it with the given map, which
+   * is cleared (see {@link #extractPrimaryData(Map)}). The rows of batches are extracted like in
+   * {@link #extractSetPoints()}. All other input data remains the same.
+   *
+   * @param recycled map, that is cleared and used to collect the next data
+   * @return the extracted data
+   */
+  public Map<UUID, SetPoint> extractSetPoints(Map<UUID, SetPoint> recycled) {
+    Map<UUID, SetPoint> extracted = setPoints;
+    setPoints = recycle(extracted, recycled);
+
+    for (SetPointBatch batch : setPointBatches) {
+      batch.toSetPoints().forEach(extracted::putIfAbsent);
+    }
+
+    setPointBatches.clear();
+    return extracted;
+  }
+
+  /**
+   * Extracts the batches of set points from this container. All other input data remains the same.
+   */
+  public List<SetPointBatch> extractSetPointBatches() {
+    List<SetPointBatch> extracted = setPointBatches;
+    setPointBatches = new ArrayList<>();
+    return extracted;
+  }
+
+  /**
+   * Extracts the batches of set points from this container and replaces them with the given list,
+   * which is cleared (see {@link #extractPrimaryData(Map)}). All other input data remains the same.
+   *
+   * @param recycled list, that is cleared and used to collect the next batches
+   * @return the extracted batches
+   */
+  public List<SetPointBatch> extractSetPointBatches(List<SetPointBatch> recycled) {
+    List<SetPointBatch> extracted = setPointBatches;
+    setPointBatches = recycle(extracted, recycled);
+    return extracted;
   }
 
   /**
    * Extracts the em message input data from this container. All other input data remains the same.
    */
   public List<EmCommunicationMessage> extractEmMessages() {
-    return copyAndClear(emMessages);
+    List<EmCommunicationMessage> extracted = emMessages;
+    emMessages = new ArrayList<>();
+    return extracted;
+  }
+
+  /**
+   * Extracts the em message input data from this container and replaces it with the given list,
+   * which is cleared (see {@link #extractPrimaryData(Map)}). All other input data remains the same.
+   *
+   * @param recycled list, that is cleared and used to collect the next messages
+   * @return the extracted messages
+   */
+  public List<EmCommunicationMessage> extractEmMessages(List<EmCommunicationMessage> recycled) {
+    List<EmCommunicationMessage> extracted = emMessages;
+    emMessages = recycle(extracted, recycled);
+    return extracted;
+  }
+
+  /**
+   * Clears the recycled map, so that it can replace the extracted map.
+   *
+   * @throws IllegalArgumentException if the recycled map is the extracted map
+   */
+  private static <K, V> Map<K, V> recycle(Map<K, V> extracted, Map<K, V> recycled) {
+    if (recycled == extracted) {
+      throw new IllegalArgumentException("The extracted map can not be recycled at once!");
+    }
+
+    recycled.clear();
+    return recycled;
+  }
+
+  /**
+   * Clears the recycled list, so that it can replace the extracted list.
+   *
+   * @throws IllegalArgumentException if the recycled list is the extracted list
+   */
+  private static <T> List<T> recycle(List<T> extracted, List<T> recycled) {
+    if (recycled == extracted) {
+      throw new IllegalArgumentException("The extracted list can not be recycled at once!");
+    }
+
+    recycled.clear();
+    return recycled;
   }
 
   /**
@@ -242,6 +540,8 @@ public final class ExtInputContainer implements ExtDataContainer {
         + flexOptions
         + ", setPoints="
         + setPoints
+        + ", setPointBatches="
+        + setPointBatches
         + ", emMessages="
         + emMessages
         + '}';
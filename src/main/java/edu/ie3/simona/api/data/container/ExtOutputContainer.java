@@ -8,16 +8,23 @@ package edu.ie3.simona.api.data.container;
 
 import edu.ie3.datamodel.models.result.ResultEntity;
 import edu.ie3.simona.api.data.model.em.EmData;
+import edu.ie3.simona.api.mapping.DataType;
+import edu.ie3.simona.api.mapping.ExtEntityMapping;
 import java.util.*;
 
-/** Contains all SIMONA results for a certain tick. */
+/**
+ * Contains all SIMONA results for a certain tick.
+ *
+ * <p>A container can be reused for another tick with {@link #reset(long, OptionalLong)}. The
+ * internal maps keep their capacity, therefore no maps need to be allocated and grown again.
+ */
 public final class ExtOutputContainer implements ExtDataContainer {
 
   /** Tick for which the results are meant for. */
-  private final long tick;
+  private long tick;
 
   /** Tick when the external simulation can expect the next results from SIMONA. */
-  private final OptionalLong maybeNextTick;
+  private OptionalLong maybeNextTick;
 
   /**
    * Map: receiver uuid to list of results from SIMONA.
@@ -27,9 +34,18 @@ public final class ExtOutputContainer implements ExtDataContainer {
    */
   private final Map<UUID, List<ResultEntity>> resultMap;
 
+  /**
+   * Index of the results by their concrete class. Map: result class to a map: receiver uuid to the
+   * last added result of this class.
+   */
+  private final Map<Class<? extends ResultEntity>, Map<UUID, ResultEntity>> resultsByType;
+
   /** Map: receiver uuid to {@link EmData} from SIMONA. */
   private final Map<UUID, List<EmData>> emDataMap;
 
+  /** Power results, that were added without creating result entities. */
+  private final PowerResultColumns powerResults;
+
   /**
    * Container class for result data from SIMONA.
    *
@@ -37,9 +53,31 @@ public final class ExtOutputContainer implements ExtDataContainer {
    * @param nextTick tick the external simulation can expect the next results
    */
   public ExtOutputContainer(long tick, OptionalLong nextTick) {
+    this(tick, nextTick, 0, 0);
+  }
+
+  /**
+   * Container class for result data from SIMONA, that is sized for the expected number of entries.
+   *
+   * @param tick current tick
+   * @param nextTick tick the external simulation can expect the next results
+   * @param expectedResults expected number of receivers of results
+   * @param expectedEmData expected number of receivers of em data
+   */
+  public ExtOutputContainer(
+      long tick, OptionalLong nextTick, int expectedResults, int expectedEmData) {
+    if (expectedResults < 0 || expectedEmData < 0) {
+      throw new IllegalArgumentException(
+          "The expected number of entries must not be negative, but was "
+              + Math.min(expectedResults, expectedEmData)
+              + "!");
+    }
+
     this.tick = tick;
-    this.resultMap = new HashMap<>();
-    this.emDataMap = new HashMap<>();
+    this.resultMap = newMap(expectedResults);
+    this.resultsByType = new HashMap<>();
+    this.emDataMap = newMap(expectedEmData);
+    this.powerResults = new PowerResultColumns();
     this.maybeNextTick = nextTick;
   }
 
@@ -47,23 +85,113 @@ public final class ExtOutputContainer implements ExtDataContainer {
     this(tick, OptionalLong.empty());
   }
 
+  /**
+   * Creates a container, that is sized for the result and em assets of the given mapping.
+   *
+   * @param tick current tick
+   * @param nextTick tick the external simulation can expect the next results
+   * @param mapping that contains the assets
+   * @return a new container
+   */
+  public static ExtOutputContainer sizedFor(
+      long tick, OptionalLong nextTick, ExtEntityMapping mapping) {
+    return new ExtOutputContainer(
+        tick,
+        nextTick,
+        mapping.getAssets(DataType.RESULT).size(),
+        mapping.getAssets(DataType.EM).size());
+  }
+
+  /**
+   * Returns a map, that can hold the expected number of entries without growing. Without expected
+   * entries, a map with the default capacity is returned, because a map with a smaller capacity
+   * would be resized more often.
+   */
+  private static <K, V> Map<K, V> newMap(int expected) {
+    return expected <= 0 ? new HashMap<>() : new HashMap<>((int) Math.ceil(expected / 0.75));
+  }
+
+  /**
+   * Removes all data from this container and sets a new tick, so that this container can be reused.
+   * The internal maps keep their capacity. The asset table of the power results is kept, too.
+   *
+   * <p>ATTENTION: A container must only be reset, if it is no longer used elsewhere, e.g. if it is
+   * not queued anymore. Maps and lists, that were returned by this container before, must not be
+   * used afterward.
+   *
+   * @param tick new tick
+   * @param nextTick tick the external simulation can expect the next results
+   */
+  public void reset(long tick, OptionalLong nextTick) {
+    this.tick = tick;
+    this.maybeNextTick = nextTick;
+    resultMap.clear();
+    resultsByType.values().forEach(Map::clear);
+    emDataMap.clear();
+    powerResults.clear();
+  }
+
   @Override
   public boolean isEmpty() {
-    return resultMap.isEmpty() && emDataMap.isEmpty();
+    return resultMap.isEmpty() && emDataMap.isEmpty() && powerResults.isEmpty();
   }
 
+  /**
+   * Method for adding a result for the given receiver.
+   *
+   * @param receiver of the result
+   * @param result to be added
+   */
   public void addResult(UUID receiver, ResultEntity result) {
-    if (resultMap.containsKey(receiver)) {
-      resultMap.get(receiver).add(result);
-    } else {
-      List<ResultEntity> resultList = new ArrayList<>();
-      resultList.add(result);
-      resultMap.put(receiver, resultList);
-    }
+    resultMap.computeIfAbsent(receiver, k -> new ArrayList<>()).add(result);
+    index(receiver, result);
   }
 
+  /**
+   * Method for adding results. The results replace all results, that were already added for the
+   * same receiver.
+   *
+   * <p>ATTENTION: The lists are stored without copying and must not be changed afterward. A result,
+   * that is added later for the same receiver with {@link #addResult(UUID, ResultEntity)}, is added
+   * to the given list.
+   *
+   * @param result map: receiver uuid to results
+   */
   public void addResults(Map<UUID, List<ResultEntity>> result) {
-    this.resultMap.putAll(result);
+    result.forEach(
+        (receiver, results) -> {
+          List<ResultEntity> replaced = resultMap.put(receiver, results);
+
+          if (replaced != null) {
+            replaced.forEach(
+                entity -> {
+                  Map<UUID, ResultEntity> ofType = resultsByType.get(entity.getClass());
+
+                  if (ofType != null) {
+                    ofType.remove(receiver);
+                  }
+                });
+          }
+
+          results.forEach(entity -> index(receiver, entity));
+        });
+  }
+
+  /**
+   * Method for adding a power result without creating a result entity. The result is only available
+   * through {@link #getPowerResults()}.
+   *
+   * @param receiver of the result
+   * @param activePower in {@link PowerResultColumns#P_UNIT}
+   * @param reactivePower in {@link PowerResultColumns#Q_UNIT}
+   */
+  public void addPowerResult(UUID receiver, double activePower, double reactivePower) {
+    powerResults.add(receiver, activePower, reactivePower);
+  }
+
+  /** Adds the result to the {@link #resultsByType} index. */
+  private void index(UUID receiver, ResultEntity result) {
+    resultsByType.computeIfAbsent(result.getClass(), k -> new HashMap<>()).put(receiver, result);
   }
 
   public void addEmData(UUID receiver, EmData emData) {
@@ -80,9 +208,20 @@ public final class ExtOutputContainer implements ExtDataContainer {
     this.emDataMap.putAll(emData);
   }
 
-  /** Returns a map: uuid to result. */
+  /** Returns an unmodifiable map: uuid to result. */
   public Map<UUID, List<ResultEntity>> getResults() {
-    return resultMap;
+    return Collections.unmodifiableMap(resultMap);
+  }
+
+  /**
+   * Returns the power results, that were added with {@link #addPowerResult(UUID, double, double)}.
+   * Result entities are not included, use {@link PowerResultColumns#from(Map)} with {@link
+   * #getResults()} to convert them.
+   *
+   * <p>ATTENTION: The returned columns are not copied and must not be changed.
+   */
+  public PowerResultColumns getPowerResults() {
+    return powerResults;
   }
 
   /** Returns a map: receiver to list of {@link EmData}. */
@@ -91,44 +230,57 @@ public final class ExtOutputContainer implements ExtDataContainer {
   }
 
   /**
-   * Method to extract results of a specific type.
+   * Method to extract results of a specific type. Only results with exactly the given class are
+   * returned. If multiple results of this class were added for the same uuid, the last one is
+   * returned.
    *
    * @param clazz of the results
    * @return a map: uuid to requested result, or an empty map, if no results for the requested type
    *     are present
    * @param <R> result type
    */
-  @SuppressWarnings("unchecked")
   public <R extends ResultEntity> Map<UUID, R> getResults(Class<R> clazz) {
-    Map<UUID, R> result = new HashMap<>();
+    return new HashMap<>(getResultsView(clazz));
+  }
 
-    for (Map.Entry<UUID, List<ResultEntity>> entry : resultMap.entrySet()) {
-      List<ResultEntity> resultEntities = entry.getValue();
+  /**
+   * Returns an unmodifiable view of the results of a specific type. Unlike {@link
+   * #getResults(Class)}, no map is created. Therefore, the view should not be kept after results
+   * were added to this container.
+   *
+   * @param clazz of the results
+   * @return a view: uuid to requested result
+   * @param <R> result type
+   */
+  @SuppressWarnings("unchecked")
+  public <R extends ResultEntity> Map<UUID, R> getResultsView(Class<R> clazz) {
+    Map<UUID, ResultEntity> ofType = resultsByType.get(clazz);
 
-      for (ResultEntity resultEntity : resultEntities) {
-        if (resultEntity.getClass().equals(clazz)) {
-          // add the result, if the found result is of the requested type
-          result.put(entry.getKey(), (R) resultEntity);
-        }
-      }
+    if (ofType == null) {
+      return Collections.emptyMap();
     }
 
-    return result;
+    return Collections.unmodifiableMap((Map<UUID, R>) ofType);
   }
 
-  /** Returns the tick the data is provided for. */
+  @Override
   public long getTick() {
     return tick;
   }
 
+  @Override
+  public int entryCount() {
+    return resultMap.size() + emDataMap.size() + powerResults.size();
+  }
+
   /** Returns an option for the next tick, when data will be provided. */
   public OptionalLong getMaybeNextTick() {
     return maybeNextTick;
   }
 
-  /** Returns the result for a certain asset. */
+  /** Returns an unmodifiable list of the results for a certain asset. */
   public List<ResultEntity> getResult(UUID assetId) {
-    return resultMap.getOrDefault(assetId, Collections.emptyList());
+    return Collections.unmodifiableList(resultMap.getOrDefault(assetId, Collections.emptyList()));
   }
 
   /** Returns the em data for a certain asset. */
@@ -147,6 +299,8 @@ public final class ExtOutputContainer implements ExtDataContainer {
         + resultMap
         + ", emDataMap="
         + emDataMap
+        + ", powerResults="
+        + powerResults
         + '}';
   }
 }
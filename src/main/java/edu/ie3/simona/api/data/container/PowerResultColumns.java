@@ -0,0 +1,214 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data.container;
+
+import edu.ie3.datamodel.models.StandardUnits;
+import edu.ie3.datamodel.models.result.ResultEntity;
+import edu.ie3.datamodel.models.result.system.SystemParticipantResult;
+import java.util.*;
+import javax.measure.Unit;
+import javax.measure.quantity.Power;
+
+/**
+ * Columnar representation of active and reactive power results. Each row consists of an index into
+ * the asset table and the active and reactive power as primitive values in {@link #P_UNIT} resp.
+ * {@link #Q_UNIT}. Compared to {@link SystemParticipantResult}s, no quantity, time or uuid objects
+ * are created per result.
+ *
+ * <p>Each asset is added to the asset table once. Therefore, an asset can have multiple rows.
+ *
+ * <p>Example for reading all rows:
+ *
+ * <pre>{@code
+ * for (int row = 0; row < columns.size(); row++) {
+ *   UUID asset = columns.getAsset(row);
+ *   double p = columns.getP(row);
+ *   double q = columns.getQ(row);
+ * }
+ * }</pre>
+ */
+public final class PowerResultColumns {
+
+  /** Unit of the active power values. */
+  public static final Unit<Power> P_UNIT = StandardUnits.ACTIVE_POWER_RESULT;
+
+  /** Unit of the reactive power values. */
+  public static final Unit<Power> Q_UNIT = StandardUnits.REACTIVE_POWER_RESULT;
+
+  private static final int[] EMPTY_INDICES = new int[0];
+  private static final double[] EMPTY_VALUES = new double[0];
+
+  /** Table of assets. The index of an asset is its position in this list. */
+  private final List<UUID> assets = new ArrayList<>();
+
+  /** Map: asset to its index in {@link #assets}. */
+  private final Map<UUID, Integer> assetIndices = new HashMap<>();
+
+  // columns
+  private int[] rowAssets = EMPTY_INDICES;
+  private double[] p = EMPTY_VALUES;
+  private double[] q = EMPTY_VALUES;
+
+  /** Number of rows. */
+  private int size;
+
+  /** Creates empty columns. */
+  public PowerResultColumns() {}
+
+  /**
+   * Creates empty columns, that can hold the given number of rows without growing.
+   *
+   * @param expectedRows number of expected rows
+   */
+  public PowerResultColumns(int expectedRows) {
+    if (expectedRows < 0) {
+      throw new IllegalArgumentException(
+          "The expected number of rows must not be negative, but was " + expectedRows + "!");
+    }
+
+    this.rowAssets = new int[expectedRows];
+    this.p = new double[expectedRows];
+    this.q = new double[expectedRows];
+  }
+
+  /**
+   * Creates columns for all {@link SystemParticipantResult}s in the given results. All other
+   * results are ignored.
+   *
+   * @param results map: receiver uuid to results
+   * @return new columns
+   */
+  public static PowerResultColumns from(Map<UUID, List<ResultEntity>> results) {
+    PowerResultColumns columns = new PowerResultColumns(results.size());
+
+    results.forEach(
+        (receiver, entities) -> {
+          for (ResultEntity entity : entities) {
+            if (entity instanceof SystemParticipantResult result) {
+              columns.add(
+                  receiver,
+                  result.getP().to(P_UNIT).getValue().doubleValue(),
+                  result.getQ().to(Q_UNIT).getValue().doubleValue());
+            }
+          }
+        });
+
+    return columns;
+  }
+
+  /**
+   * Adds a row.
+   *
+   * @param asset the result belongs to
+   * @param activePower in {@link #P_UNIT}
+   * @param reactivePower in {@link #Q_UNIT}
+   */
+  public void add(UUID asset, double activePower, double reactivePower) {
+    Integer index = assetIndices.get(asset);
+
+    if (index == null) {
+      index = assets.size();
+      assets.add(asset);
+      assetIndices.put(asset, index);
+    }
+
+    if (size == p.length) {
+      int newLength = Math.max(16, size + (size >> 1));
+      rowAssets = Arrays.copyOf(rowAssets, newLength);
+      p = Arrays.copyOf(p, newLength);
+      q = Arrays.copyOf(q, newLength);
+    }
+
+    rowAssets[size] = index;
+    p[size] = activePower;
+    q[size] = reactivePower;
+    size++;
+  }
+
+  /**
+   * Removes all rows, but keeps the asset table and the capacity of the columns. Therefore, the
+   * indices of the assets stay the same, if the columns are reused.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /** Returns the number of rows. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns true, if there are no rows. */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Returns the number of assets in the asset table. */
+  public int assetCount() {
+    return assets.size();
+  }
+
+  /**
+   * Returns the asset with the given index in the asset table.
+   *
+   * @param assetIndex index in the asset table
+   * @return the uuid of the asset
+   */
+  public UUID getAssetByIndex(int assetIndex) {
+    return assets.get(assetIndex);
+  }
+
+  /**
+   * Returns the index of the given asset in the asset table.
+   *
+   * @param asset uuid of the asset
+   * @return an option for the index
+   */
+  public OptionalInt indexOf(UUID asset) {
+    Integer index = assetIndices.get(asset);
+    return index == null ? OptionalInt.empty() : OptionalInt.of(index);
+  }
+
+  /** Returns the index into the asset table of the given row. */
+  public int getAssetIndex(int row) {
+    return rowAssets[checkRow(row)];
+  }
+
+  /** Returns the asset of the given row. */
+  public UUID getAsset(int row) {
+    return assets.get(getAssetIndex(row));
+  }
+
+  /** Returns the active power of the given row in {@link #P_UNIT}. */
+  public double getP(int row) {
+    return p[checkRow(row)];
+  }
+
+  /** Returns the reactive power of the given row in {@link #Q_UNIT}. */
+  public double getQ(int row) {
+    return q[checkRow(row)];
+  }
+
+  /** Returns a copy of the active power column in {@link #P_UNIT}. */
+  public double[] copyP() {
+    return Arrays.copyOf(p, size);
+  }
+
+  /** Returns a copy of the reactive power column in {@link #Q_UNIT}. */
+  public double[] copyQ() {
+    return Arrays.copyOf(q, size);
+  }
+
+  private int checkRow(int row) {
+    return Objects.checkIndex(row, size);
+  }
+
+  @Override
+  public String toString() {
+    return "PowerResultColumns{" + "rows=" + size + ", assets=" + assets.size() + '}';
+  }
+}
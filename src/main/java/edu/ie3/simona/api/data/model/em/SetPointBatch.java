@@ -0,0 +1,235 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.data.model.em;
+
+import edu.ie3.datamodel.models.StandardUnits;
+import edu.ie3.datamodel.models.value.PValue;
+import java.util.*;
+import javax.measure.Unit;
+import javax.measure.quantity.Power;
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * Aggregated em set points for many receivers as a primitive column. The row {@code i} belongs to
+ * the receiver at position {@code i} of the receiver list. Each row either contains an active power
+ * in {@link #P_UNIT} or no set point. Like {@link SetPoint.AggregatedSetPoint#AggregatedSetPoint(
+ * UUID)}, no set point signals SIMONA, that the current set point should be kept.
+ *
+ * <p>Compared to a map of {@link SetPoint.AggregatedSetPoint}s, no set point, option, {@link
+ * PValue} or quantity objects are created per receiver. A batch is copied, when it is sent or added
+ * to a container (see {@link #copy()}). Therefore, a batch can be reused for the same receivers
+ * with {@link #clear()}, after it was sent.
+ *
+ * <p>Example for sending set points to all controlled ems:
+ *
+ * <pre>{@code
+ * SetPointBatch batch = new SetPointBatch(connection.getControlledEms());
+ *
+ * for (int row = 0; row < batch.size(); row++) {
+ *   batch.setP(row, optimizedPower[row]);
+ * }
+ *
+ * connection.sendEmData(tick, batch);
+ * }</pre>
+ */
+public final class SetPointBatch {
+
+  /** Unit of the active power values. */
+  public static final Unit<Power> P_UNIT = StandardUnits.ACTIVE_POWER_IN;
+
+  /** Receivers of the set points, in the order of the rows. */
+  private final List<UUID> receivers;
+
+  /** Active power of each row in {@link #P_UNIT}. */
+  private final double[] p;
+
+  /** Rows without set point. */
+  private final BitSet noSetPoint;
+
+  /**
+   * Creates a batch, in which no row has a set point.
+   *
+   * @param receivers of the set points, in the order of the rows
+   */
+  public SetPointBatch(List<UUID> receivers) {
+    this.receivers = List.copyOf(receivers);
+    this.p = new double[receivers.size()];
+    this.noSetPoint = new BitSet(receivers.size());
+    noSetPoint.set(0, receivers.size());
+  }
+
+  /**
+   * Creates a batch, in which each row has a set point.
+   *
+   * <p>ATTENTION: The array is used without copying and must not be changed afterward, except
+   * through this batch.
+   *
+   * @param receivers of the set points, in the order of the rows
+   * @param p active power of each row in {@link #P_UNIT}
+   * @throws IllegalArgumentException if the number of values does not match the number of receivers
+   */
+  public SetPointBatch(List<UUID> receivers, double[] p) {
+    if (p.length != receivers.size()) {
+      throw new IllegalArgumentException(
+          "Expected active power for "
+              + receivers.size()
+              + " receivers, but got "
+              + p.length
+              + "!");
+    }
+
+    this.receivers = List.copyOf(receivers);
+    this.p = p;
+    this.noSetPoint = new BitSet(receivers.size());
+  }
+
+  private SetPointBatch(List<UUID> receivers, double[] p, BitSet noSetPoint) {
+    this.receivers = receivers;
+    this.p = p;
+    this.noSetPoint = noSetPoint;
+  }
+
+  /**
+   * Returns a copy of this batch, that is not affected by later changes of this batch. The
+   * receivers are shared, because they can not be changed.
+   */
+  public SetPointBatch copy() {
+    return new SetPointBatch(receivers, p.clone(), (BitSet) noSetPoint.clone());
+  }
+
+  /**
+   * Sets the active power of the given row.
+   *
+   * @param row index of the receiver
+   * @param activePower in {@link #P_UNIT}
+   */
+  public void setP(int row, double activePower) {
+    p[checkRow(row)] = activePower;
+    noSetPoint.clear(row);
+  }
+
+  /**
+   * Removes the set point of the given row. SIMONA keeps the current set point of the receiver.
+   *
+   * @param row index of the receiver
+   */
+  public void clearP(int row) {
+    noSetPoint.set(checkRow(row));
+  }
+
+  /** Removes the set points of all rows, so that this batch can be reused. */
+  public void clear() {
+    noSetPoint.set(0, p.length);
+  }
+
+  /** Returns the number of rows. */
+  public int size() {
+    return p.length;
+  }
+
+  /** Returns the number of rows with a set point. */
+  public int setPointCount() {
+    return p.length - noSetPoint.cardinality();
+  }
+
+  /** Returns the receivers, in the order of the rows. */
+  public List<UUID> getReceivers() {
+    return receivers;
+  }
+
+  /** Returns the receiver of the given row. */
+  public UUID getReceiver(int row) {
+    return receivers.get(checkRow(row));
+  }
+
+  /** Returns true, if the given row has a set point. */
+  public boolean hasSetPoint(int row) {
+    return !noSetPoint.get(checkRow(row));
+  }
+
+  /**
+   * Returns the active power of the given row.
+   *
+   * @param row index of the receiver
+   * @return the active power in {@link #P_UNIT} or {@link Double#NaN}, if the row has no set point
+   */
+  public double getP(int row) {
+    return hasSetPoint(row) ? p[row] : Double.NaN;
+  }
+
+  /**
+   * Returns a copy of the active power column in {@link #P_UNIT}. Rows without set point contain
+   * {@link Double#NaN}.
+   */
+  public double[] copyP() {
+    double[] copy = Arrays.copyOf(p, p.length);
+
+    for (int row = noSetPoint.nextSetBit(0); row >= 0; row = noSetPoint.nextSetBit(row + 1)) {
+      copy[row] = Double.NaN;
+    }
+
+    return copy;
+  }
+
+  /**
+   * Converts the rows into set points. This creates a {@link SetPoint.AggregatedSetPoint} for each
+   * row, therefore this method should only be used, if the set points are needed.
+   *
+   * @return a map: receiver to set point
+   */
+  public Map<UUID, SetPoint> toSetPoints() {
+    Map<UUID, SetPoint> setPoints = new HashMap<>((int) Math.ceil(p.length / 0.75));
+
+    for (int row = 0; row < p.length; row++) {
+      UUID receiver = receivers.get(row);
+
+      setPoints.put(
+          receiver,
+          noSetPoint.get(row)
+              ? new SetPoint.AggregatedSetPoint(receiver)
+              : new SetPoint.AggregatedSetPoint(receiver, Quantities.getQuantity(p[row], P_UNIT)));
+    }
+
+    return setPoints;
+  }
+
+  private int checkRow(int row) {
+    return Objects.checkIndex(row, p.length);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass()) return false;
+    SetPointBatch that = (SetPointBatch) o;
+    if (!receivers.equals(that.receivers) || !noSetPoint.equals(that.noSetPoint)) return false;
+
+    // only the rows with set point are compared, the values of the other rows are not used
+    for (int row = noSetPoint.nextClearBit(0);
+        row < p.length;
+        row = noSetPoint.nextClearBit(row + 1)) {
+      if (Double.compare(p[row], that.p[row]) != 0) return false;
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = Objects.hash(receivers, noSetPoint);
+
+    for (int row = noSetPoint.nextClearBit(0);
+        row < p.length;
+        row = noSetPoint.nextClearBit(row + 1)) {
+      hash = 31 * hash + Double.hashCode(p[row]);
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "SetPointBatch{" + "rows=" + p.length + ", setPoints=" + setPointCount() + '}';
+  }
+}
@@ -0,0 +1,17 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.exceptions;
+
+/**
+ * This exception is thrown, if a container could not be added to a bounded data queue, because the
+ * queue remained full.
+ */
+public class ExtDataQueueFullException extends RuntimeException {
+  public ExtDataQueueFullException(String message) {
+    super(message);
+  }
+}
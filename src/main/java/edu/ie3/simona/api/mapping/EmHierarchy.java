@@ -0,0 +1,326 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.mapping;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable index of the em hierarchy of an {@link ExtEntityMapping}. The hierarchy contains all
+ * ems and all participants, that are controlled by an em. All methods use the ordinals of the
+ * mapping (see {@link ExtEntityMapping#ordinalOf(java.util.UUID)}).
+ *
+ * <p>The index is stored as int arrays:
+ *
+ * <ul>
+ *   <li>the parent of each ordinal
+ *   <li>the children of each ordinal in a compressed form: the children of an ordinal are stored
+ *       consecutively, the start of each ordinal is stored in an offset array
+ *   <li>the topological level of each ordinal, roots have the level {@code 0}, and all members
+ *       ordered by level
+ *   <li>all members in depth-first pre-order, so that the subtree of each member is a consecutive
+ *       range
+ * </ul>
+ *
+ * <p>Example for an aggregation from the leaves to the roots, where all members of a level can be
+ * handled in parallel:
+ *
+ * <pre>{@code
+ * for (int level = hierarchy.levelCount() - 1; level >= 0; level--) {
+ *   for (int ordinal : hierarchy.atLevel(level)) {
+ *     int parent = hierarchy.parentOf(ordinal);
+ *     ...
+ *   }
+ * }
+ * }</pre>
+ */
+public final class EmHierarchy {
+  /** Value for no ordinal. */
+  public static final int NONE = -1;
+
+  private static final int[] EMPTY = new int[0];
+
+  /** An empty hierarchy. */
+  static final EmHierarchy EMPTY_HIERARCHY = new EmHierarchy(EMPTY, i -> false);
+
+  // indexed by ordinal
+  private final int[] parents;
+  private final int[] levels;
+  private final int[] childOffsets;
+  private final int[] preorderIndices;
+  private final int[] subtreeEnds;
+
+  // indexed by position
+  private final int[] children;
+  private final int[] roots;
+  private final int[] levelOffsets;
+  private final int[] levelOrder;
+  private final int[] preorder;
+
+  /**
+   * Creates a new hierarchy.
+   *
+   * @param parents the parent of each ordinal or {@link #NONE}
+   * @param isEm true for all ordinals of ems
+   * @throws IllegalArgumentException if the hierarchy contains a cycle
+   */
+  EmHierarchy(int[] parents, IntPredicate isEm) {
+    int size = parents.length;
+    this.parents = parents.clone();
+    this.levels = new int[size];
+    Arrays.fill(levels, NONE);
+
+    // count members and children
+    this.childOffsets = new int[size + 1];
+    int memberCount = 0;
+    int rootCount = 0;
+
+    for (int ordinal = 0; ordinal < size; ordinal++) {
+      int parent = parents[ordinal];
+
+      if (parent != NONE) {
+        childOffsets[parent + 1]++;
+        memberCount++;
+      } else if (isEm.test(ordinal)) {
+        memberCount++;
+        rootCount++;
+      }
+    }
+
+    for (int ordinal = 0; ordinal < size; ordinal++) {
+      childOffsets[ordinal + 1] += childOffsets[ordinal];
+    }
+
+    // fill children and roots
+    this.children = new int[childOffsets[size]];
+    this.roots = new int[rootCount];
+    int[] filled = new int[size];
+    int root = 0;
+
+    for (int ordinal = 0; ordinal < size; ordinal++) {
+      int parent = parents[ordinal];
+
+      if (parent != NONE) {
+        children[childOffsets[parent] + filled[parent]++] = ordinal;
+      } else if (isEm.test(ordinal)) {
+        roots[root++] = ordinal;
+      }
+    }
+
+    // breadth-first traversal, the members are ordered by level
+    this.levelOrder = new int[memberCount];
+    int levelCount = 0;
+    int[] offsets = new int[8];
+    int end = 0;
+
+    for (int r : roots) {
+      levels[r] = 0;
+      levelOrder[end++] = r;
+    }
+
+    for (int start = 0; start < end; ) {
+      if (levelCount + 1 >= offsets.length) {
+        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+      }
+
+      offsets[levelCount++] = start;
+      int levelEnd = end;
+
+      for (int i = start; i < levelEnd; i++) {
+        int ordinal = levelOrder[i];
+
+        for (int c = childOffsets[ordinal]; c < childOffsets[ordinal + 1]; c++) {
+          levels[children[c]] = levels[ordinal] + 1;
+          levelOrder[end++] = children[c];
+        }
+      }
+
+      start = levelEnd;
+    }
+
+    if (end != memberCount) {
+      throw new IllegalArgumentException("The em hierarchy contains a cycle!");
+    }
+
+    offsets[levelCount] = end;
+    this.levelOffsets = Arrays.copyOf(offsets, levelCount + 1);
+
+    // depth-first traversal in pre-order
+    this.preorder = new int[memberCount];
+    this.preorderIndices = new int[size];
+    this.subtreeEnds = new int[size];
+    Arrays.fill(preorderIndices, NONE);
+
+    int[] stack = new int[Math.max(1, levelCount)];
+    int[] nextChild = new int[Math.max(1, levelCount)];
+    int position = 0;
+
+    for (int r : roots) {
+      int depth = 0;
+      stack[0] = r;
+      nextChild[0] = childOffsets[r];
+      preorderIndices[r] = position;
+      preorder[position++] = r;
+
+      while (depth >= 0) {
+        int ordinal = stack[depth];
+
+        if (nextChild[depth] < childOffsets[ordinal + 1]) {
+          int child = children[nextChild[depth]++];
+          depth++;
+          stack[depth] = child;
+          nextChild[depth] = childOffsets[child];
+          preorderIndices[child] = position;
+          preorder[position++] = child;
+        } else {
+          subtreeEnds[ordinal] = position;
+          depth--;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the parent of each ordinal or {@link #NONE}. The returned array must not be changed.
+   */
+  int[] parents() {
+    return parents;
+  }
+
+  /** Returns the number of members of this hierarchy. */
+  public int size() {
+    return preorder.length;
+  }
+
+  /**
+   * Returns true, if the given ordinal is a member of this hierarchy.
+   *
+   * @param ordinal of an asset
+   * @return true for ems and for participants, that are controlled by an em
+   */
+  public boolean contains(int ordinal) {
+    return ordinal >= 0 && ordinal < levels.length && levels[ordinal] != NONE;
+  }
+
+  /** Returns the ordinals of all ems, that are not controlled by another em. */
+  public int[] roots() {
+    return roots.clone();
+  }
+
+  /**
+   * Returns the controlling em of the given ordinal.
+   *
+   * @param ordinal of a member
+   * @return the ordinal of the controlling em or {@link #NONE}, if the member is a root
+   */
+  public int parentOf(int ordinal) {
+    return parents[checkMember(ordinal)];
+  }
+
+  /**
+   * Returns the assets, that are directly controlled by the given em.
+   *
+   * @param ordinal of a member
+   * @return the ordinals of the children
+   */
+  public int[] childrenOf(int ordinal) {
+    checkMember(ordinal);
+    return Arrays.copyOfRange(children, childOffsets[ordinal], childOffsets[ordinal + 1]);
+  }
+
+  /** Returns the number of assets, that are directly controlled by the given em. */
+  public int childCount(int ordinal) {
+    checkMember(ordinal);
+    return childOffsets[ordinal + 1] - childOffsets[ordinal];
+  }
+
+  /**
+   * Returns the topological level of the given ordinal.
+   *
+   * @param ordinal of a member
+   * @return the number of ems above the member
+   */
+  public int levelOf(int ordinal) {
+    return levels[checkMember(ordinal)];
+  }
+
+  /** Returns the number of levels. */
+  public int levelCount() {
+    return levelOffsets.length - 1;
+  }
+
+  /**
+   * Returns all members of the given level. The members of one level do not depend on each other.
+   *
+   * @param level of the members
+   * @return the ordinals of the members
+   */
+  public int[] atLevel(int level) {
+    return Arrays.copyOfRange(levelOrder, levelOffsets[level], levelOffsets[level + 1]);
+  }
+
+  /**
+   * Returns the given member and all members below it in depth-first pre-order.
+   *
+   * @param ordinal of a member
+   * @return the ordinals of the subtree
+   */
+  public int[] subtree(int ordinal) {
+    checkMember(ordinal);
+    return Arrays.copyOfRange(preorder, preorderIndices[ordinal], subtreeEnds[ordinal]);
+  }
+
+  /**
+   * Returns the number of members in the subtree of the given member, including the member.
+   *
+   * @param ordinal of a member
+   * @return the size of the subtree
+   */
+  public int subtreeSize(int ordinal) {
+    checkMember(ordinal);
+    return subtreeEnds[ordinal] - preorderIndices[ordinal];
+  }
+
+  /**
+   * Checks in constant time, if a member is part of the subtree of another member.
+   *
+   * @param ancestor ordinal of the root of the subtree
+   * @param ordinal of the member to check
+   * @return true, if the member is the ancestor or below it
+   */
+  public boolean isInSubtree(int ancestor, int ordinal) {
+    checkMember(ancestor);
+
+    if (!contains(ordinal)) {
+      return false;
+    }
+
+    int index = preorderIndices[ordinal];
+    return index >= preorderIndices[ancestor] && index < subtreeEnds[ancestor];
+  }
+
+  private int checkMember(int ordinal) {
+    if (!contains(ordinal)) {
+      throw new IllegalArgumentException(
+          "The ordinal " + ordinal + " is not part of the em hierarchy!");
+    }
+
+    return ordinal;
+  }
+
+  @Override
+  public String toString() {
+    return "EmHierarchy{"
+        + "members="
+        + size()
+        + ", roots="
+        + roots.length
+        + ", levels="
+        + levelCount()
+        + '}';
+  }
+}
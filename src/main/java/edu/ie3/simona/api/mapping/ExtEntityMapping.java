@@ -7,141 +7,391 @@
 package edu.ie3.simona.api.mapping;
 
 import edu.ie3.datamodel.io.naming.timeseries.ColumnScheme;
+import edu.ie3.datamodel.models.input.AssetInput;
 import edu.ie3.datamodel.models.input.EmInput;
 import edu.ie3.datamodel.models.input.container.GridContainer;
+import edu.ie3.datamodel.models.input.system.SystemParticipantInput;
 import edu.ie3.datamodel.models.value.Value;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
-
-/** Contains the mapping between SIMONA uuid, the external id and the data type the assets hold */
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contains the mapping between SIMONA uuid, the external id and the data type the assets hold
+ *
+ * <p>Each uuid is interned and gets a dense int ordinal, that can be retrieved with {@link
+ * #ordinalOf(UUID)}. All other information is stored in arrays indexed by this ordinal. Therefore,
+ * no boxed integer or hash map entry objects are kept per asset. The maps and lists, that are
+ * derived from the tables, are created on the first call and cached.
+ *
+ * <p>A mapping, that is derived by {@code include(...)}, shares the tables of its parent until it
+ * needs to change them (copy-on-write). Including assets, that are already known, therefore only
+ * copies the flags, but neither the uuids nor the ids. A mapping, that is read from a file, uses
+ * the mapped file as its tables (see {@link #read(Path)}).
+ */
 public class ExtEntityMapping {
 
-  private final EnumMap<DataType, Set<UUID>> extAssets = new EnumMap<>(DataType.class);
-  private final Map<UUID, Class<? extends Value>> primaryMapping = new HashMap<>();
+  // bits of the flags, the first bits are used for the data types
+  private static final int GRID_ASSET = 1 << 4;
+  private static final int PARTICIPANT = 1 << 5;
+  private static final int EM = 1 << 6;
+  private static final int FLAG_COUNT = 7;
 
-  // asset lists
-  private final Set<UUID> gridAssets = new HashSet<>();
-  private final Set<UUID> participants = new HashSet<>();
-  private final Set<UUID> ems = new HashSet<>();
+  // bits of the tables, that are shared with another mapping
+  private static final int SHARED_UUIDS = 1;
+  private static final int SHARED_IDS = 1 << 1;
+  private static final int SHARED_ARRAYS = 1 << 2;
+  private static final int SHARED_ALL = SHARED_UUIDS | SHARED_IDS | SHARED_ARRAYS;
 
-  private final Map<UUID, String> uuidToId = new HashMap<>();
-  private final Map<String, UUID> idToUuid = new HashMap<>();
+  /** Ordinal of the uuids. */
+  private UuidIndex uuids;
 
-  public ExtEntityMapping(List<ExtEntityEntry> entries) {
-    entries.forEach(
-        entry -> {
-          DataType dataType = entry.dataType();
-          UUID uuid = entry.uuid();
-          String id = entry.id();
+  /** External ids indexed by ordinal. */
+  private IdIndex ids;
+
+  /** Flags indexed by ordinal: the external data types and the kind of asset. */
+  private ByteBuffer flags;
+
+  /** Index into {@link #valueClasses} plus one indexed by ordinal, {@code 0} means none. */
+  private ByteBuffer valueClassIndices;
+
+  /** Table of primary data classes. */
+  private final List<Class<? extends Value>> valueClasses;
+
+  /** The data types, for which external assets were added. */
+  private final EnumSet<DataType> dataTypes;
+
+  /** Number of assets per flag bit. */
+  private final int[] flagCounts;
+
+  /**
+   * Index of the em hierarchy, only available for mappings created from a grid. The hierarchy of a
+   * mapping, that is read from a file, is {@code null} until it is built from {@link #emParents}.
+   */
+  private volatile EmHierarchy emHierarchy;
+
+  /** The parents of the em hierarchy, that was read from a file, or {@code null}. */
+  private IntBuffer emParents;
 
-          entry
-              .columnScheme()
-              .ifPresent(scheme -> primaryMapping.put(uuid, scheme.getValueClass()));
+  /**
+   * The tables, that are shared with another mapping and need to be copied before they are changed.
+   */
+  private int shared;
 
-          // override mappings
-          uuidToId.put(uuid, id);
-          idToUuid.put(id, uuid);
+  /** Cached, unmodifiable results of {@link #getAssets(DataType)}. */
+  private final Map<DataType, List<UUID>> assetLists = new ConcurrentHashMap<>();
 
-          extAssets.computeIfAbsent(dataType, k -> new HashSet<>()).add(uuid);
-        });
+  /** Cached, unmodifiable result of {@link #getPrimaryMapping()}, or {@code null}. */
+  private volatile Map<UUID, Class<? extends Value>> primaryMapping;
+
+  /** Cached, unmodifiable result of {@link #getExtId2UuidMapping()}, or {@code null}. */
+  private volatile Map<String, UUID> extId2UuidMapping;
+
+  /** Cached, unmodifiable result of {@link #getExtUuid2IdMapping()}, or {@code null}. */
+  private volatile Map<UUID, String> extUuid2IdMapping;
+
+  public ExtEntityMapping(List<ExtEntityEntry> entries) {
+    this(entries.size());
+
+    entries.forEach(entry -> addExtAsset(addEntry(entry), entry.dataType()));
   }
 
   /**
    * Creates a mapping based on the uuids and ids found in the provided grid.
    *
+   * <p>The uuids and ids of the grid assets and participants are collected first, so that the
+   * mapping can be sized for them. The ems are resolved afterward by following the controlling ems
+   * upward. Each em is only visited once. The em hierarchy is indexed as well (see {@link
+   * #getEmHierarchy()}).
+   *
    * @param grid that contains some mapping information
    */
   public ExtEntityMapping(GridContainer grid) {
-    // handling of grid assets
-    grid.getRawGrid()
-        .allEntitiesAsList()
-        .forEach(
-            asset -> {
-              UUID uuid = asset.getUuid();
-              String id = asset.getId();
+    this(gridAssetsOf(grid), participantsOf(grid));
+  }
 
-              // add to mappings
-              uuidToId.put(uuid, id);
-              idToUuid.put(id, uuid);
+  /** Collects the uuids and ids of all grid assets of the given grid. */
+  private static EntityBatch gridAssetsOf(GridContainer grid) {
+    List<AssetInput> assets = grid.getRawGrid().allEntitiesAsList();
+    EntityBatch batch = new EntityBatch(assets.size());
 
-              // add to asset list
-              gridAssets.add(asset.getUuid());
-            });
+    for (AssetInput asset : assets) {
+      batch.add(asset);
+    }
 
-    Set<EmInput> emInputs = new HashSet<>();
+    return batch;
+  }
 
-    // handling of participants and ems
-    grid.getSystemParticipants()
-        .allEntitiesAsList()
-        .forEach(
-            participant -> {
-              UUID uuid = participant.getUuid();
-              String id = participant.getId();
+  /** Collects the uuids, ids and controlling ems of all participants of the given grid. */
+  private static EntityBatch participantsOf(GridContainer grid) {
+    List<SystemParticipantInput> participants = grid.getSystemParticipants().allEntitiesAsList();
+    EntityBatch batch = new EntityBatch(participants.size());
 
-              // add to mappings
-              uuidToId.put(uuid, id);
-              idToUuid.put(id, uuid);
+    for (SystemParticipantInput participant : participants) {
+      batch.addParticipant(participant);
+    }
 
-              // add to asset list
-              participants.add(participant.getUuid());
+    return batch;
+  }
 
-              // add ems
-              participant
-                  .getControllingEm()
-                  .ifPresent(
-                      em -> {
-                        UUID emUuid = em.getUuid();
-                        String emId = em.getId();
+  /**
+   * Creates a mapping from the collected grid assets and participants.
+   *
+   * @param gridAssets batch of all grid assets
+   * @param participants batch of all participants
+   */
+  private ExtEntityMapping(EntityBatch gridAssets, EntityBatch participants) {
+    this(gridAssets.size() + participants.size());
 
-                        // add to mappings
-                        uuidToId.put(emUuid, emId);
-                        idToUuid.put(emId, emUuid);
+    // handling of grid assets
+    for (int i = 0; i < gridAssets.size(); i++) {
+      addAsset(gridAssets.uuids.get(i), gridAssets.ids.get(i), GRID_ASSET);
+    }
 
-                        // add to asset list
-                        ems.add(emUuid);
-                        emInputs.add(em);
-                      });
-            });
+    // handling of participants
+    int[] participantOrdinals = new int[participants.size()];
 
-    handleEMs(emInputs)
-        .forEach(
-            em -> {
-              UUID uuid = em.getUuid();
-              String id = em.getId();
+    for (int i = 0; i < participants.size(); i++) {
+      participantOrdinals[i] =
+          addAsset(participants.uuids.get(i), participants.ids.get(i), PARTICIPANT);
+    }
 
-              uuidToId.put(uuid, id);
-              idToUuid.put(id, uuid);
+    // handling of ems, the controlling ems are followed upward until a visited em is found
+    List<EmInput> ems = new ArrayList<>();
+    Deque<EmInput> open = new ArrayDeque<>();
+    participants.controllingEms.stream().filter(Objects::nonNull).forEach(open::add);
 
-              ems.add(uuid);
-            });
-  }
+    while (!open.isEmpty()) {
+      EmInput em = open.poll();
+      int ordinal = uuids.indexOf(em.getUuid());
 
-  private Set<EmInput> handleEMs(Set<EmInput> givenSet) {
-    Set<EmInput> next = new HashSet<>();
+      if (ordinal < 0 || (flags.get(ordinal) & EM) == 0) {
+        addAsset(em.getUuid(), em.getId(), EM);
+        ems.add(em);
+        em.getControllingEm().ifPresent(open::add);
+      }
+    }
 
-    givenSet.forEach(em -> em.getControllingEm().ifPresent(next::add));
+    // em hierarchy, now that all ems have an ordinal
+    int[] parents = new int[uuids.size()];
+    Arrays.fill(parents, EmHierarchy.NONE);
 
-    Set<EmInput> result = new HashSet<>(givenSet);
+    for (int i = 0; i < participantOrdinals.length; i++) {
+      EmInput em = participants.controllingEms.get(i);
 
-    if (!next.isEmpty()) {
-      result.addAll(handleEMs(next));
+      if (em != null) {
+        parents[participantOrdinals[i]] = uuids.indexOf(em.getUuid());
+      }
+    }
+
+    for (EmInput em : ems) {
+      int ordinal = uuids.indexOf(em.getUuid());
+      em.getControllingEm().ifPresent(parent -> parents[ordinal] = uuids.indexOf(parent.getUuid()));
     }
 
-    return result;
+    this.emHierarchy = new EmHierarchy(parents, this::isEm);
   }
 
   /**
-   * Used to copy another mapping.
+   * Creates an empty mapping.
+   *
+   * @param expected number of uuids
+   */
+  private ExtEntityMapping(int expected) {
+    this.uuids = new UuidIndex(expected);
+    this.ids = new IdIndex(expected);
+    this.flags = ByteBuffer.allocate(expected);
+    this.valueClassIndices = ByteBuffer.allocate(expected);
+    this.valueClasses = new ArrayList<>();
+    this.dataTypes = EnumSet.noneOf(DataType.class);
+    this.flagCounts = new int[FLAG_COUNT];
+    this.emHierarchy = EmHierarchy.EMPTY_HIERARCHY;
+  }
+
+  /**
+   * Used to copy another mapping. The large tables are shared with the other mapping and only
+   * copied, if one of the mappings changes them.
    *
    * @param mapping that should be copied
    */
   private ExtEntityMapping(ExtEntityMapping mapping) {
-    this.extAssets.putAll(mapping.extAssets);
-    this.primaryMapping.putAll(mapping.primaryMapping);
-    this.gridAssets.addAll(mapping.gridAssets);
-    this.participants.addAll(mapping.participants);
-    this.ems.addAll(mapping.ems);
-    this.uuidToId.putAll(mapping.uuidToId);
-    this.idToUuid.putAll(mapping.idToUuid);
+    mapping.shared = SHARED_ALL;
+
+    this.uuids = mapping.uuids;
+    this.ids = mapping.ids;
+    this.flags = mapping.flags;
+    this.valueClassIndices = mapping.valueClassIndices;
+    this.shared = SHARED_ALL;
+
+    this.valueClasses = new ArrayList<>(mapping.valueClasses);
+    this.dataTypes = EnumSet.copyOf(mapping.dataTypes);
+    this.flagCounts = mapping.flagCounts.clone();
+    this.emHierarchy = mapping.emHierarchy;
+    this.emParents = mapping.emParents;
+  }
+
+  /**
+   * Reads a mapping from a file, that was written by {@link #write(Path)}. The file is mapped
+   * read-only into memory and the tables of the returned mapping are views of the mapped file.
+   * Therefore, reading takes constant time and the pages of the file are shared with other
+   * processes, that read the same file. Neither the uuids nor the ids are rehashed. An id is only
+   * decoded, when it is requested, and the em hierarchy is built on its first use. The mapped file
+   * is released, when the mapping is garbage collected.
+   *
+   * <p>The mapping can be changed like any other mapping. A table is copied onto the heap, before
+   * it is changed for the first time (copy-on-write).
+   *
+   * <p>Only the sizes of the tables are checked on reading. An entry of a corrupted file may fail,
+   * when it is used.
+   *
+   * @param file to read
+   * @return the mapping
+   * @throws IOException if the file could not be read or is not a valid mapping file
+   */
+  public static ExtEntityMapping read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("The mapping file " + file + " is too large!");
+      }
+
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      if (buffer.remaining() < 2 * Integer.BYTES
+          || buffer.getInt() != MappingFile.MAGIC
+          || buffer.getInt() != MappingFile.VERSION) {
+        throw new IOException("The file " + file + " is not a supported mapping file!");
+      }
+
+      return new ExtEntityMapping(buffer);
+    } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new IOException("The mapping file " + file + " is corrupted!", e);
+    }
+  }
+
+  /**
+   * Reads the tables of a mapping as views of the given buffer.
+   *
+   * @param buffer positioned after the header of the file
+   * @throws IOException if a primary data class is unknown
+   */
+  private ExtEntityMapping(ByteBuffer buffer) throws IOException {
+    this.uuids = UuidIndex.readFrom(buffer);
+    int size = uuids.size();
+
+    this.ids = IdIndex.readFrom(buffer, size);
+    this.flags = MappingFile.readBytes(buffer);
+    this.valueClassIndices = MappingFile.readBytes(buffer);
+
+    if (flags.limit() != size || valueClassIndices.limit() != size) {
+      throw new IllegalArgumentException("The tables have different sizes!");
+    }
+
+    // the views are read-only, they are copied before they are changed
+    this.shared = SHARED_ALL;
+
+    int valueClassCount = buffer.getInt();
+    this.valueClasses = new ArrayList<>(valueClassCount);
+
+    for (int i = 0; i < valueClassCount; i++) {
+      String name = MappingFile.readString(buffer);
+
+      try {
+        // the class is not initialized, before it is known to be a value class
+        Class<?> valueClass = Class.forName(name, false, ExtEntityMapping.class.getClassLoader());
+        valueClasses.add(valueClass.asSubclass(Value.class));
+      } catch (ClassNotFoundException | ClassCastException e) {
+        throw new IOException("Unknown primary data class " + name + "!", e);
+      }
+    }
+
+    this.dataTypes = EnumSet.noneOf(DataType.class);
+    int dataTypeBits = buffer.getInt();
+
+    for (DataType dataType : DataType.values()) {
+      if ((dataTypeBits & bit(dataType)) != 0) {
+        dataTypes.add(dataType);
+      }
+    }
+
+    IntBuffer counts = MappingFile.readInts(buffer);
+
+    if (counts.limit() != FLAG_COUNT) {
+      throw new IllegalArgumentException("The flag counts have a wrong size!");
+    }
+
+    this.flagCounts = new int[FLAG_COUNT];
+    counts.get(flagCounts);
+
+    IntBuffer parents = MappingFile.readInts(buffer);
+
+    if (parents.limit() == 0) {
+      this.emHierarchy = EmHierarchy.EMPTY_HIERARCHY;
+    } else if (parents.limit() == size) {
+      this.emParents = parents;
+    } else {
+      throw new IllegalArgumentException("The em hierarchy has a wrong size!");
+    }
+  }
+
+  /**
+   * Writes this mapping to a binary file, that can be read by {@link #read(Path)}. The file
+   * contains the uuids as pairs of longs, a pool of the ids, the flags with the data types of each
+   * uuid, the ordinals of the primary data classes and the em hierarchy. All hash tables and the
+   * number of assets per flag are written as well, so that the file can be used without reading
+   * each entry. An existing file is replaced.
+   *
+   * @param file to write to
+   * @throws IOException if the file could not be written
+   */
+  public void write(Path file) throws IOException {
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+      int size = uuids.size();
+
+      out.writeInt(MappingFile.MAGIC);
+      out.writeInt(MappingFile.VERSION);
+
+      uuids.writeTo(out);
+      ids.writeTo(out, size);
+      MappingFile.writeBytes(out, flags, size);
+      MappingFile.writeBytes(out, valueClassIndices, size);
+
+      out.writeInt(valueClasses.size());
+
+      for (Class<? extends Value> valueClass : valueClasses) {
+        MappingFile.writeString(out, valueClass.getName());
+      }
+
+      int dataTypeBits = 0;
+
+      for (DataType dataType : dataTypes) {
+        dataTypeBits |= bit(dataType);
+      }
+
+      out.writeInt(dataTypeBits);
+      MappingFile.writeInts(out, IntBuffer.wrap(flagCounts), FLAG_COUNT);
+
+      // the hierarchy is written with the parents of all ordinals and rebuilt on first use after
+      // reading, ordinals that were included after the hierarchy was built have no parent
+      int[] parents = getEmHierarchy().parents();
+
+      if (parents.length == 0) {
+        MappingFile.writeInts(out, IntBuffer.wrap(parents), 0);
+      } else {
+        int[] padded = Arrays.copyOf(parents, size);
+        Arrays.fill(padded, parents.length, size, EmHierarchy.NONE);
+        MappingFile.writeInts(out, IntBuffer.wrap(padded), size);
+      }
+    }
   }
 
   /**
@@ -178,8 +428,10 @@ public class ExtEntityMapping {
   protected void includeIds(
       DataType dataType, List<UUID> included, Optional<ColumnScheme> schemeOption) {
     schemeOption.ifPresent(
-        scheme -> included.forEach(uuid -> primaryMapping.put(uuid, scheme.getValueClass())));
+        scheme ->
+            included.forEach(uuid -> setValueClass(ordinalFor(uuid), scheme.getValueClass())));
     addExtEntities(dataType, included);
+    clearCaches();
   }
 
   /**
@@ -190,52 +442,236 @@ public class ExtEntityMapping {
    * @param included a list of entries
    */
   private void includeEntries(List<ExtEntityEntry> included) {
-    included.forEach(
-        entry -> {
-          DataType dataType = entry.dataType();
-          UUID uuid = entry.uuid();
-          String id = entry.id();
+    // each entry is added for its own data type, in a single pass over all entries
+    included.forEach(entry -> addExtEntity(addEntry(entry), entry.dataType()));
+    clearCaches();
+  }
 
-          entry
-              .columnScheme()
-              .ifPresent(scheme -> primaryMapping.put(uuid, scheme.getValueClass()));
+  /** Clears the cached maps and lists, after the tables were changed. */
+  private void clearCaches() {
+    assetLists.clear();
+    primaryMapping = null;
+    extId2UuidMapping = null;
+    extUuid2IdMapping = null;
+  }
 
-          // override mappings
-          uuidToId.put(uuid, id);
-          idToUuid.put(id, uuid);
+  /**
+   * Adds the uuid, the id and the primary data class of the given entry.
+   *
+   * <p>Note: This method can override the existing uuid-id mapping!
+   *
+   * @param entry to add
+   * @return the ordinal of the entry
+   */
+  private int addEntry(ExtEntityEntry entry) {
+    int ordinal = ordinalFor(entry.uuid());
+
+    entry.columnScheme().ifPresent(scheme -> setValueClass(ordinal, scheme.getValueClass()));
 
-          addExtEntities(dataType, included.stream().map(ExtEntityEntry::uuid).toList());
-        });
+    // override mappings
+    putId(ordinal, entry.id());
+    return ordinal;
   }
 
   /**
-   * Method to handle adding the entities to the {@link #extAssets} map.
+   * Method to handle adding the entities to the external assets.
    *
    * @param dataType for which assets are added
    * @param included a list of included uuids
    */
   private void addExtEntities(DataType dataType, List<UUID> included) {
     if (dataType == DataType.PRIMARY_RESULT) {
-      extAssets.computeIfAbsent(DataType.PRIMARY, d -> new HashSet<>()).addAll(included);
-      extAssets.computeIfAbsent(DataType.RESULT, d -> new HashSet<>()).addAll(included);
+      dataTypes.add(DataType.PRIMARY);
+      dataTypes.add(DataType.RESULT);
     } else {
-      extAssets.computeIfAbsent(dataType, k -> new HashSet<>()).addAll(included);
+      dataTypes.add(dataType);
+    }
+
+    included.forEach(uuid -> addExtEntity(ordinalFor(uuid), dataType));
+  }
+
+  /**
+   * Marks the asset with the given ordinal as an external asset of the given data type. Assets of
+   * the data type {@link DataType#PRIMARY_RESULT} are added as {@link DataType#PRIMARY} and {@link
+   * DataType#RESULT} assets.
+   */
+  private void addExtEntity(int ordinal, DataType dataType) {
+    if (dataType == DataType.PRIMARY_RESULT) {
+      addExtAsset(ordinal, DataType.PRIMARY);
+      addExtAsset(ordinal, DataType.RESULT);
+    } else {
+      addExtAsset(ordinal, dataType);
+    }
+  }
+
+  /** Adds a grid asset, participant or em with the given flag and returns its ordinal. */
+  private int addAsset(UUID uuid, String id, int flag) {
+    int ordinal = ordinalFor(uuid);
+
+    // add to mappings
+    putId(ordinal, id);
+
+    // add to asset list
+    setFlag(ordinal, flag);
+    return ordinal;
+  }
+
+  /** Marks the asset with the given ordinal as an external asset of the given data type. */
+  private void addExtAsset(int ordinal, DataType dataType) {
+    dataTypes.add(dataType);
+    setFlag(ordinal, bit(dataType));
+  }
+
+  private void setFlag(int ordinal, int flag) {
+    if (ordinal < flags.limit() && (flags.get(ordinal) & flag) != 0) {
+      // nothing changes, therefore shared arrays do not need to be copied
+      return;
+    }
+
+    ensureCapacity(ordinal);
+
+    if ((flags.get(ordinal) & flag) == 0) {
+      flags.put(ordinal, (byte) (flags.get(ordinal) | flag));
+      flagCounts[Integer.numberOfTrailingZeros(flag)]++;
     }
   }
 
+  /** Returns the number of assets with the given flag. */
+  private int count(int flag) {
+    return flagCounts[Integer.numberOfTrailingZeros(flag)];
+  }
+
+  private void setValueClass(int ordinal, Class<? extends Value> valueClass) {
+    int index = valueClasses.indexOf(valueClass);
+
+    if (index >= 0
+        && ordinal < valueClassIndices.limit()
+        && valueClassIndices.get(ordinal) == index + 1) {
+      return;
+    }
+
+    ensureCapacity(ordinal);
+
+    if (index < 0) {
+      if (valueClasses.size() == Byte.MAX_VALUE) {
+        throw new IllegalStateException(
+            "A mapping can only hold " + Byte.MAX_VALUE + " different primary data classes!");
+      }
+
+      index = valueClasses.size();
+      valueClasses.add(valueClass);
+    }
+
+    valueClassIndices.put(ordinal, (byte) (index + 1));
+  }
+
+  /**
+   * Ensures, that the arrays can hold the given ordinal and are not shared with another mapping or
+   * a mapped file.
+   */
+  private void ensureCapacity(int ordinal) {
+    int length = flags.limit();
+
+    if (ordinal >= length) {
+      int newLength = Math.max(ordinal + 1, length + (length >> 1));
+      flags = copyOf(flags, newLength);
+      valueClassIndices = copyOf(valueClassIndices, newLength);
+      shared &= ~SHARED_ARRAYS;
+    } else if ((shared & SHARED_ARRAYS) != 0) {
+      flags = copyOf(flags, length);
+      valueClassIndices = copyOf(valueClassIndices, length);
+      shared &= ~SHARED_ARRAYS;
+    }
+  }
+
+  /** Copies the given array into a new array on the heap with the given length. */
+  private static ByteBuffer copyOf(ByteBuffer values, int newLength) {
+    ByteBuffer copy = ByteBuffer.allocate(newLength);
+    copy.put(0, values, 0, Math.min(values.limit(), newLength));
+    return copy;
+  }
+
+  /** Returns true, if the asset with the given ordinal is an em. */
+  private boolean isEm(int ordinal) {
+    return (flags.get(ordinal) & EM) != 0;
+  }
+
+  /**
+   * Returns the ordinal of the given uuid. Unknown uuids are added. The uuids are only copied, if
+   * they are shared with another mapping and the uuid is unknown.
+   */
+  private int ordinalFor(UUID uuid) {
+    int ordinal = uuids.indexOf(uuid);
+
+    if (ordinal >= 0) {
+      return ordinal;
+    }
+
+    if ((shared & SHARED_UUIDS) != 0) {
+      uuids = uuids.copy();
+      shared &= ~SHARED_UUIDS;
+    }
+
+    return uuids.add(uuid);
+  }
+
+  /**
+   * Sets the id of the given ordinal. The ids are only copied, if they are shared with another
+   * mapping and the id of the ordinal changes.
+   */
+  private void putId(int ordinal, String id) {
+    if (id.equals(ids.get(ordinal)) && ids.isOwner(ordinal)) {
+      return;
+    }
+
+    if ((shared & SHARED_IDS) != 0) {
+      ids = ids.copy();
+      shared &= ~SHARED_IDS;
+    }
+
+    ids.put(ordinal, id);
+  }
+
+  private static int bit(DataType dataType) {
+    return 1 << dataType.ordinal();
+  }
+
   /** Returns the data types of this mapping. */
   public Set<DataType> getDataTypes() {
-    return extAssets.keySet();
+    return Collections.unmodifiableSet(dataTypes);
   }
 
-  /** Returns a map: uuid to primary data class. */
+  /** Returns a map: uuid to primary data class. The map is created on the first call and cached. */
   public Map<UUID, Class<? extends Value>> getPrimaryMapping() {
+    Map<UUID, Class<? extends Value>> cached = primaryMapping;
+
+    if (cached == null) {
+      cached = collectPrimaryMapping();
+      primaryMapping = cached;
+    }
+
+    return cached;
+  }
+
+  private Map<UUID, Class<? extends Value>> collectPrimaryMapping() {
+    Map<UUID, Class<? extends Value>> primaryMapping = new HashMap<>();
+
+    for (int ordinal = 0; ordinal < uuids.size(); ordinal++) {
+      int index = valueClassIndices.get(ordinal);
+
+      if (index != 0) {
+        primaryMapping.put(uuids.get(ordinal), valueClasses.get(index - 1));
+      }
+    }
+
     return Collections.unmodifiableMap(primaryMapping);
   }
 
   /** Returns a list of all external assets. */
   public List<UUID> getAllAssets() {
-    return extAssets.values().stream().flatMap(Collection::stream).toList();
+    List<UUID> assets = new ArrayList<>();
+    dataTypes.forEach(dataType -> collect(bit(dataType), assets));
+    return assets;
   }
 
   /**
@@ -244,49 +680,164 @@ public class ExtEntityMapping {
    * to filter the grid assets. If no grid assets are present, only the external assets will be
    * returned.
    *
+   * <p>The list is computed once per data type and cached until external assets are included into
+   * this mapping. Therefore, repeated calls do not depend on the number of assets.
+   *
    * @param dataType for which assets should be returned
-   * @return a list of uuids
+   * @return an unmodifiable list of uuids
    */
   public List<UUID> getAssets(DataType dataType) {
-    List<UUID> uuids =
+    return assetLists.computeIfAbsent(dataType, this::collectAssets);
+  }
+
+  private List<UUID> collectAssets(DataType dataType) {
+    int[] kinds =
         switch (dataType) {
-          case PRIMARY, PRIMARY_RESULT -> new ArrayList<>(participants);
-          case RESULT -> {
-            List<UUID> res = new ArrayList<>();
-            res.addAll(gridAssets);
-            res.addAll(participants);
-            res.addAll(ems);
-            yield res;
-          }
-          case EM -> new ArrayList<>(ems);
+          case PRIMARY, PRIMARY_RESULT -> new int[] {PARTICIPANT};
+          case RESULT -> new int[] {GRID_ASSET, PARTICIPANT, EM};
+          case EM -> new int[] {EM};
         };
 
-    if (uuids.isEmpty()) {
-      if (dataType == DataType.PRIMARY_RESULT) {
-        List<UUID> res = new ArrayList<>();
-        res.addAll(extAssets.getOrDefault(DataType.PRIMARY, Collections.emptySet()));
-        res.addAll(extAssets.getOrDefault(DataType.RESULT, Collections.emptySet()));
+    // the external data types, that are used
+    DataType[] extTypes =
+        dataType == DataType.PRIMARY_RESULT
+            ? new DataType[] {DataType.PRIMARY, DataType.RESULT}
+            : new DataType[] {dataType};
 
-        return res;
-      } else {
-        return new ArrayList<>(extAssets.getOrDefault(dataType, Collections.emptySet()));
-      }
+    int gridCount = 0;
 
-    } else {
-      List<UUID> ext = new ArrayList<>();
+    for (int kind : kinds) {
+      gridCount += count(kind);
+    }
 
-      if (dataType == DataType.PRIMARY_RESULT) {
-        ext.addAll(extAssets.getOrDefault(DataType.PRIMARY, Collections.emptySet()));
-        ext.addAll(extAssets.getOrDefault(DataType.RESULT, Collections.emptySet()));
-      } else {
-        ext.addAll(extAssets.getOrDefault(dataType, Collections.emptySet()));
+    int extMask = 0;
+    int extCount = 0;
+
+    for (DataType extType : extTypes) {
+      extMask |= bit(extType);
+      extCount += count(bit(extType));
+    }
+
+    List<UUID> uuidList = new ArrayList<>();
+
+    if (gridCount == 0) {
+      for (DataType extType : extTypes) {
+        collect(bit(extType), uuidList);
       }
-      if (ext.isEmpty()) {
-        return uuids;
-      } else {
-        return uuids.stream().filter(ext::contains).toList();
+    } else {
+      for (int kind : kinds) {
+        // in case external entities are present, they are used to filter the grid assets
+        collect(kind, extCount == 0 ? 0 : extMask, uuidList);
       }
     }
+
+    return Collections.unmodifiableList(uuidList);
+  }
+
+  /** Adds the uuids of all assets, that have the given flag, to the given list. */
+  private void collect(int flag, List<UUID> uuidList) {
+    collect(flag, 0, uuidList);
+  }
+
+  /**
+   * Adds the uuids of all assets, that have the given flag and at least one of the given filter
+   * flags, to the given list. If the filter is zero, no assets are filtered.
+   */
+  private void collect(int flag, int filter, List<UUID> uuidList) {
+    for (int ordinal = 0; ordinal < uuids.size(); ordinal++) {
+      int assetFlags = flags.get(ordinal);
+
+      if ((assetFlags & flag) != 0 && (filter == 0 || (assetFlags & filter) != 0)) {
+        uuidList.add(uuids.get(ordinal));
+      }
+    }
+  }
+
+  /** Returns the uuids of all grid assets. */
+  Set<UUID> getGridAssets() {
+    return collectSet(GRID_ASSET);
+  }
+
+  /** Returns the uuids of all participants. */
+  Set<UUID> getParticipants() {
+    return collectSet(PARTICIPANT);
+  }
+
+  /** Returns the uuids of all ems. */
+  Set<UUID> getEms() {
+    return collectSet(EM);
+  }
+
+  private Set<UUID> collectSet(int flag) {
+    List<UUID> uuidList = new ArrayList<>();
+    collect(flag, uuidList);
+    return new HashSet<>(uuidList);
+  }
+
+  /**
+   * Returns the index of the em hierarchy. The hierarchy is only known, if this mapping was created
+   * from a grid. Otherwise, an empty hierarchy is returned.
+   */
+  public EmHierarchy getEmHierarchy() {
+    EmHierarchy hierarchy = emHierarchy;
+
+    if (hierarchy == null) {
+      int[] parents = new int[emParents.limit()];
+      emParents.get(0, parents);
+      hierarchy = new EmHierarchy(parents, this::isEm);
+      emHierarchy = hierarchy;
+    }
+
+    return hierarchy;
+  }
+
+  /** Returns the number of uuids in this mapping. */
+  public int size() {
+    return uuids.size();
+  }
+
+  /**
+   * Returns the ordinal of the given uuid. The ordinals are dense, i.e. they range from {@code 0}
+   * to {@code size() - 1}, and can be used as cheap handle of an asset, e.g. as an index into an
+   * array.
+   *
+   * @param uuid of the asset
+   * @return the ordinal or {@code -1}, if no mapping exists
+   */
+  public int ordinalOf(UUID uuid) {
+    return uuids.indexOf(uuid);
+  }
+
+  /**
+   * Returns the ordinal of the asset with the given id.
+   *
+   * @param id of the asset
+   * @return the ordinal or {@code -1}, if no mapping exists
+   */
+  public int ordinalOf(String id) {
+    return ids.indexOf(id);
+  }
+
+  /**
+   * Returns the uuid of the given ordinal.
+   *
+   * @param ordinal of the asset
+   * @return the uuid
+   * @throws IndexOutOfBoundsException if the ordinal is out of range
+   */
+  public UUID uuidOf(int ordinal) {
+    return uuids.get(ordinal);
+  }
+
+  /**
+   * Returns the id of the given ordinal.
+   *
+   * @param ordinal of the asset
+   * @return the id
+   * @throws IndexOutOfBoundsException if the ordinal is out of range
+   */
+  public String idOf(int ordinal) {
+    return ids.get(Objects.checkIndex(ordinal, uuids.size()));
   }
 
   /**
@@ -296,7 +847,7 @@ public class ExtEntityMapping {
    * @return {@code true}, if a mapping is found.
    */
   public boolean contains(String id) {
-    return idToUuid.containsKey(id);
+    return ids.indexOf(id) >= 0;
   }
 
   /**
@@ -306,7 +857,8 @@ public class ExtEntityMapping {
    * @return {@code true}, if a mapping is found.
    */
   public boolean contains(UUID uuid) {
-    return uuidToId.containsKey(uuid);
+    int ordinal = uuids.indexOf(uuid);
+    return ordinal >= 0 && ids.get(ordinal) != null;
   }
 
   /**
@@ -316,7 +868,8 @@ public class ExtEntityMapping {
    * @return the uuid or {@code null}, if no mapping exists
    */
   public UUID from(String id) {
-    return idToUuid.get(id);
+    int ordinal = ids.indexOf(id);
+    return ordinal < 0 ? null : uuids.get(ordinal);
   }
 
   /**
@@ -326,7 +879,8 @@ public class ExtEntityMapping {
    * @return the uuid or {@code null}, if no mapping exists
    */
   public String from(UUID uuid) {
-    return uuidToId.get(uuid);
+    int ordinal = uuids.indexOf(uuid);
+    return ordinal < 0 ? null : ids.get(ordinal);
   }
 
   /**
@@ -336,7 +890,7 @@ public class ExtEntityMapping {
    * @return an option for an uuid or {@link Optional#empty()}, if no mapping exists
    */
   public Optional<UUID> get(String id) {
-    return Optional.ofNullable(idToUuid.get(id));
+    return Optional.ofNullable(from(id));
   }
 
   /**
@@ -346,16 +900,92 @@ public class ExtEntityMapping {
    * @return an option for an id or {@link Optional#empty()}, if no mapping exists
    */
   public Optional<String> get(UUID uuid) {
-    return Optional.ofNullable(uuidToId.get(uuid));
+    return Optional.ofNullable(from(uuid));
   }
 
-  /** Returns the full mapping external id to SIMONA uuid. */
+  /**
+   * Returns the full mapping external id to SIMONA uuid. The map is created on the first call and
+   * cached.
+   */
   public Map<String, UUID> getExtId2UuidMapping() {
+    Map<String, UUID> cached = extId2UuidMapping;
+
+    if (cached == null) {
+      cached = collectExtId2UuidMapping();
+      extId2UuidMapping = cached;
+    }
+
+    return cached;
+  }
+
+  private Map<String, UUID> collectExtId2UuidMapping() {
+    Map<String, UUID> idToUuid = new HashMap<>();
+
+    for (int ordinal = 0; ordinal < uuids.size(); ordinal++) {
+      if (ids.isOwner(ordinal)) {
+        idToUuid.put(ids.get(ordinal), uuids.get(ordinal));
+      }
+    }
+
     return Collections.unmodifiableMap(idToUuid);
   }
 
-  /** Returns the full mapping SIMONA uuid to external id. */
+  /**
+   * Returns the full mapping SIMONA uuid to external id. The map is created on the first call and
+   * cached.
+   */
   public Map<UUID, String> getExtUuid2IdMapping() {
+    Map<UUID, String> cached = extUuid2IdMapping;
+
+    if (cached == null) {
+      cached = collectExtUuid2IdMapping();
+      extUuid2IdMapping = cached;
+    }
+
+    return cached;
+  }
+
+  private Map<UUID, String> collectExtUuid2IdMapping() {
+    Map<UUID, String> uuidToId = new HashMap<>();
+
+    for (int ordinal = 0; ordinal < uuids.size(); ordinal++) {
+      String id = ids.get(ordinal);
+
+      if (id != null) {
+        uuidToId.put(uuids.get(ordinal), id);
+      }
+    }
+
     return Collections.unmodifiableMap(uuidToId);
   }
+
+  /** Uuids and ids of assets, that are collected from a grid. */
+  private static final class EntityBatch {
+
+    private final List<UUID> uuids;
+    private final List<String> ids;
+
+    /** The controlling em of each participant, or {@code null}. */
+    private final List<EmInput> controllingEms;
+
+    private EntityBatch(int expected) {
+      this.uuids = new ArrayList<>(expected);
+      this.ids = new ArrayList<>(expected);
+      this.controllingEms = new ArrayList<>(expected);
+    }
+
+    private void add(AssetInput asset) {
+      uuids.add(asset.getUuid());
+      ids.add(asset.getId());
+    }
+
+    private void addParticipant(SystemParticipantInput participant) {
+      add(participant);
+      controllingEms.add(participant.getControllingEm().orElse(null));
+    }
+
+    private int size() {
+      return uuids.size();
+    }
+  }
 }
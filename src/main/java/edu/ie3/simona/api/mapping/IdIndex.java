@@ -0,0 +1,327 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.mapping;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Column of external ids, that is indexed by the ordinals of an {@link UuidIndex}, together with an
+ * open-addressing hash table to look up the ordinal of an id.
+ *
+ * <p>The slots of the hash table contain ordinals. A slot matches an id, if the id of its ordinal
+ * is equal to the id. If the id of an ordinal is changed, the slot of the old id no longer matches
+ * and is skipped by later lookups.
+ *
+ * <p>An index, that is read by {@link #readFrom(ByteBuffer, int)}, keeps the ids as UTF-8 bytes in
+ * a view of the read buffer and is read-only. An id is only decoded, when it is requested. A lookup
+ * compares the encoded id with the bytes. The index needs to be copied, before ids can be put.
+ */
+final class IdIndex {
+  private static final int EMPTY = -1;
+  private static final int MIN_SLOTS = 16;
+
+  /** Ids, indexed by ordinal, or {@code null}, if the ids are read from a buffer. */
+  private String[] ids;
+
+  /** Pool of the UTF-8 bytes of all ids, only used, if the ids are read from a buffer. */
+  private final ByteBuffer pool;
+
+  /**
+   * Start of the bytes of each ordinal in the {@link #pool} followed by the end of the pool. The
+   * start of an ordinal without id is stored as its complement. Only used, if the ids are read from
+   * a buffer.
+   */
+  private final IntBuffer offsets;
+
+  /** Hash table of ordinals, the length is a power of two. */
+  private IntBuffer slots;
+
+  /** Number of used slots. */
+  private int usedSlots;
+
+  /**
+   * Creates an empty index.
+   *
+   * @param expected number of ids, that can be added without growing
+   */
+  IdIndex(int expected) {
+    this(new String[expected], newSlots(slotsFor(expected)), 0);
+  }
+
+  /** Creates an index on the heap. */
+  private IdIndex(String[] ids, IntBuffer slots, int usedSlots) {
+    this.ids = ids;
+    this.pool = null;
+    this.offsets = null;
+    this.slots = slots;
+    this.usedSlots = usedSlots;
+  }
+
+  /**
+   * Creates an index of the given encoded ids and hash table. Only the sizes are checked, so that
+   * no entry needs to be read. An invalid ordinal in the table fails on lookup.
+   */
+  private IdIndex(ByteBuffer pool, IntBuffer offsets, IntBuffer slots, int usedSlots) {
+    if (Integer.bitCount(slots.limit()) != 1
+        || usedSlots < 0
+        || usedSlots * 2L > slots.limit()
+        || offsets.get(offsets.limit() - 1) != pool.limit()) {
+      throw new IllegalArgumentException("Invalid id index!");
+    }
+
+    this.ids = null;
+    this.pool = pool;
+    this.offsets = offsets;
+    this.slots = slots;
+    this.usedSlots = usedSlots;
+  }
+
+  /** Returns a copy of this index on the heap, that can be changed independently. */
+  IdIndex copy() {
+    String[] copiedIds;
+
+    if (ids != null) {
+      copiedIds = ids.clone();
+    } else {
+      copiedIds = new String[offsets.limit() - 1];
+      Arrays.setAll(copiedIds, this::decode);
+    }
+
+    int[] copiedSlots = new int[slots.limit()];
+    slots.get(0, copiedSlots);
+    return new IdIndex(copiedIds, IntBuffer.wrap(copiedSlots), usedSlots);
+  }
+
+  /**
+   * Writes the ids of the first ordinals and the hash table, so that the index can be read without
+   * rehashing. The ids are written as one pool of UTF-8 bytes, together with the offset of each id
+   * in the pool.
+   *
+   * @param out to write to
+   * @param size number of ordinals
+   * @throws IOException if the index could not be written
+   */
+  void writeTo(DataOutputStream out, int size) throws IOException {
+    int[] starts = new int[size + 1];
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream(size * 16);
+
+    for (int ordinal = 0; ordinal < size; ordinal++) {
+      String id = get(ordinal);
+
+      if (id == null) {
+        starts[ordinal] = ~encoded.size();
+      } else {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        starts[ordinal] = encoded.size();
+        encoded.write(bytes, 0, bytes.length);
+      }
+    }
+
+    starts[size] = encoded.size();
+
+    MappingFile.writeInts(out, IntBuffer.wrap(starts), starts.length);
+    MappingFile.writeBytes(out, encoded.toByteArray(), encoded.size());
+    MappingFile.writeInts(out, slots, slots.limit());
+    out.writeInt(usedSlots);
+  }
+
+  /**
+   * Reads an index, that was written by {@link #writeTo(DataOutputStream, int)}. The returned index
+   * uses views of the given buffer, no id is decoded.
+   *
+   * @param buffer to read from
+   * @param size number of ordinals
+   * @return the read-only index
+   */
+  static IdIndex readFrom(ByteBuffer buffer, int size) {
+    IntBuffer offsets = MappingFile.readInts(buffer);
+
+    if (offsets.limit() != size + 1) {
+      throw new IllegalArgumentException(
+          "Expected " + size + " ids, but found " + (offsets.limit() - 1) + "!");
+    }
+
+    ByteBuffer pool = MappingFile.readBytes(buffer);
+    return new IdIndex(pool, offsets, MappingFile.readInts(buffer), buffer.getInt());
+  }
+
+  /**
+   * Returns the id of the given ordinal. The id of a read-only index is decoded for each call.
+   *
+   * @param ordinal of the uuid
+   * @return the id or {@code null}, if no id was set
+   */
+  String get(int ordinal) {
+    if (ids != null) {
+      return ordinal < ids.length ? ids[ordinal] : null;
+    }
+
+    return ordinal < offsets.limit() - 1 ? decode(ordinal) : null;
+  }
+
+  /** Decodes the id of the given ordinal from the {@link #pool}. */
+  private String decode(int ordinal) {
+    int start = offsets.get(ordinal);
+
+    if (start < 0) {
+      return null;
+    }
+
+    byte[] bytes = new byte[end(ordinal) - start];
+    pool.get(start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** Returns the end of the bytes of the given ordinal in the {@link #pool}. */
+  private int end(int ordinal) {
+    int next = offsets.get(ordinal + 1);
+    return next < 0 ? ~next : next;
+  }
+
+  /**
+   * Returns the ordinal of the given id.
+   *
+   * @param id to look up
+   * @return the ordinal or {@code -1}, if the id is unknown
+   */
+  int indexOf(String id) {
+    return find(slots, id);
+  }
+
+  private int find(IntBuffer table, String id) {
+    byte[] encoded = ids == null ? id.getBytes(StandardCharsets.UTF_8) : null;
+    int mask = table.limit() - 1;
+
+    for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+      int ordinal = table.get(slot);
+
+      if (ordinal == EMPTY) {
+        return EMPTY;
+      } else if (encoded == null ? id.equals(ids[ordinal]) : matches(ordinal, encoded)) {
+        return ordinal;
+      }
+    }
+  }
+
+  /** Returns true, if the encoded id is equal to the bytes of the given ordinal. */
+  private boolean matches(int ordinal, byte[] encoded) {
+    int start = offsets.get(ordinal);
+
+    if (start < 0 || end(ordinal) - start != encoded.length) {
+      return false;
+    }
+
+    for (int i = 0; i < encoded.length; i++) {
+      if (pool.get(start + i) != encoded[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Sets the id of the given ordinal. If the id already belongs to another ordinal, the id is
+   * reassigned to the given ordinal. The other ordinal keeps the id for {@link #get(int)}.
+   *
+   * @param ordinal of the uuid
+   * @param id of the uuid
+   * @throws IllegalStateException if this index is read-only
+   */
+  void put(int ordinal, String id) {
+    if (ids == null) {
+      throw new IllegalStateException("The id index is read-only!");
+    }
+
+    if (ordinal >= ids.length) {
+      ids = Arrays.copyOf(ids, Math.max(Math.max(MIN_SLOTS, ordinal + 1), ids.length * 3 / 2));
+    }
+
+    int mask = slots.limit() - 1;
+    int slot = hash(id) & mask;
+
+    for (int current = slots.get(slot); current != EMPTY; current = slots.get(slot)) {
+      if (id.equals(ids[current])) {
+        ids[ordinal] = id;
+        slots.put(slot, ordinal);
+        return;
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    ids[ordinal] = id;
+    slots.put(slot, ordinal);
+    usedSlots++;
+
+    if (usedSlots * 2 > slots.limit()) {
+      rehash(slots.limit() * 2);
+    }
+  }
+
+  /**
+   * Returns true, if the id of the given ordinal resolves to this ordinal. This is false, if the id
+   * was reassigned to another ordinal.
+   */
+  boolean isOwner(int ordinal) {
+    String id = get(ordinal);
+    return id != null && indexOf(id) == ordinal;
+  }
+
+  /** Rebuilds the table, which also drops the slots of reassigned or changed ids. */
+  private void rehash(int length) {
+    IntBuffer oldSlots = slots;
+    slots = newSlots(length);
+    usedSlots = 0;
+    int mask = length - 1;
+
+    for (int i = 0; i < oldSlots.limit(); i++) {
+      int ordinal = oldSlots.get(i);
+
+      if (ordinal == EMPTY || find(oldSlots, ids[ordinal]) != ordinal) {
+        continue;
+      }
+
+      int slot = hash(ids[ordinal]) & mask;
+
+      while (slots.get(slot) != EMPTY) {
+        slot = (slot + 1) & mask;
+      }
+
+      slots.put(slot, ordinal);
+      usedSlots++;
+    }
+  }
+
+  /** Returns the number of slots, that keeps the table at most half full. */
+  private static int slotsFor(int expected) {
+    int slots = MIN_SLOTS;
+
+    while (slots < expected * 2L) {
+      slots <<= 1;
+    }
+
+    return slots;
+  }
+
+  private static IntBuffer newSlots(int length) {
+    int[] slots = new int[length];
+    Arrays.fill(slots, EMPTY);
+    return IntBuffer.wrap(slots);
+  }
+
+  private static int hash(String id) {
+    int h = id.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.mapping;
+
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helper methods for the binary file of an {@link ExtEntityMapping} (see {@link
+ * ExtEntityMapping#write(java.nio.file.Path)}). The values are written with a {@link
+ * DataOutputStream} in big-endian byte order, which is the default byte order of a buffer. Each
+ * array is prefixed with its length and starts at a multiple of its element size, so that it can be
+ * read as a view of the mapped file without copying.
+ */
+final class MappingFile {
+  /** The first four bytes of a mapping file: {@code SXEM}. */
+  static final int MAGIC = 0x5358454D;
+
+  /** The version of the file format. */
+  static final int VERSION = 2;
+
+  private MappingFile() {}
+
+  static void writeInts(DataOutputStream out, IntBuffer values, int length) throws IOException {
+    writeLength(out, length, Integer.BYTES);
+
+    for (int i = 0; i < length; i++) {
+      out.writeInt(values.get(i));
+    }
+  }
+
+  /** Reads an int array as a read-only view of the given buffer. */
+  static IntBuffer readInts(ByteBuffer buffer) {
+    return view(buffer, Integer.BYTES).asIntBuffer();
+  }
+
+  static void writeLongs(DataOutputStream out, LongBuffer values, int length) throws IOException {
+    writeLength(out, length, Long.BYTES);
+
+    for (int i = 0; i < length; i++) {
+      out.writeLong(values.get(i));
+    }
+  }
+
+  /** Reads a long array as a read-only view of the given buffer. */
+  static LongBuffer readLongs(ByteBuffer buffer) {
+    return view(buffer, Long.BYTES).asLongBuffer();
+  }
+
+  static void writeBytes(DataOutput out, byte[] values, int length) throws IOException {
+    out.writeInt(length);
+    out.write(values, 0, length);
+  }
+
+  static void writeBytes(DataOutput out, ByteBuffer values, int length) throws IOException {
+    byte[] bytes = new byte[length];
+    values.get(0, bytes);
+    writeBytes(out, bytes, length);
+  }
+
+  /** Reads a byte array as a read-only view of the given buffer. */
+  static ByteBuffer readBytes(ByteBuffer buffer) {
+    return view(buffer, Byte.BYTES);
+  }
+
+  static void writeString(DataOutput out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeBytes(out, bytes, bytes.length);
+  }
+
+  static String readString(ByteBuffer buffer) {
+    ByteBuffer view = readBytes(buffer);
+    byte[] bytes = new byte[view.limit()];
+    view.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** Writes a length and pads the stream, so that the following elements are aligned. */
+  private static void writeLength(DataOutputStream out, int length, int elementSize)
+      throws IOException {
+    out.writeInt(length);
+
+    for (int padding = -out.size() & (elementSize - 1); padding > 0; padding--) {
+      out.writeByte(0);
+    }
+  }
+
+  /**
+   * Reads a length, skips the padding and returns a read-only view of the following elements of the
+   * given size. The buffer is positioned after the elements.
+   */
+  private static ByteBuffer view(ByteBuffer buffer, int elementSize) {
+    int length = buffer.getInt();
+    buffer.position((buffer.position() + elementSize - 1) & -elementSize);
+
+    if (length < 0 || (long) length * elementSize > buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid array length " + length + "!");
+    }
+
+    ByteBuffer view = buffer.slice().limit(length * elementSize).asReadOnlyBuffer();
+    buffer.position(buffer.position() + view.limit());
+    return view;
+  }
+}
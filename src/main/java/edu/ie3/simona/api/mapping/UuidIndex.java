@@ -0,0 +1,239 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.mapping;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Interning table, that assigns a dense int ordinal to each added uuid. The first added uuid gets
+ * the ordinal {@code 0}, the next one {@code 1} and so on.
+ *
+ * <p>The uuids are stored as two long columns indexed by the ordinal. The lookup uses an
+ * open-addressing hash table with linear probing, whose slots contain the ordinals. The table is
+ * kept at most half full. Therefore, neither uuid nor boxed integer objects are stored per uuid.
+ *
+ * <p>The columns and the table are buffers. An index, that is created or copied, uses buffers on
+ * the heap. An index, that is read by {@link #readFrom(ByteBuffer)}, uses views of the read buffer
+ * and is read-only. It needs to be copied, before uuids can be added.
+ */
+final class UuidIndex {
+  private static final int EMPTY = -1;
+  private static final int MIN_SLOTS = 16;
+
+  // columns, indexed by ordinal
+  private LongBuffer mostSigBits;
+  private LongBuffer leastSigBits;
+
+  /** Number of uuids. */
+  private int size;
+
+  /** Hash table of ordinals, the length is a power of two. */
+  private IntBuffer slots;
+
+  /**
+   * Creates an empty index.
+   *
+   * @param expected number of uuids, that can be added without growing
+   */
+  UuidIndex(int expected) {
+    this.mostSigBits = LongBuffer.allocate(expected);
+    this.leastSigBits = LongBuffer.allocate(expected);
+    this.slots = newSlots(slotsFor(expected));
+  }
+
+  /** Creates a copy of the given index on the heap. */
+  private UuidIndex(UuidIndex other) {
+    this.mostSigBits = copyOf(other.mostSigBits, other.size, other.size);
+    this.leastSigBits = copyOf(other.leastSigBits, other.size, other.size);
+    this.size = other.size;
+
+    int[] copiedSlots = new int[other.slots.limit()];
+    other.slots.get(0, copiedSlots);
+    this.slots = IntBuffer.wrap(copiedSlots);
+  }
+
+  /** Returns a copy of this index, that can be changed independently. */
+  UuidIndex copy() {
+    return new UuidIndex(this);
+  }
+
+  /**
+   * Creates an index from the given columns and hash table. Only the sizes are checked, so that no
+   * entry needs to be read. An invalid ordinal in the table fails on lookup.
+   */
+  private UuidIndex(LongBuffer mostSigBits, LongBuffer leastSigBits, IntBuffer slots) {
+    if (mostSigBits.limit() != leastSigBits.limit()
+        || Integer.bitCount(slots.limit()) != 1
+        || mostSigBits.limit() * 2L > slots.limit()) {
+      throw new IllegalArgumentException("Invalid uuid index!");
+    }
+
+    this.mostSigBits = mostSigBits;
+    this.leastSigBits = leastSigBits;
+    this.size = mostSigBits.limit();
+    this.slots = slots;
+  }
+
+  /**
+   * Writes the uuids and the hash table, so that the index can be read without rehashing.
+   *
+   * @param out to write to
+   * @throws IOException if the index could not be written
+   */
+  void writeTo(DataOutputStream out) throws IOException {
+    MappingFile.writeLongs(out, mostSigBits, size);
+    MappingFile.writeLongs(out, leastSigBits, size);
+    MappingFile.writeInts(out, slots, slots.limit());
+  }
+
+  /**
+   * Reads an index, that was written by {@link #writeTo(DataOutputStream)}. The returned index uses
+   * views of the given buffer, nothing is copied.
+   *
+   * @param buffer to read from
+   * @return the read-only index
+   */
+  static UuidIndex readFrom(ByteBuffer buffer) {
+    return new UuidIndex(
+        MappingFile.readLongs(buffer), MappingFile.readLongs(buffer), MappingFile.readInts(buffer));
+  }
+
+  /** Returns the number of uuids. */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the ordinal of the given uuid.
+   *
+   * @param uuid to look up
+   * @return the ordinal or {@code -1}, if the uuid was not added
+   */
+  int indexOf(UUID uuid) {
+    long msb = uuid.getMostSignificantBits();
+    long lsb = uuid.getLeastSignificantBits();
+    int mask = slots.limit() - 1;
+
+    for (int slot = hash(msb, lsb) & mask; ; slot = (slot + 1) & mask) {
+      int ordinal = slots.get(slot);
+
+      if (ordinal == EMPTY) {
+        return EMPTY;
+      } else if (mostSigBits.get(ordinal) == msb && leastSigBits.get(ordinal) == lsb) {
+        return ordinal;
+      }
+    }
+  }
+
+  /**
+   * Adds the given uuid, if it was not added before. A read-only index throws a {@link
+   * ReadOnlyBufferException}, if the uuid is unknown.
+   *
+   * @param uuid to add
+   * @return the ordinal of the uuid
+   */
+  int add(UUID uuid) {
+    long msb = uuid.getMostSignificantBits();
+    long lsb = uuid.getLeastSignificantBits();
+    int mask = slots.limit() - 1;
+    int slot = hash(msb, lsb) & mask;
+
+    for (int ordinal = slots.get(slot); ordinal != EMPTY; ordinal = slots.get(slot)) {
+      if (mostSigBits.get(ordinal) == msb && leastSigBits.get(ordinal) == lsb) {
+        return ordinal;
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    if (slots.isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+
+    if (size == mostSigBits.limit()) {
+      int newLength = Math.max(MIN_SLOTS, size + (size >> 1));
+      mostSigBits = copyOf(mostSigBits, size, newLength);
+      leastSigBits = copyOf(leastSigBits, size, newLength);
+    }
+
+    int ordinal = size++;
+    mostSigBits.put(ordinal, msb);
+    leastSigBits.put(ordinal, lsb);
+    slots.put(slot, ordinal);
+
+    if (size * 2 > slots.limit()) {
+      rehash(slots.limit() * 2);
+    }
+
+    return ordinal;
+  }
+
+  /**
+   * Returns the uuid with the given ordinal. A new uuid object is created for each call.
+   *
+   * @param ordinal of the uuid
+   * @return the uuid
+   */
+  UUID get(int ordinal) {
+    Objects.checkIndex(ordinal, size);
+    return new UUID(mostSigBits.get(ordinal), leastSigBits.get(ordinal));
+  }
+
+  private void rehash(int length) {
+    IntBuffer newSlots = newSlots(length);
+    int mask = length - 1;
+
+    for (int ordinal = 0; ordinal < size; ordinal++) {
+      int slot = hash(mostSigBits.get(ordinal), leastSigBits.get(ordinal)) & mask;
+
+      while (newSlots.get(slot) != EMPTY) {
+        slot = (slot + 1) & mask;
+      }
+
+      newSlots.put(slot, ordinal);
+    }
+
+    slots = newSlots;
+  }
+
+  /** Returns the number of slots, that keeps the table at most half full. */
+  private static int slotsFor(int expected) {
+    int slots = MIN_SLOTS;
+
+    while (slots < expected * 2L) {
+      slots <<= 1;
+    }
+
+    return slots;
+  }
+
+  private static IntBuffer newSlots(int length) {
+    int[] slots = new int[length];
+    Arrays.fill(slots, EMPTY);
+    return IntBuffer.wrap(slots);
+  }
+
+  /** Copies the first values of a column into a new column on the heap with the given length. */
+  private static LongBuffer copyOf(LongBuffer values, int length, int newLength) {
+    long[] copy = new long[newLength];
+    values.get(0, copy, 0, length);
+    return LongBuffer.wrap(copy);
+  }
+
+  private static int hash(long msb, long lsb) {
+    long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -7,4 +7,17 @@
 package edu.ie3.simona.api.ontology;
 
 /** Data related messages that are sent from the external simulation to SIMONA */
-public interface DataMessageFromExt {}
+public interface DataMessageFromExt {
+
+  /** Request id of messages that are not correlated with a response. */
+  long NO_REQUEST_ID = 0L;
+
+  /**
+   * Returns the id of this request. SIMONA responds to a request with a message that carries the
+   * same id (see {@link DataResponseMessageToExt#requestId()}). Messages that are not correlated
+   * with a response return {@link #NO_REQUEST_ID}.
+   */
+  default long requestId() {
+    return NO_REQUEST_ID;
+  }
+}
@@ -7,4 +7,13 @@
 package edu.ie3.simona.api.ontology;
 
 /** Data related messages that are sent from SIMONA to the external simulation */
-public interface DataResponseMessageToExt {}
+public interface DataResponseMessageToExt {
+
+  /**
+   * Returns the id of the request this message responds to, or {@link
+   * DataMessageFromExt#NO_REQUEST_ID}, if the message is not correlated with a request.
+   */
+  default long requestId() {
+    return DataMessageFromExt.NO_REQUEST_ID;
+  }
+}
@@ -17,4 +17,10 @@ import java.util.Collection;
  * @param messages the communication messages that should be sent
  */
 public record EmCommunicationMessages(long tick, Collection<EmCommunicationMessage> messages)
-    implements EmDataMessageFromExt, EmDataResponseMessageToExt {}
+    implements EmDataMessageFromExt, EmDataResponseMessageToExt {
+
+  @Override
+  public long requestId() {
+    return NO_REQUEST_ID;
+  }
+}
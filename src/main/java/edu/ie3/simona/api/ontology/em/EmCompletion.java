@@ -6,11 +6,18 @@
 
 package edu.ie3.simona.api.ontology.em;
 
+import edu.ie3.simona.api.ontology.DataMessageFromExt;
 import java.util.OptionalLong;
 
 /**
  * Response send from SIMONA after the em service is finished for the current tick.
  *
  * @param maybeNextTick option for the next tick in SIMONA
+ * @param requestId id of the request this message responds to
  */
-public record EmCompletion(OptionalLong maybeNextTick) implements EmDataResponseMessageToExt {}
+public record EmCompletion(OptionalLong maybeNextTick, long requestId)
+    implements EmDataResponseMessageToExt {
+  public EmCompletion(OptionalLong maybeNextTick) {
+    this(maybeNextTick, DataMessageFromExt.NO_REQUEST_ID);
+  }
+}
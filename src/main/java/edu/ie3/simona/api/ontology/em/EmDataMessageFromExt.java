@@ -10,4 +10,8 @@ import edu.ie3.simona.api.ontology.DataMessageFromExt;
 
 /** Messages that are sent from an external data simulation which provides em data to SIMONA. */
 public sealed interface EmDataMessageFromExt extends DataMessageFromExt
-    permits EmCommunicationMessages, EmSimulationInternal, ProvideEmData, RequestEmCompletion {}
+    permits EmCommunicationMessages,
+        EmSimulationInternal,
+        ProvideEmData,
+        ProvideEmSetPoints,
+        RequestEmCompletion {}
@@ -7,10 +7,21 @@
 package edu.ie3.simona.api.ontology.em;
 
 import edu.ie3.simona.api.data.model.em.FlexOptions;
+import edu.ie3.simona.api.ontology.DataMessageFromExt;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
-/** Message that provides em data (flexibility options) to an external simulation. */
-public record FlexOptionsResponse(Map<UUID, List<FlexOptions>> receiverToFlexOptions)
-    implements EmDataResponseMessageToExt {}
+/**
+ * Message that provides em data (flexibility options) to an external simulation.
+ *
+ * @param receiverToFlexOptions receiver to flex options
+ * @param requestId id of the request this message responds to
+ */
+public record FlexOptionsResponse(
+    Map<UUID, List<FlexOptions>> receiverToFlexOptions, long requestId)
+    implements EmDataResponseMessageToExt {
+  public FlexOptionsResponse(Map<UUID, List<FlexOptions>> receiverToFlexOptions) {
+    this(receiverToFlexOptions, DataMessageFromExt.NO_REQUEST_ID);
+  }
+}
@@ -13,14 +13,32 @@ import edu.ie3.simona.api.data.model.em.SetPoint;
 import java.util.*;
 import org.slf4j.Logger;
 
-/** Message that provides em data from an external simulation. */
+/**
+ * Message that provides em data from an external simulation.
+ *
+ * @param tick of the data
+ * @param flexRequests receiver to flex option request
+ * @param flexOptions receiver to flex options
+ * @param setPoints receiver to set point
+ * @param requestId id of the request, if flex options are requested and the response should be
+ *     correlated with this message
+ */
 public record ProvideEmData(
     long tick,
     Map<UUID, FlexOptionRequest> flexRequests,
     Map<UUID, List<FlexOptions>> flexOptions,
-    Map<UUID, SetPoint> setPoints)
+    Map<UUID, SetPoint> setPoints,
+    long requestId)
     implements EmDataMessageFromExt {
 
+  public ProvideEmData(
+      long tick,
+      Map<UUID, FlexOptionRequest> flexRequests,
+      Map<UUID, List<FlexOptions>> flexOptions,
+      Map<UUID, SetPoint> setPoints) {
+    this(tick, flexRequests, flexOptions, setPoints, NO_REQUEST_ID);
+  }
+
   public static ProvideEmData create(long tick, Map<UUID, ? extends EmData> emData, Logger log) {
     Map<UUID, FlexOptionRequest> flexRequests = new HashMap<>();
     Map<UUID, List<FlexOptions>> flexOptions = new HashMap<>();
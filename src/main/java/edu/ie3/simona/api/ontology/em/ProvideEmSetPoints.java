@@ -0,0 +1,19 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.ontology.em;
+
+import edu.ie3.simona.api.data.model.em.SetPointBatch;
+
+/**
+ * Message that provides aggregated em set points for many receivers as a primitive column (see
+ * {@link SetPointBatch}).
+ *
+ * @param tick of the set points
+ * @param setPoints batch of set points
+ */
+public record ProvideEmSetPoints(long tick, SetPointBatch setPoints)
+    implements EmDataMessageFromExt {}
@@ -13,10 +13,15 @@ import java.util.OptionalLong;
  *
  * @param tick for which the em service should be finished
  * @param maybeNextTick option for the next tick
+ * @param requestId id of the request
  */
-public record RequestEmCompletion(long tick, OptionalLong maybeNextTick)
+public record RequestEmCompletion(long tick, OptionalLong maybeNextTick, long requestId)
     implements EmDataMessageFromExt {
   public RequestEmCompletion(long tick) {
     this(tick, OptionalLong.empty());
   }
+
+  public RequestEmCompletion(long tick, OptionalLong maybeNextTick) {
+    this(tick, maybeNextTick, NO_REQUEST_ID);
+  }
 }
@@ -6,6 +6,7 @@
 
 package edu.ie3.simona.api.ontology.ev;
 
+import edu.ie3.simona.api.ontology.DataMessageFromExt;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -14,8 +15,14 @@ import java.util.UUID;
  * Provides charging prices as a response to a {@link RequestCurrentPrices}.
  *
  * @param prices the charging prices per charging station
+ * @param requestId id of the request this message responds to
  */
-public record ProvideCurrentPrices(Map<UUID, Double> prices) implements EvDataResponseMessageToExt {
+public record ProvideCurrentPrices(Map<UUID, Double> prices, long requestId)
+    implements EvDataResponseMessageToExt {
+
+  public ProvideCurrentPrices(Map<UUID, Double> prices) {
+    this(prices, DataMessageFromExt.NO_REQUEST_ID);
+  }
 
   /** No prices available */
   public ProvideCurrentPrices() {
@@ -7,6 +7,7 @@
 package edu.ie3.simona.api.ontology.ev;
 
 import edu.ie3.simona.api.data.model.ev.EvModel;
+import edu.ie3.simona.api.ontology.DataMessageFromExt;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,8 +16,14 @@ import java.util.List;
  * to a {@link RequestDepartingEvs}.
  *
  * @param departedEvs the EVs that have left the charging stations at the current tick
+ * @param requestId id of the request this message responds to
  */
-public record ProvideDepartingEvs(List<EvModel> departedEvs) implements EvDataResponseMessageToExt {
+public record ProvideDepartingEvs(List<EvModel> departedEvs, long requestId)
+    implements EvDataResponseMessageToExt {
+
+  public ProvideDepartingEvs(List<EvModel> departedEvs) {
+    this(departedEvs, DataMessageFromExt.NO_REQUEST_ID);
+  }
 
   /** No departed evs during current tick */
   public ProvideDepartingEvs() {
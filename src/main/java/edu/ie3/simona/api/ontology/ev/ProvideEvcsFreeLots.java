@@ -6,6 +6,7 @@
 
 package edu.ie3.simona.api.ontology.ev;
 
+import edu.ie3.simona.api.ontology.DataMessageFromExt;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -15,8 +16,14 @@ import java.util.UUID;
  * response to a {@link RequestEvcsFreeLots}.
  *
  * @param evcs the number of free lots per charging station UUID
+ * @param requestId id of the request this message responds to
  */
-public record ProvideEvcsFreeLots(Map<UUID, Integer> evcs) implements EvDataResponseMessageToExt {
+public record ProvideEvcsFreeLots(Map<UUID, Integer> evcs, long requestId)
+    implements EvDataResponseMessageToExt {
+
+  public ProvideEvcsFreeLots(Map<UUID, Integer> evcs) {
+    this(evcs, DataMessageFromExt.NO_REQUEST_ID);
+  }
 
   /** No EVCS lots available */
   public ProvideEvcsFreeLots() {
@@ -6,5 +6,13 @@
 
 package edu.ie3.simona.api.ontology.ev;
 
-/** Request current charging prices per charging station. */
-public record RequestCurrentPrices() implements EvDataMessageFromExt {}
+/**
+ * Request current charging prices per charging station.
+ *
+ * @param requestId id of the request
+ */
+public record RequestCurrentPrices(long requestId) implements EvDataMessageFromExt {
+  public RequestCurrentPrices() {
+    this(NO_REQUEST_ID);
+  }
+}
@@ -14,6 +14,11 @@ import java.util.UUID;
  * Request EVs that are departing from charging stations at the current tick in SIMONA.
  *
  * @param departures the departing EVs' UUIDs per charging station UUID
+ * @param requestId id of the request
  */
-public record RequestDepartingEvs(Map<UUID, List<UUID>> departures)
-    implements EvDataMessageFromExt {}
+public record RequestDepartingEvs(Map<UUID, List<UUID>> departures, long requestId)
+    implements EvDataMessageFromExt {
+  public RequestDepartingEvs(Map<UUID, List<UUID>> departures) {
+    this(departures, NO_REQUEST_ID);
+  }
+}
@@ -6,5 +6,13 @@
 
 package edu.ie3.simona.api.ontology.ev;
 
-/** Request the number of free lots per charging station from SIMONA */
-public record RequestEvcsFreeLots() implements EvDataMessageFromExt {}
+/**
+ * Request the number of free lots per charging station from SIMONA
+ *
+ * @param requestId id of the request
+ */
+public record RequestEvcsFreeLots(long requestId) implements EvDataMessageFromExt {
+  public RequestEvcsFreeLots() {
+    this(NO_REQUEST_ID);
+  }
+}
@@ -10,4 +10,4 @@ import edu.ie3.simona.api.ontology.DataMessageFromExt;
 
 /** Messages that are sent from an external primary data simulation to SIMONA */
 public sealed interface PrimaryDataMessageFromExt extends DataMessageFromExt
-    permits ProvidePrimaryData {}
+    permits ProvidePrimaryData, ProvidePrimaryDataColumns {}
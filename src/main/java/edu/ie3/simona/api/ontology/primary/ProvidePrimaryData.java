@@ -11,7 +11,20 @@ import java.util.Map;
 import java.util.OptionalLong;
 import java.util.UUID;
 
-/** Message that provides primary data from an external primary data simulation */
+/**
+ * Message that provides primary data from an external primary data simulation
+ *
+ * @param tick of the data
+ * @param primaryData map: uuid to primary data value
+ * @param maybeNextTick option for the next tick, when data will be provided
+ * @param delta true, if the message only contains values that changed since the last message,
+ *     assets without a value keep their last value
+ */
 public record ProvidePrimaryData(
-    long tick, Map<UUID, Value> primaryData, OptionalLong maybeNextTick)
-    implements PrimaryDataMessageFromExt {}
+    long tick, Map<UUID, Value> primaryData, OptionalLong maybeNextTick, boolean delta)
+    implements PrimaryDataMessageFromExt {
+
+  public ProvidePrimaryData(long tick, Map<UUID, Value> primaryData, OptionalLong maybeNextTick) {
+    this(tick, primaryData, maybeNextTick, false);
+  }
+}
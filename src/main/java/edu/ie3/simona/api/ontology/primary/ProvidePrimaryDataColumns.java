@@ -0,0 +1,134 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.simona.api.ontology.primary;
+
+import edu.ie3.datamodel.models.StandardUnits;
+import edu.ie3.datamodel.models.value.PValue;
+import edu.ie3.datamodel.models.value.SValue;
+import edu.ie3.datamodel.models.value.Value;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.*;
+import javax.measure.Unit;
+import javax.measure.quantity.Power;
+import tech.units.indriya.quantity.Quantities;
+
+/**
+ * Message that provides primary power data for many assets as primitive columns. The value at
+ * position {@code i} of each column belongs to the asset at position {@code i} of the asset list.
+ * An asset, whose active power is {@link Double#NaN}, receives no data.
+ *
+ * @param tick of the data
+ * @param assets uuids of the assets, in the order of the columns
+ * @param p active power of each asset in the active power unit
+ * @param q reactive power of each asset in the reactive power unit, or an empty array, if only
+ *     active power is provided
+ * @param pUnit unit of the active power
+ * @param qUnit unit of the reactive power
+ * @param maybeNextTick option for the next tick, when data will be provided
+ */
+public record ProvidePrimaryDataColumns(
+    long tick,
+    List<UUID> assets,
+    double[] p,
+    double[] q,
+    Unit<Power> pUnit,
+    Unit<Power> qUnit,
+    OptionalLong maybeNextTick)
+    implements PrimaryDataMessageFromExt {
+
+  public ProvidePrimaryDataColumns {
+    if (p.length != assets.size()) {
+      throw new IllegalArgumentException(
+          "Expected active power for " + assets.size() + " assets, but got " + p.length + "!");
+    }
+
+    if (q.length != 0 && q.length != assets.size()) {
+      throw new IllegalArgumentException(
+          "Expected reactive power for " + assets.size() + " assets, but got " + q.length + "!");
+    }
+  }
+
+  /**
+   * Creates a message that only provides active power.
+   *
+   * @param tick of the data
+   * @param assets uuids of the assets, in the order of the column
+   * @param p active power of each asset
+   * @param pUnit unit of the active power
+   * @param maybeNextTick option for the next tick, when data will be provided
+   */
+  public ProvidePrimaryDataColumns(
+      long tick, List<UUID> assets, double[] p, Unit<Power> pUnit, OptionalLong maybeNextTick) {
+    this(tick, assets, p, new double[0], pUnit, StandardUnits.REACTIVE_POWER_IN, maybeNextTick);
+  }
+
+  /** Returns true, if reactive power is provided. */
+  public boolean hasReactivePower() {
+    return q.length != 0;
+  }
+
+  /**
+   * Converts the columns into primary data values. This creates a {@link PValue} resp. {@link
+   * SValue} for each asset, therefore this method should only be used, if the values are needed.
+   *
+   * @return a map: uuid to primary data value
+   */
+  public Map<UUID, Value> toPrimaryData() {
+    Map<UUID, Value> primaryData = new HashMap<>();
+
+    for (int i = 0; i < p.length; i++) {
+      if (Double.isNaN(p[i])) {
+        continue;
+      }
+
+      Value value =
+          hasReactivePower()
+              ? new SValue(Quantities.getQuantity(p[i], pUnit), Quantities.getQuantity(q[i], qUnit))
+              : new PValue(Quantities.getQuantity(p[i], pUnit));
+
+      primaryData.put(assets.get(i), value);
+    }
+
+    return primaryData;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass()) return false;
+    ProvidePrimaryDataColumns that = (ProvidePrimaryDataColumns) o;
+    return tick == that.tick
+        && Objects.equals(assets, that.assets)
+        && Arrays.equals(p, that.p)
+        && Arrays.equals(q, that.q)
+        && Objects.equals(pUnit, that.pUnit)
+        && Objects.equals(qUnit, that.qUnit)
+        && Objects.equals(maybeNextTick, that.maybeNextTick);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        tick, assets, Arrays.hashCode(p), Arrays.hashCode(q), pUnit, qUnit, maybeNextTick);
+  }
+
+  @Override
+  @NonNull
+  public String toString() {
+    return "ProvidePrimaryDataColumns{"
+        + "tick="
+        + tick
+        + ", assets="
+        + assets.size()
+        + ", p="
+        + pUnit
+        + ", q="
+        + (hasReactivePower() ? qUnit : "none")
+        + ", maybeNextTick="
+        + maybeNextTick
+        + '}';
+  }
+}
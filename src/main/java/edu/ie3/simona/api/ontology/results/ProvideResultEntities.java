@@ -7,15 +7,25 @@
 package edu.ie3.simona.api.ontology.results;
 
 import edu.ie3.datamodel.models.result.ResultEntity;
+import edu.ie3.simona.api.ontology.DataMessageFromExt;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-/** Provides a list of results from SIMONA to an external simulation. */
-public record ProvideResultEntities(Map<UUID, List<ResultEntity>> results)
+/**
+ * Provides a list of results from SIMONA to an external simulation.
+ *
+ * @param results uuid to results
+ * @param requestId id of the request this message responds to
+ */
+public record ProvideResultEntities(Map<UUID, List<ResultEntity>> results, long requestId)
     implements ResultDataResponseMessageToExt {
 
+  public ProvideResultEntities(Map<UUID, List<ResultEntity>> results) {
+    this(results, DataMessageFromExt.NO_REQUEST_ID);
+  }
+
   public ProvideResultEntities(List<ResultEntity> resultEntities) {
     this(resultEntities.stream().collect(Collectors.groupingBy(ResultEntity::getInputModel)));
   }
@@ -9,7 +9,19 @@ package edu.ie3.simona.api.ontology.results;
 import java.util.List;
 import java.util.UUID;
 
-/** Request calculated results from SIMONA in the current tick */
+/**
+ * Request calculated results from SIMONA in the current tick
+ *
+ * @param tick for which results are requested
+ * @param requestedResults uuids of the requested results
+ * @param sendUnchangedResults if false, only changed results are returned
+ * @param requestId id of the request
+ */
 public record RequestResultEntities(
-    long tick, List<UUID> requestedResults, boolean sendUnchangedResults)
-    implements ResultDataMessageFromExt {}
+    long tick, List<UUID> requestedResults, boolean sendUnchangedResults, long requestId)
+    implements ResultDataMessageFromExt {
+  public RequestResultEntities(
+      long tick, List<UUID> requestedResults, boolean sendUnchangedResults) {
+    this(tick, requestedResults, sendUnchangedResults, NO_REQUEST_ID);
+  }
+}
@@ -19,6 +19,12 @@ import org.slf4j.LoggerFactory;
 /**
  * Every external simulation must extend this class in order to get triggered by the main
  * simulation.
+ *
+ * <p>An external simulation spends most of its time waiting for messages from SIMONA. All blocking
+ * hand-offs of the data connections are based on {@link java.util.concurrent.locks} and never use
+ * {@code synchronized}, so that a waiting simulation does not pin its carrier thread. Therefore, a
+ * large number of external simulations can be run on virtual threads (see {@link
+ * #startVirtual()}).
  */
 public abstract class ExtSimulation implements Runnable {
 
@@ -52,6 +58,27 @@ public abstract class ExtSimulation implements Runnable {
     }
   }
 
+  /**
+   * Starts this external simulation on a new virtual thread, that is named after the simulation.
+   *
+   * @return the started thread
+   */
+  public final Thread startVirtual() {
+    return start(Thread.ofVirtual().name(simulationName));
+  }
+
+  /**
+   * Starts this external simulation on a new thread, that is created by the given builder. This
+   * can be used to start the simulation on a platform thread or on a virtual thread with custom
+   * properties.
+   *
+   * @param builder for the thread
+   * @return the started thread
+   */
+  public final Thread start(Thread.Builder builder) {
+    return builder.start(this);
+  }
+
   /**
    * Blocks until the next message is received and handles it.
    *
@@ -3,6 +3,7 @@ package edu.ie3.simona.api.data
 import edu.ie3.datamodel.models.value.PValue
 import edu.ie3.datamodel.models.value.Value
 import edu.ie3.simona.api.data.container.ExtInputContainer
+import edu.ie3.simona.api.exceptions.ExtDataQueueFullException
 import edu.ie3.util.quantities.PowerSystemUnits
 import spock.lang.Shared
 import spock.lang.Specification
@@ -114,4 +115,310 @@ class ExtDataContainerQueueTest extends Specification {
         queue.size() == 0
     }
 
+    def "An ExtDataContainerQueue should keep a partly extracted container at the head of the queue"() {
+        given:
+        def queue = new ExtDataContainerQueue()
+        def first = new ExtInputContainer(0L, 900L)
+        first.addPrimaryValue(uuid, value)
+        first.addSetPoint(uuid, value)
+        def second = new ExtInputContainer(900L, 1800L)
+        second.addPrimaryValue(uuid, value)
+
+        queue.queueData(first)
+        queue.queueData(second)
+
+        when:
+        def primaryData = queue.takeData(ExtInputContainer::extractPrimaryData)
+
+        then:
+        primaryData == [(uuid): value]
+        queue.size() == 2
+
+        when:
+        def setPoints = queue.takeData(ExtInputContainer::extractSetPoints)
+
+        then:
+        setPoints.keySet() == [uuid] as Set
+        queue.size() == 1
+        queue.takeContainer() == second
+    }
+
+    def "An ExtDataContainerQueue should allow multiple threads to extract different parts of the same containers"() {
+        given:
+        def queue = new ExtDataContainerQueue()
+        def count = 500
+
+        for (long tick = 0; tick < count; tick++) {
+            def container = new ExtInputContainer(tick)
+            container.addPrimaryValue(new UUID(0L, tick), value)
+            container.addSetPoint(new UUID(0L, tick), value)
+            queue.queueData(container)
+        }
+
+        def extract = { Closure<Map<UUID, ?>> extractor ->
+            def ticks = []
+            while (ticks.size() < count) {
+                ticks.addAll(queue.takeData(extractor).keySet().collect { it.leastSignificantBits })
+            }
+            ticks
+        }
+
+        List<Long> primaryTicks = []
+        List<Long> emTicks = []
+
+        when:
+        def primaryReader = Thread.start { primaryTicks = extract { it.extractPrimaryData() } }
+        def emReader = Thread.start { emTicks = extract { it.extractSetPoints() } }
+        primaryReader.join()
+        emReader.join()
+
+        then:
+        primaryTicks == (0L..<count).toList()
+        emTicks == (0L..<count).toList()
+        queue.size() == 0
+    }
+
+    def "A single producer single consumer ExtDataContainerQueue should round its capacity up to a power of two"() {
+        expect:
+        new SpscContainerBuffer(capacity, ExtDataContainerQueue.WaitStrategy.SPIN).capacity() == expectedCapacity
+
+        where:
+        capacity | expectedCapacity
+        1        | 1
+        2        | 2
+        3        | 4
+        1000     | 1024
+    }
+
+    def "A single producer single consumer ExtDataContainerQueue should take and poll containers as expected"() {
+        given:
+        def queue = ExtDataContainerQueue.singleProducerSingleConsumer(4, waitStrategy)
+        def first = new ExtInputContainer(0L, 900L)
+        def second = new ExtInputContainer(900L, 1800L)
+
+        when:
+        queue.queueData(first)
+        queue.queueData(second)
+
+        then:
+        queue.size() == 2
+        queue.takeContainer() == first
+        queue.pollContainer(10, TimeUnit.MILLISECONDS) == Optional.of(second)
+        queue.pollContainer(10, TimeUnit.MILLISECONDS) == Optional.empty()
+        queue.size() == 0
+
+        where:
+        waitStrategy << ExtDataContainerQueue.WaitStrategy.values()
+    }
+
+    def "A single producer single consumer ExtDataContainerQueue should keep a container until it is empty"() {
+        given:
+        def queue = ExtDataContainerQueue.singleProducerSingleConsumer(4, ExtDataContainerQueue.WaitStrategy.PARK)
+        def data = new ExtInputContainer(0L, 3600L)
+        data.addPrimaryValue(uuid, value)
+        data.addSetPoint(uuid, value)
+        queue.queueData(data)
+
+        when:
+        def primaryData = queue.takeData(ExtInputContainer::extractPrimaryData)
+
+        then:
+        primaryData == [(uuid): value]
+        queue.size() == 1
+
+        when:
+        def setPoints = queue.pollData(ExtInputContainer::extractSetPoints, 10, TimeUnit.MILLISECONDS)
+
+        then:
+        setPoints.isPresent()
+        setPoints.get().keySet() == [uuid] as Set
+        queue.size() == 0
+    }
+
+    def "A single producer single consumer ExtDataContainerQueue should hand over all containers in order"() {
+        given:
+        def queue = ExtDataContainerQueue.singleProducerSingleConsumer(8, waitStrategy)
+        def count = 10000
+
+        def producer = Thread.start {
+            for (long tick = 0; tick < count; tick++) {
+                queue.queueData(new ExtInputContainer(tick))
+            }
+        }
+
+        when:
+        def ticks = (0..<count).collect { queue.takeContainer().tick }
+        producer.join()
+
+        then:
+        ticks == (0L..<count).toList()
+        queue.size() == 0
+
+        where:
+        waitStrategy << ExtDataContainerQueue.WaitStrategy.values()
+    }
+
+    def "A single producer single consumer ExtDataContainerQueue should be cleared by the consumer"() {
+        given:
+        def queue = ExtDataContainerQueue.singleProducerSingleConsumer(2, ExtDataContainerQueue.WaitStrategy.YIELD)
+        queue.queueData(new ExtInputContainer(0L))
+        queue.queueData(new ExtInputContainer(900L))
+
+        when:
+        queue.clear()
+        queue.queueData(new ExtInputContainer(1800L))
+
+        then:
+        queue.size() == 1
+        queue.takeContainer().tick == 1800L
+    }
+
+    def "A bounded ExtDataContainerQueue should block a producer until a container is taken"() {
+        given:
+        def queue = ExtDataContainerQueue.bounded(2, ExtDataContainerQueue.CapacityUnit.CONTAINERS)
+        queue.queueData(new ExtInputContainer(0L))
+        queue.queueData(new ExtInputContainer(900L))
+
+        def producer = Thread.start { queue.queueData(new ExtInputContainer(1800L)) }
+
+        when:
+        producer.join(50)
+
+        then:
+        producer.alive
+        queue.size() == 2
+
+        when:
+        def container = queue.takeContainer()
+        producer.join()
+
+        then:
+        container.tick == 0L
+        queue.size() == 2
+        queue.statistics.highWaterMark() == 2L
+        queue.statistics.blockedNanos() > 0L
+    }
+
+    def "A bounded ExtDataContainerQueue should reject containers after the timeout"() {
+        given:
+        def queue = ExtDataContainerQueue.bounded(1, ExtDataContainerQueue.CapacityUnit.CONTAINERS, timeout, TimeUnit.MILLISECONDS)
+        queue.queueData(new ExtInputContainer(0L))
+
+        when:
+        queue.queueData(new ExtInputContainer(900L))
+
+        then:
+        ExtDataQueueFullException ex = thrown(ExtDataQueueFullException)
+        ex.message.startsWith("The queue is full (capacity: 1 containers)!")
+        queue.size() == 1
+        queue.statistics.rejected() == 1L
+
+        where:
+        timeout << [0L, 10L]
+    }
+
+    def "A bounded ExtDataContainerQueue should limit the number of entries"() {
+        given:
+        def queue = ExtDataContainerQueue.bounded(3, ExtDataContainerQueue.CapacityUnit.ENTRIES, 0L, TimeUnit.MILLISECONDS)
+        def first = new ExtInputContainer(0L)
+        first.addPrimaryValue(new UUID(0L, 1L), value)
+        first.addPrimaryValue(new UUID(0L, 2L), value)
+        first.addSetPoint(uuid, value)
+        def second = new ExtInputContainer(900L)
+        second.addPrimaryValue(uuid, value)
+
+        queue.queueData(first)
+
+        when:
+        queue.queueData(second)
+
+        then:
+        thrown(ExtDataQueueFullException)
+
+        when:
+        queue.takeData(ExtInputContainer::extractPrimaryData)
+        queue.queueData(second)
+
+        then:
+        queue.size() == 2
+        queue.statistics.highWaterMark() == 3L
+        queue.statistics.rejected() == 1L
+    }
+
+    def "A bounded ExtDataContainerQueue should always accept a container, if it is empty"() {
+        given:
+        def queue = ExtDataContainerQueue.bounded(1, ExtDataContainerQueue.CapacityUnit.ENTRIES, 0L, TimeUnit.MILLISECONDS)
+        def data = new ExtInputContainer(0L)
+        data.addPrimaryValue(uuid, value)
+        data.addSetPoint(uuid, value)
+
+        when:
+        queue.queueData(data)
+
+        then:
+        queue.size() == 1
+        queue.statistics.highWaterMark() == 2L
+    }
+
+    def "A bounded ExtDataContainerQueue should hand over all containers in order"() {
+        given:
+        def queue = ExtDataContainerQueue.bounded(4, ExtDataContainerQueue.CapacityUnit.CONTAINERS)
+        def count = 1000
+
+        def producer = Thread.start {
+            for (long tick = 0; tick < count; tick++) {
+                queue.queueData(new ExtInputContainer(tick))
+            }
+        }
+
+        when:
+        def ticks = (0..<count).collect { queue.takeContainer().tick }
+        producer.join()
+
+        then:
+        ticks == (0L..<count).toList()
+        queue.statistics.highWaterMark() <= 4L
+    }
+
+    def "A coalescing ExtDataContainerQueue should merge containers for the same tick"() {
+        given:
+        def queue = ExtDataContainerQueue.coalescing()
+        def otherUuid = UUID.fromString("d2a5b1b6-2b0e-4c2f-a7f1-3b1a0c6e9f10")
+
+        def first = new ExtInputContainer(0L, 900L)
+        first.addPrimaryValue(uuid, value)
+        def second = new ExtInputContainer(0L, 900L)
+        second.addPrimaryValue(otherUuid, value)
+        def third = new ExtInputContainer(900L)
+
+        when:
+        queue.queueData(first)
+        queue.queueData(second)
+        queue.queueData(third)
+
+        then:
+        queue.size() == 2
+        queue.takeData(ExtInputContainer::extractPrimaryData) == [(uuid): value, (otherUuid): value]
+        queue.takeContainer() == third
+    }
+
+    def "A bounded coalescing ExtDataContainerQueue should merge containers, if the queue is full"() {
+        given:
+        def queue = ExtDataContainerQueue.coalescing(1, ExtDataContainerQueue.CapacityUnit.CONTAINERS)
+        def otherUuid = UUID.fromString("d2a5b1b6-2b0e-4c2f-a7f1-3b1a0c6e9f10")
+
+        def first = new ExtInputContainer(0L)
+        first.addPrimaryValue(uuid, value)
+        def second = new ExtInputContainer(0L)
+        second.addSetPoint(otherUuid, value)
+
+        when:
+        queue.queueData(first)
+        queue.queueData(second)
+
+        then:
+        queue.size() == 1
+        queue.statistics.blockedNanos() == 0L
+        queue.takeData(ExtInputContainer::extractSetPoints).keySet() == [otherUuid] as Set
+    }
 }
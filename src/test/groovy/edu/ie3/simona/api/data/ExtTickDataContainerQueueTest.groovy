@@ -0,0 +1,206 @@
+package edu.ie3.simona.api.data
+
+import edu.ie3.datamodel.models.value.PValue
+import edu.ie3.datamodel.models.value.Value
+import edu.ie3.simona.api.data.container.ExtInputContainer
+import edu.ie3.util.quantities.PowerSystemUnits
+import spock.lang.Shared
+import spock.lang.Specification
+import tech.units.indriya.quantity.Quantities
+
+import java.util.concurrent.TimeUnit
+
+class ExtTickDataContainerQueueTest extends Specification {
+
+    @Shared
+    private UUID uuid = UUID.fromString("07a724f6-c226-4826-87a6-e9ae42b734b0")
+
+    @Shared
+    private Value value = new PValue(Quantities.getQuantity(10, PowerSystemUnits.KILOWATT))
+
+    def "An ExtTickDataContainerQueue should return containers ordered by their tick"() {
+        given:
+        def queue = new ExtTickDataContainerQueue()
+
+        [1800L, 0L, 2700L, 900L].each { queue.queueData(new ExtInputContainer(it)) }
+
+        when:
+        def ticks = (0..<4).collect { queue.takeContainer().tick }
+
+        then:
+        ticks == [0L, 900L, 1800L, 2700L]
+        queue.size() == 0
+    }
+
+    def "An ExtTickDataContainerQueue should only record the high water mark"() {
+        given:
+        def queue = new ExtTickDataContainerQueue()
+
+        [1800L, 0L, 2700L].each { queue.queueData(new ExtInputContainer(it)) }
+        queue.takeContainer()
+        queue.queueData(new ExtInputContainer(900L))
+
+        expect:
+        queue.statistics == new ExtDataContainerQueue.Statistics(3L, 0L, 0L)
+    }
+
+    def "An ExtTickDataContainerQueue should not provide the factories of the FIFO queue"() {
+        when:
+        ExtTickDataContainerQueue.bounded(10L, ExtDataContainerQueue.CapacityUnit.CONTAINERS)
+
+        then:
+        thrown(MissingMethodException)
+
+        expect:
+        !(new ExtTickDataContainerQueue() instanceof ExtDataContainerQueue)
+        ExtTickDataContainerQueue.coalescing() instanceof ExtTickDataContainerQueue
+    }
+
+    def "An ExtTickDataContainerQueue should keep the insertion order of containers with the same tick"() {
+        given:
+        def queue = new ExtTickDataContainerQueue()
+        def first = new ExtInputContainer(900L)
+        def second = new ExtInputContainer(900L)
+        def third = new ExtInputContainer(0L)
+
+        queue.queueData(first)
+        queue.queueData(second)
+        queue.queueData(third)
+
+        expect:
+        queue.takeContainer() == third
+        queue.takeContainer() == first
+        queue.takeContainer() == second
+    }
+
+    def "An ExtTickDataContainerQueue should keep the tick order while growing"() {
+        given:
+        def queue = new ExtTickDataContainerQueue()
+        def ticks = (0L..<100L).collect { it * 900L }
+        def shuffled = new ArrayList<>(ticks)
+        Collections.shuffle(shuffled, new Random(42))
+
+        when:
+        shuffled.each { queue.queueData(new ExtInputContainer(it)) }
+
+        then:
+        queue.size() == 100
+        (0..<100).collect { queue.takeContainer().tick } == ticks
+    }
+
+    def "An ExtTickDataContainerQueue should take the container for a given tick"() {
+        given:
+        def queue = new ExtTickDataContainerQueue()
+        def first = new ExtInputContainer(0L)
+        def second = new ExtInputContainer(900L)
+        queue.queueData(second)
+        queue.queueData(first)
+
+        when:
+        def container = queue.takeForTick(900L)
+
+        then:
+        container == second
+        queue.size() == 1
+        queue.takeContainer() == first
+    }
+
+    def "An ExtTickDataContainerQueue should wait until the container for a given tick is added"() {
+        given:
+        def queue = new ExtTickDataContainerQueue()
+        def data = new ExtInputContainer(1800L)
+
+        def producer = Thread.start {
+            queue.queueData(new ExtInputContainer(0L))
+            Thread.sleep(50)
+            queue.queueData(data)
+        }
+
+        when:
+        def container = queue.takeForTick(1800L)
+        producer.join()
+
+        then:
+        container == data
+        queue.size() == 1
+    }
+
+    def "An ExtTickDataContainerQueue should poll no container, if no container for the tick is added"() {
+        given:
+        def queue = new ExtTickDataContainerQueue()
+        queue.queueData(new ExtInputContainer(0L))
+
+        when:
+        def container = queue.pollForTick(900L, 10, TimeUnit.MILLISECONDS)
+
+        then:
+        container == Optional.empty()
+        queue.size() == 1
+    }
+
+    def "An ExtTickDataContainerQueue should poll all containers up to a given tick"() {
+        given:
+        def queue = new ExtTickDataContainerQueue()
+        [2700L, 900L, 0L, 1800L].each { queue.queueData(new ExtInputContainer(it)) }
+
+        when:
+        def containers = queue.pollUpTo(1800L)
+
+        then:
+        containers.collect { it.tick } == [0L, 900L, 1800L]
+        queue.size() == 1
+
+        when:
+        def remaining = queue.pollUpTo(900L)
+
+        then:
+        remaining.empty
+        queue.takeContainer().tick == 2700L
+    }
+
+    def "An ExtTickDataContainerQueue should keep a partly extracted container at the head of the queue"() {
+        given:
+        def queue = new ExtTickDataContainerQueue()
+        def first = new ExtInputContainer(0L, 900L)
+        first.addPrimaryValue(uuid, value)
+        first.addSetPoint(uuid, value)
+        def second = new ExtInputContainer(900L, 1800L)
+
+        queue.queueData(second)
+        queue.queueData(first)
+
+        when:
+        def primaryData = queue.takeData(ExtInputContainer::extractPrimaryData)
+
+        then:
+        primaryData == [(uuid): value]
+        queue.size() == 2
+
+        when:
+        def setPoints = queue.pollData(ExtInputContainer::extractSetPoints, 10, TimeUnit.MILLISECONDS)
+
+        then:
+        setPoints.get().keySet() == [uuid] as Set
+        queue.size() == 1
+        queue.takeContainer() == second
+    }
+
+    def "A coalescing ExtTickDataContainerQueue should merge containers for the same tick"() {
+        given:
+        def queue = ExtTickDataContainerQueue.coalescing()
+
+        def first = new ExtInputContainer(900L)
+        first.addPrimaryValue(uuid, value)
+        def second = new ExtInputContainer(0L)
+        def third = new ExtInputContainer(900L)
+        third.addSetPoint(uuid, value)
+
+        when:
+        [first, second, third].each { queue.queueData(it) }
+
+        then:
+        queue.size() == 2
+        queue.takeContainer() == second
+        queue.takeForTick(900L).entryCount() == 2
+    }
+}
@@ -5,6 +5,7 @@ import edu.ie3.simona.api.data.model.em.EmCommunicationMessage
 import edu.ie3.simona.api.data.model.em.FlexOptionRequest
 import edu.ie3.simona.api.data.model.em.PowerLimitFlexOptions
 import edu.ie3.simona.api.data.model.em.SetPoint
+import edu.ie3.simona.api.data.model.em.SetPointBatch
 import edu.ie3.simona.api.ontology.DataMessageFromExt
 import edu.ie3.simona.api.ontology.ScheduleDataServiceMessage
 import edu.ie3.simona.api.ontology.em.*
@@ -13,6 +14,9 @@ import org.apache.pekko.actor.testkit.typed.javadsl.ActorTestKit
 import spock.lang.Shared
 import spock.lang.Specification
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
 class ExtEmDataConnectionTest extends Specification implements DataServiceTestData {
 
     @Shared
@@ -133,6 +137,48 @@ class ExtEmDataConnectionTest extends Specification implements DataServiceTestDa
         extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
     }
 
+    def "ExtEmDataConnection should provide a batch of em set points correctly"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+        extEmDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        def batch = new SetPointBatch(controlled, [5d] as double[])
+
+        when:
+        def wasSent = extEmDataConnection.sendEmData(0L, batch)
+
+        // the batch is reused after it was sent
+        batch.setP(0, 7d)
+
+        then:
+        wasSent
+        dataService.expectMessage(new ProvideEmSetPoints(0L, new SetPointBatch(controlled, [5d] as double[])))
+        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
+    }
+
+    def "ExtEmDataConnection should send no message, if an empty batch of em set points is given"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+        extEmDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        when:
+        def wasSent = extEmDataConnection.sendEmData(0L, new SetPointBatch([]))
+
+        then:
+        !wasSent
+        dataService.expectNoMessage()
+    }
+
     def "ExtEmDataConnection should send no message, if no em data is given"() {
         given:
         def dataService = testKit.createTestProbe(DataMessageFromExt)
@@ -182,18 +228,17 @@ class ExtEmDataConnectionTest extends Specification implements DataServiceTestDa
                 extSimAdapter.ref()
         )
 
-        def sendMsg = new FlexOptionsResponse([(inputUuid): new PowerLimitFlexOptions(inputUuid, inputUuid, power, power, power)])
+        def sendMsg = new FlexOptionsResponse([(inputUuid): [new PowerLimitFlexOptions(inputUuid, inputUuid, power, power, power)]], 1L)
 
         when:
-        // we need to queue the msg beforehand because the receive method is blocking
+        // the request is blocking, therefore it is executed by another thread
+        def request = CompletableFuture.supplyAsync { extEmDataConnection.requestEmFlexResults(0L, [inputUuid], false) }
+        dataService.expectMessage(new ProvideEmData(0L, [(inputUuid): new FlexOptionRequest(inputUuid, false)], [:], [:], 1L))
+        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
         extEmDataConnection.queueExtResponseMsg(sendMsg)
 
-        def response = extEmDataConnection.requestEmFlexResults(0L, [inputUuid], false)
-
         then:
-        dataService.expectMessage(new ProvideEmData(0L, [(inputUuid): new FlexOptionRequest(inputUuid, false)], [:], [:]))
-        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
-        response == sendMsg.receiverToFlexOptions()
+        request.get(3, TimeUnit.SECONDS) == sendMsg.receiverToFlexOptions()
     }
 
     def "ExtEmDataConnection should request and receive flex completion correctly"() {
@@ -206,22 +251,261 @@ class ExtEmDataConnectionTest extends Specification implements DataServiceTestDa
                 extSimAdapter.ref()
         )
 
-        def sendMsg = new EmCompletion(OptionalLong.of(900L))
+        def sendMsg = new EmCompletion(OptionalLong.of(900L), 1L)
 
         when:
-        // we need to queue the msg beforehand because the receive method is blocking
-        extEmDataConnection.queueExtResponseMsg(sendMsg)
-
+        // the request is blocking, therefore it is executed by another thread
         // we request tick 1000 as next tick
-        def response = extEmDataConnection.requestCompletion(0L, 1000L)
-
-        then:
-        dataService.expectMessage(new RequestEmCompletion(0L, OptionalLong.of(1000L)))
+        def request = CompletableFuture.supplyAsync { extEmDataConnection.requestCompletion(0L, 1000L) }
+        dataService.expectMessage(new RequestEmCompletion(0L, OptionalLong.of(1000L), 1L))
         extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
+        extEmDataConnection.queueExtResponseMsg(sendMsg)
+        def response = request.get(3, TimeUnit.SECONDS)
 
+        then:
         // we received tick 900 as next, because we need an activation for this tick
         response == OptionalLong.of(900L)
         response == sendMsg.maybeNextTick()
     }
 
+    def "ExtEmDataConnection should request flex options asynchronously"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+        extEmDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        def firstResponse = new FlexOptionsResponse([(inputUuid): [new PowerLimitFlexOptions(inputUuid, inputUuid, power, power, power)]], 1L)
+        def secondResponse = new FlexOptionsResponse([:], 2L)
+
+        when:
+        def first = extEmDataConnection.requestEmFlexResultsAsync(0L, [inputUuid], false)
+        def second = extEmDataConnection.requestEmFlexResultsAsync(900L, [inputUuid], true)
+
+        then:
+        dataService.expectMessage(new ProvideEmData(0L, [(inputUuid): new FlexOptionRequest(inputUuid, false)], [:], [:], 1L))
+        dataService.expectMessage(new ProvideEmData(900L, [(inputUuid): new FlexOptionRequest(inputUuid, true)], [:], [:], 2L))
+        !first.done
+        !second.done
+        extEmDataConnection.pendingRequests() == 2
+
+        when:
+        // the responses are dispatched by their request id
+        extEmDataConnection.queueExtResponseMsg(secondResponse)
+        extEmDataConnection.queueExtResponseMsg(firstResponse)
+
+        then:
+        first.getNow(null) == firstResponse.receiverToFlexOptions()
+        second.getNow(null) == secondResponse.receiverToFlexOptions()
+        extEmDataConnection.receiveTriggerQueue.empty
+        extEmDataConnection.pendingRequests() == 0
+    }
+
+    def "ExtEmDataConnection should request completion asynchronously"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+        extEmDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        def flexResponse = new FlexOptionsResponse([:])
+        def completionResponse = new EmCompletion(OptionalLong.of(900L), 1L)
+
+        when:
+        def future = extEmDataConnection.requestCompletionAsync(0L, 1000L)
+
+        // a response without a pending future is queued
+        extEmDataConnection.queueExtResponseMsg(flexResponse)
+        extEmDataConnection.queueExtResponseMsg(completionResponse)
+
+        then:
+        dataService.expectMessage(new RequestEmCompletion(0L, OptionalLong.of(1000L), 1L))
+        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
+        future.getNow(null) == OptionalLong.of(900L)
+        extEmDataConnection.receiveAny() == flexResponse
+    }
+
+    def "ExtEmDataConnection should dispatch responses without request id to the oldest matching request"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+        extEmDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        when:
+        def first = extEmDataConnection.requestCompletionAsync(0L, 900L)
+        def second = extEmDataConnection.requestCompletionAsync(900L, 1800L)
+        extEmDataConnection.queueExtResponseMsg(new EmCompletion(OptionalLong.of(900L)))
+
+        then:
+        first.getNow(null) == OptionalLong.of(900L)
+        !second.done
+        extEmDataConnection.pendingRequests() == 1
+    }
+
+    def "ExtEmDataConnection should not mix up responses of blocking and asynchronous requests"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+        extEmDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        when:
+        def async = extEmDataConnection.requestCompletionAsync(0L, 900L)
+        def blocking = CompletableFuture.supplyAsync { extEmDataConnection.requestCompletion(0L, 1800L) }
+        dataService.expectMessage(new RequestEmCompletion(0L, OptionalLong.of(900L), 1L))
+        dataService.expectMessage(new RequestEmCompletion(0L, OptionalLong.of(1800L), 2L))
+
+        // the blocking request is answered first
+        extEmDataConnection.queueExtResponseMsg(new EmCompletion(OptionalLong.of(1800L), 2L))
+        extEmDataConnection.queueExtResponseMsg(new EmCompletion(OptionalLong.of(900L), 1L))
+
+        then:
+        blocking.get(3, TimeUnit.SECONDS) == OptionalLong.of(1800L)
+        async.getNow(null) == OptionalLong.of(900L)
+        extEmDataConnection.pendingRequests() == 0
+    }
+
+    def "ExtEmDataConnection should remove cancelled and timed out requests"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+        extEmDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        when:
+        def cancelled = extEmDataConnection.requestCompletionAsync(0L, 900L)
+        def timedOut = extEmDataConnection.requestCompletionAsync(0L, 900L).orTimeout(10, TimeUnit.MILLISECONDS)
+        cancelled.cancel(false)
+        timedOut.handle { result, failure -> failure }.get(3, TimeUnit.SECONDS)
+
+        then:
+        extEmDataConnection.pendingRequests() == 0
+
+        when:
+        // a late response is queued
+        def lateResponse = new EmCompletion(OptionalLong.of(900L), 1L)
+        extEmDataConnection.queueExtResponseMsg(lateResponse)
+
+        then:
+        extEmDataConnection.receiveAny() == lateResponse
+    }
+
+    def "ExtEmDataConnection should remove a request, that could not be sent"() {
+        given:
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+
+        when:
+        // no actor refs are set, therefore sending fails
+        extEmDataConnection.requestCompletionAsync(0L, 900L)
+
+        then:
+        thrown(RuntimeException)
+        extEmDataConnection.pendingRequests() == 0
+    }
+
+    def "ExtEmDataConnection should fail a request, if the response has an unexpected type"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+        extEmDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        when:
+        def future = extEmDataConnection.requestCompletionAsync(0L, 900L)
+        extEmDataConnection.queueExtResponseMsg(new FlexOptionsResponse([:], 1L))
+
+        then:
+        future.completedExceptionally
+        extEmDataConnection.pendingRequests() == 0
+    }
+
+    def "ExtEmDataConnection should schedule the data service only once for a batch"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+        extEmDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        def setPoints = Map.of(inputUuid, new SetPoint.AggregatedSetPoint(inputUuid, power))
+        def message = new EmCommunicationMessage(UUID.randomUUID(), UUID.randomUUID(), null)
+
+        when:
+        extEmDataConnection.openBatch()
+        extEmDataConnection.sendEmData(0L, [:], [:], setPoints)
+        extEmDataConnection.sendCommunicationMessage(0L, [message])
+
+        then:
+        dataService.expectMessage(new ProvideEmData(0L, [:], [:], setPoints))
+        dataService.expectMessage(new EmCommunicationMessages(0L, [message]))
+        extSimAdapter.expectNoMessage()
+
+        when:
+        def sent = extEmDataConnection.commitBatch()
+
+        then:
+        sent == 2
+        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
+        extSimAdapter.expectNoMessage()
+    }
+
+    def "ExtEmDataConnection should not schedule the data service for an empty batch"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+        extEmDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        when:
+        extEmDataConnection.openBatch()
+        def sent = extEmDataConnection.commitBatch()
+
+        then:
+        sent == 0
+        extSimAdapter.expectNoMessage()
+    }
+
+    def "ExtEmDataConnection should fail to open a batch twice or to commit without a batch"() {
+        given:
+        def extEmDataConnection = new ExtEmDataConnection(controlled, EmMode.BASE)
+
+        when:
+        extEmDataConnection.commitBatch()
+
+        then:
+        IllegalStateException ex = thrown(IllegalStateException)
+        ex.message == "No batch is open!"
+
+        when:
+        extEmDataConnection.openBatch()
+        extEmDataConnection.openBatch()
+
+        then:
+        IllegalStateException ex2 = thrown(IllegalStateException)
+        ex2.message == "A batch is already open!"
+    }
 }
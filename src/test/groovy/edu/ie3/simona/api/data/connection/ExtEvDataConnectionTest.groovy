@@ -1,6 +1,7 @@
 package edu.ie3.simona.api.data.connection
 
 import edu.ie3.simona.api.data.model.ev.EvModel
+import edu.ie3.simona.api.exceptions.UnexpectedResponseMessageException
 import edu.ie3.simona.api.ontology.DataMessageFromExt
 import edu.ie3.simona.api.ontology.ScheduleDataServiceMessage
 import edu.ie3.simona.api.ontology.ev.ProvideArrivingEvs
@@ -14,6 +15,10 @@ import org.apache.pekko.actor.testkit.typed.javadsl.ActorTestKit
 import spock.lang.Shared
 import spock.lang.Specification
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
 class ExtEvDataConnectionTest extends Specification {
 
     @Shared
@@ -35,17 +40,17 @@ class ExtEvDataConnectionTest extends Specification {
         def extEvDataConnection = new ExtEvDataConnection()
         extEvDataConnection.setActorRefs(dataService.ref(), extSimAdapter.ref())
 
-        def sentMsg = new ProvideEvcsFreeLots()
+        def sentMsg = new ProvideEvcsFreeLots([(UUID.randomUUID()): 2], 1L)
 
         when:
-        // we need to queue the msg beforehand because the receive method is blocking
+        // the request is blocking, therefore it is executed by another thread
+        def request = CompletableFuture.supplyAsync { extEvDataConnection.requestAvailablePublicEvcs() }
+        dataService.expectMessage(new RequestEvcsFreeLots(1L))
+        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
         extEvDataConnection.queueExtResponseMsg(sentMsg)
-        def actualReceivedEvcs = extEvDataConnection.requestAvailablePublicEvcs()
 
         then:
-        dataService.expectMessage(new RequestEvcsFreeLots())
-        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
-        actualReceivedEvcs == sentMsg.evcs()
+        request.get(3, TimeUnit.SECONDS) == sentMsg.evcs()
     }
 
     def "ExtEvDataConnection should request and receive current charging prices correctly"() {
@@ -55,17 +60,17 @@ class ExtEvDataConnectionTest extends Specification {
         def extEvDataConnection = new ExtEvDataConnection()
         extEvDataConnection.setActorRefs(dataService.ref(), extSimAdapter.ref())
 
-        def sentMsg = new ProvideCurrentPrices()
+        def sentMsg = new ProvideCurrentPrices([(UUID.randomUUID()): 0.5d], 1L)
 
         when:
-        // we need to queue the msg beforehand because the receive method is blocking
+        // the request is blocking, therefore it is executed by another thread
+        def request = CompletableFuture.supplyAsync { extEvDataConnection.requestCurrentPrices() }
+        dataService.expectMessage(new RequestCurrentPrices(1L))
+        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
         extEvDataConnection.queueExtResponseMsg(sentMsg)
-        def actualReceivedPrices = extEvDataConnection.requestCurrentPrices()
 
         then:
-        dataService.expectMessage(new RequestCurrentPrices())
-        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
-        actualReceivedPrices == sentMsg.prices()
+        request.get(3, TimeUnit.SECONDS) == sentMsg.prices()
     }
 
     def "ExtEvDataConnection should request and receive departing EVs correctly"() {
@@ -77,17 +82,17 @@ class ExtEvDataConnectionTest extends Specification {
 
         def requestedDepartingEvs = new HashMap<UUID, List<UUID>>()
         requestedDepartingEvs.put(UUID.randomUUID(), new ArrayList<UUID>())
-        def sentMsg = new ProvideDepartingEvs()
+        def sentMsg = new ProvideDepartingEvs([], 1L)
 
         when:
-        // we need to queue the msg beforehand because the receive method is blocking
+        // the request is blocking, therefore it is executed by another thread
+        def request = CompletableFuture.supplyAsync { extEvDataConnection.requestDepartingEvs(requestedDepartingEvs) }
+        dataService.expectMessage(new RequestDepartingEvs(requestedDepartingEvs, 1L))
+        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
         extEvDataConnection.queueExtResponseMsg(sentMsg)
-        def actualReceivedEvs = extEvDataConnection.requestDepartingEvs(requestedDepartingEvs)
 
         then:
-        dataService.expectMessage(new RequestDepartingEvs(requestedDepartingEvs))
-        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
-        actualReceivedEvs == sentMsg.departedEvs()
+        request.get(3, TimeUnit.SECONDS) == sentMsg.departedEvs()
     }
 
     def "ExtEvDataConnection should provide arriving EVs correctly"() {
@@ -115,16 +120,51 @@ class ExtEvDataConnectionTest extends Specification {
         def extEvDataConnection = new ExtEvDataConnection()
         extEvDataConnection.setActorRefs(dataService.ref(), extSimAdapter.ref())
 
-        def unexpectedMsg = new ProvideCurrentPrices()
+        def unexpectedMsg = new ProvideCurrentPrices([:], 1L)
 
         when:
-        // we need to queue the msg beforehand because the receive method is blocking
+        // the request is blocking, therefore it is executed by another thread
+        def request = CompletableFuture.supplyAsync { extEvDataConnection.requestAvailablePublicEvcs() }
+        dataService.expectMessage(new RequestEvcsFreeLots(1L))
+        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
         extEvDataConnection.queueExtResponseMsg(unexpectedMsg)
-        extEvDataConnection.requestAvailablePublicEvcs()
+        request.get(3, TimeUnit.SECONDS)
 
         then:
-        dataService.expectMessage(new RequestEvcsFreeLots())
-        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
-        thrown RuntimeException
+        def exception = thrown(ExecutionException)
+        exception.cause instanceof UnexpectedResponseMessageException
+        extEvDataConnection.pendingRequests() == 0
+    }
+
+    def "ExtEvDataConnection should handle concurrent asynchronous requests correctly"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extEvDataConnection = new ExtEvDataConnection()
+        extEvDataConnection.setActorRefs(dataService.ref(), extSimAdapter.ref())
+
+        def evcs = UUID.randomUUID()
+        def departures = [(evcs): [UUID.randomUUID()]]
+
+        when:
+        def freeLots = extEvDataConnection.requestAvailablePublicEvcsAsync()
+        def prices = extEvDataConnection.requestCurrentPricesAsync()
+        def departingEvs = extEvDataConnection.requestDepartingEvsAsync(departures)
+
+        then:
+        dataService.expectMessage(new RequestEvcsFreeLots(1L))
+        dataService.expectMessage(new RequestCurrentPrices(2L))
+        dataService.expectMessage(new RequestDepartingEvs(departures, 3L))
+
+        when:
+        extEvDataConnection.queueExtResponseMsg(new ProvideDepartingEvs([], 3L))
+        extEvDataConnection.queueExtResponseMsg(new ProvideCurrentPrices([(evcs): 0.5d], 2L))
+        extEvDataConnection.queueExtResponseMsg(new ProvideEvcsFreeLots([(evcs): 2], 1L))
+
+        then:
+        freeLots.getNow(null) == [(evcs): 2]
+        prices.getNow(null) == [(evcs): 0.5d]
+        departingEvs.getNow(null) == []
+        extEvDataConnection.receiveTriggerQueue.empty
     }
 }
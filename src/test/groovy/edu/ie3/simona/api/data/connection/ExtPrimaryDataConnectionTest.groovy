@@ -1,14 +1,18 @@
 package edu.ie3.simona.api.data.connection
 
+import edu.ie3.datamodel.models.StandardUnits
 import edu.ie3.datamodel.models.value.PValue
+import edu.ie3.datamodel.models.value.SValue
 import edu.ie3.datamodel.models.value.Value
 import edu.ie3.simona.api.ontology.DataMessageFromExt
 import edu.ie3.simona.api.ontology.ScheduleDataServiceMessage
 import edu.ie3.simona.api.ontology.primary.ProvidePrimaryData
+import edu.ie3.simona.api.ontology.primary.ProvidePrimaryDataColumns
 import edu.ie3.simona.api.test.common.DataServiceTestData
 import org.apache.pekko.actor.testkit.typed.javadsl.ActorTestKit
 import spock.lang.Shared
 import spock.lang.Specification
+import tech.units.indriya.quantity.Quantities
 
 class ExtPrimaryDataConnectionTest extends Specification implements DataServiceTestData {
 
@@ -64,4 +68,184 @@ class ExtPrimaryDataConnectionTest extends Specification implements DataServiceT
         then:
         dataService.expectNoMessage()
     }
+
+    def "ExtPrimaryDataConnection should provide primary data columns correctly"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def sValueConnection = new ExtPrimaryDataConnection([(inputUuid): SValue])
+        sValueConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+        def pValueConnection = new ExtPrimaryDataConnection(assetToValueClasses)
+        pValueConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        def p = [500d] as double[]
+        def q = [100d] as double[]
+
+        when:
+        sValueConnection.sendPrimaryData(0L, p, q, StandardUnits.ACTIVE_POWER_IN, StandardUnits.REACTIVE_POWER_IN, OptionalLong.of(900L), log)
+
+        then:
+        dataService.expectMessage(new ProvidePrimaryDataColumns(0L, [inputUuid], p, q, StandardUnits.ACTIVE_POWER_IN, StandardUnits.REACTIVE_POWER_IN, OptionalLong.of(900L)))
+        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
+
+        when:
+        pValueConnection.sendPrimaryData(900L, p, StandardUnits.ACTIVE_POWER_IN, OptionalLong.empty(), log)
+
+        then:
+        def message = dataService.expectMessageClass(ProvidePrimaryDataColumns)
+        message.toPrimaryData() == [(inputUuid): pValue]
+    }
+
+    def "ExtPrimaryDataConnection should throw an exception, if the number of primary data columns values does not match"() {
+        given:
+        def extPrimaryDataConnection = new ExtPrimaryDataConnection(assetToValueClasses)
+
+        when:
+        extPrimaryDataConnection.sendPrimaryData(0L, [1d, 2d] as double[], StandardUnits.ACTIVE_POWER_IN, OptionalLong.empty(), log)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "ExtPrimaryDataConnection should reject primary data columns, that do not match the value class of an asset"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def otherUuid = UUID.randomUUID()
+        def extPrimaryDataConnection = new ExtPrimaryDataConnection([(inputUuid): PValue, (otherUuid): SValue])
+        extPrimaryDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+        def pValueIndex = extPrimaryDataConnection.primaryDataAssets.indexOf(inputUuid)
+        def sValueIndex = extPrimaryDataConnection.primaryDataAssets.indexOf(otherUuid)
+
+        def p = new double[2]
+        p[pValueIndex] = 500d
+        p[sValueIndex] = Double.NaN
+
+        when: "active power is provided for an asset, that expects apparent power"
+        extPrimaryDataConnection.sendPrimaryData(0L, [500d, 500d] as double[], StandardUnits.ACTIVE_POWER_IN, OptionalLong.empty(), log)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when: "apparent power is provided for an asset, that expects active power"
+        extPrimaryDataConnection.sendPrimaryData(0L, [500d, 500d] as double[], [100d, 100d] as double[], StandardUnits.ACTIVE_POWER_IN, StandardUnits.REACTIVE_POWER_IN, OptionalLong.empty(), log)
+
+        then:
+        thrown(IllegalArgumentException)
+        dataService.expectNoMessage()
+
+        when: "assets without a value are not checked"
+        extPrimaryDataConnection.sendPrimaryData(0L, p, StandardUnits.ACTIVE_POWER_IN, OptionalLong.empty(), log)
+
+        then:
+        dataService.expectMessageClass(ProvidePrimaryDataColumns).toPrimaryData() == [(inputUuid): pValue]
+    }
+
+    def "ExtPrimaryDataConnection should return the primary data assets in a fixed order"() {
+        given:
+        def valueClasses = (0..<100).collectEntries { [(UUID.randomUUID()): PValue] }
+        def extPrimaryDataConnection = new ExtPrimaryDataConnection(valueClasses)
+
+        expect:
+        extPrimaryDataConnection.primaryDataAssets == extPrimaryDataConnection.primaryDataAssets
+        extPrimaryDataConnection.primaryDataAssets as Set == valueClasses.keySet()
+    }
+
+    def "ExtPrimaryDataConnection should only send changed primary data in delta mode"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def otherUuid = UUID.randomUUID()
+        def extPrimaryDataConnection = new ExtPrimaryDataConnection([(inputUuid): PValue, (otherUuid): SValue])
+        extPrimaryDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+        extPrimaryDataConnection.enableDeltaMode(
+                Quantities.getQuantity(1d, StandardUnits.ACTIVE_POWER_IN),
+                Quantities.getQuantity(1d, StandardUnits.REACTIVE_POWER_IN)
+        )
+
+        def sValue = new SValue(power, Quantities.getQuantity(100d, StandardUnits.REACTIVE_POWER_IN))
+        def smallChange = new PValue(Quantities.getQuantity(500.5d, StandardUnits.ACTIVE_POWER_IN))
+        def largeChange = new SValue(power, Quantities.getQuantity(102d, StandardUnits.REACTIVE_POWER_IN))
+
+        when:
+        extPrimaryDataConnection.sendPrimaryData(0L, [(inputUuid): pValue, (otherUuid): sValue], OptionalLong.of(900L), log)
+
+        then:
+        extPrimaryDataConnection.isDeltaMode()
+        dataService.expectMessage(new ProvidePrimaryData(0L, [(inputUuid): pValue, (otherUuid): sValue], OptionalLong.of(900L), true))
+
+        when:
+        extPrimaryDataConnection.sendPrimaryData(900L, [(inputUuid): smallChange, (otherUuid): sValue], OptionalLong.of(1800L), log)
+
+        then:
+        dataService.expectMessage(new ProvidePrimaryData(900L, [:], OptionalLong.of(1800L), true))
+
+        when:
+        extPrimaryDataConnection.sendPrimaryData(1800L, [(inputUuid): smallChange, (otherUuid): largeChange], OptionalLong.empty(), log)
+
+        then:
+        dataService.expectMessage(new ProvidePrimaryData(1800L, [(otherUuid): largeChange], OptionalLong.empty(), true))
+
+        when:
+        extPrimaryDataConnection.disableDeltaMode()
+        extPrimaryDataConnection.sendPrimaryData(2700L, [(inputUuid): smallChange], OptionalLong.empty(), log)
+
+        then:
+        !extPrimaryDataConnection.isDeltaMode()
+        dataService.expectMessage(new ProvidePrimaryData(2700L, [(inputUuid): smallChange], OptionalLong.empty(), false))
+    }
+
+    def "ExtPrimaryDataConnection should compare the changes with the last sent value in delta mode"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extPrimaryDataConnection = new ExtPrimaryDataConnection(assetToValueClasses)
+        extPrimaryDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+        extPrimaryDataConnection.enableDeltaMode(
+                Quantities.getQuantity(1d, StandardUnits.ACTIVE_POWER_IN),
+                Quantities.getQuantity(1d, StandardUnits.REACTIVE_POWER_IN)
+        )
+
+        def values = [500d, 500.6d, 501.2d].collect { new PValue(Quantities.getQuantity(it, StandardUnits.ACTIVE_POWER_IN)) }
+
+        when:
+        values.eachWithIndex { value, i ->
+            extPrimaryDataConnection.sendPrimaryData(i * 900L, [(inputUuid): value], OptionalLong.empty(), log)
+        }
+
+        then:
+        dataService.expectMessage(new ProvidePrimaryData(0L, [(inputUuid): values[0]], OptionalLong.empty(), true))
+        dataService.expectMessage(new ProvidePrimaryData(900L, [:], OptionalLong.empty(), true))
+        dataService.expectMessage(new ProvidePrimaryData(1800L, [(inputUuid): values[2]], OptionalLong.empty(), true))
+    }
+
+    def "ExtPrimaryDataConnection should not accept negative delta tolerances"() {
+        given:
+        def extPrimaryDataConnection = new ExtPrimaryDataConnection(assetToValueClasses)
+
+        when:
+        extPrimaryDataConnection.enableDeltaMode(
+                Quantities.getQuantity(-1d, StandardUnits.ACTIVE_POWER_IN),
+                Quantities.getQuantity(1d, StandardUnits.REACTIVE_POWER_IN)
+        )
+
+        then:
+        thrown(IllegalArgumentException)
+        !extPrimaryDataConnection.isDeltaMode()
+    }
 }
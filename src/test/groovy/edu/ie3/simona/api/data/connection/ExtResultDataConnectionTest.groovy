@@ -9,6 +9,9 @@ import org.apache.pekko.actor.testkit.typed.javadsl.ActorTestKit
 import spock.lang.Shared
 import spock.lang.Specification
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
 class ExtResultDataConnectionTest extends Specification implements DataServiceTestData {
 
     @Shared
@@ -36,16 +39,43 @@ class ExtResultDataConnectionTest extends Specification implements DataServiceTe
                 extSimAdapter.ref()
         )
 
-        def sentMsg = new ProvideResultEntities([loadResult])
+        def sentMsg = new ProvideResultEntities([(inputUuid): [loadResult]], 1L)
 
         when:
-        // we need to queue the msg beforehand because the receive method is blocking
+        // the request is blocking, therefore it is executed by another thread
+        def request = CompletableFuture.supplyAsync { extResultDataConnection.requestResults(0L, false) }
+        dataService.expectMessage(new RequestResultEntities(0L, [inputUuid], false, 1L))
+        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
         extResultDataConnection.queueExtResponseMsg(sentMsg)
-        def receivedResults = extResultDataConnection.requestResults(0L, false)
 
         then:
-        dataService.expectMessage(new RequestResultEntities(0L, [inputUuid], false))
-        extSimAdapter.expectMessage(new ScheduleDataServiceMessage(dataService.ref()))
-        receivedResults.get(inputUuid) == [loadResult]
+        request.get(3, TimeUnit.SECONDS).get(inputUuid) == [loadResult]
+    }
+
+    def "ExtResultsData should handle multiple pending result requests correctly"() {
+        given:
+        def dataService = testKit.createTestProbe(DataMessageFromExt)
+        def extSimAdapter = testKit.createTestProbe(ScheduleDataServiceMessage)
+        def extResultDataConnection = new ExtResultDataConnection(resultEntities)
+        extResultDataConnection.setActorRefs(
+                dataService.ref(),
+                extSimAdapter.ref()
+        )
+
+        when:
+        def first = extResultDataConnection.requestResultsAsync(0L, false)
+        def second = extResultDataConnection.requestResultsAsync(0L, [], true)
+
+        then:
+        dataService.expectMessage(new RequestResultEntities(0L, [inputUuid], false, 1L))
+        dataService.expectMessage(new RequestResultEntities(0L, [], true, 2L))
+
+        when:
+        extResultDataConnection.queueExtResponseMsg(new ProvideResultEntities([:], 2L))
+        extResultDataConnection.queueExtResponseMsg(new ProvideResultEntities([(inputUuid): [loadResult]], 1L))
+
+        then:
+        first.getNow(null) == [(inputUuid): [loadResult]]
+        second.getNow(null) == [:]
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,18 @@
 package edu.ie3.simona.api.data.connection
 
+import edu.ie3.datamodel.models.StandardUnits
 import edu.ie3.datamodel.models.result.NodeResult
+import edu.ie3.datamodel.models.result.ResultEntity
+import edu.ie3.datamodel.models.result.system.LoadResult
+import edu.ie3.util.quantities.PowerSystemUnits
 import edu.ie3.simona.api.ontology.results.ProvideResultEntities
 import edu.ie3.simona.api.exceptions.UnexpectedResponseMessageException
 import edu.ie3.simona.api.test.common.DataServiceTestData
 import spock.lang.Specification
+import tech.units.indriya.quantity.Quantities
+
+import java.time.ZonedDateTime
+import java.util.concurrent.Flow
 
 class ExtResultListenerTest extends Specification implements DataServiceTestData {
 
@@ -45,4 +53,185 @@ class ExtResultListenerTest extends Specification implements DataServiceTestData
         then:
         thrown(UnexpectedResponseMessageException)
     }
+
+    def "An ExtResultListener should dispatch results to subscriptions by asset and class"() {
+        given:
+        ExtResultListener listener = new ExtResultListener()
+        def nodeUuid = UUID.randomUUID()
+        def nodeResult = new NodeResult(
+                ZonedDateTime.parse("2020-01-30T17:26:44Z"),
+                nodeUuid,
+                Quantities.getQuantity(0.95, PowerSystemUnits.PU),
+                Quantities.getQuantity(45, StandardUnits.VOLTAGE_ANGLE)
+        )
+
+        List<ResultEntity> byAsset = []
+        List<NodeResult> byClass = []
+        listener.subscribe([inputUuid] as Set, { byAsset.add(it) })
+        listener.subscribe(NodeResult, { byClass.add(it) })
+
+        when:
+        listener.queueExtResponseMsg(new ProvideResultEntities([(inputUuid): [loadResult], (nodeUuid): [nodeResult]]))
+
+        then:
+        listener.subscriptionCount() == 2
+        byAsset == [loadResult]
+        byClass == [nodeResult]
+        listener.receiveAny() == new ProvideResultEntities([(inputUuid): [loadResult], (nodeUuid): [nodeResult]])
+    }
+
+    def "An ExtResultListener should not dispatch results to cancelled subscriptions"() {
+        given:
+        ExtResultListener listener = new ExtResultListener(false)
+        List<LoadResult> received = []
+        def subscription = listener.subscribe(LoadResult, { received.add(it) })
+
+        when:
+        listener.queueExtResponseMsg(new ProvideResultEntities([loadResult]))
+        subscription.cancel()
+        listener.queueExtResponseMsg(new ProvideResultEntities([loadResult]))
+
+        then:
+        subscription.isCancelled()
+        listener.subscriptionCount() == 0
+        received == [loadResult]
+        listener.receiveTriggerQueue.isEmpty()
+    }
+
+    def "An ExtResultListener should cancel a subscription, if its consumer fails"() {
+        given:
+        ExtResultListener listener = new ExtResultListener()
+        def exception = new IllegalStateException("failure")
+        List<ResultEntity> received = []
+        def failing = listener.subscribe([inputUuid] as Set, { throw exception })
+        def other = listener.subscribe([inputUuid] as Set, { received.add(it) })
+
+        when:
+        listener.queueExtResponseMsg(new ProvideResultEntities([loadResult]))
+
+        then:
+        failing.isCancelled()
+        failing.failure == Optional.of(exception)
+        !other.isCancelled()
+        other.failure == Optional.empty()
+        received == [loadResult]
+        listener.subscriptionCount() == 1
+    }
+
+    def "An ExtResultListener should only look up the results of subscribed assets"() {
+        given:
+        ExtResultListener listener = new ExtResultListener(false)
+        def otherResults = (1..10).collectEntries { [(UUID.randomUUID()): [loadResult]] }
+        List<ResultEntity> received = []
+        listener.subscribe([inputUuid, UUID.randomUUID()] as Set, { received.add(it) })
+
+        when:
+        listener.queueExtResponseMsg(new ProvideResultEntities([(inputUuid): [loadResult]] + otherResults))
+
+        then:
+        received == [loadResult]
+    }
+
+    def "An ExtResultListener should publish results to a flow subscriber"() {
+        given:
+        ExtResultListener listener = new ExtResultListener(false)
+        def subscriber = new TestSubscriber(Long.MAX_VALUE)
+        def subscription = listener.subscribe([inputUuid] as Set, subscriber, Runnable::run, 4, ExtResultListener.OverflowPolicy.DROP)
+
+        when:
+        listener.queueExtResponseMsg(new ProvideResultEntities([loadResult]))
+        subscription.cancel()
+
+        then:
+        subscriber.received == [loadResult]
+        subscriber.completed
+        subscriber.error == null
+        subscription.droppedResults() == 0
+    }
+
+    def "An ExtResultListener should drop results, if the buffer of a flow subscriber is full"() {
+        given:
+        ExtResultListener listener = new ExtResultListener(false)
+        // the subscriber does not request any results
+        def subscriber = new TestSubscriber(0)
+        def subscription = listener.subscribe(LoadResult, subscriber, Runnable::run, 1, ExtResultListener.OverflowPolicy.DROP)
+
+        when:
+        3.times { listener.queueExtResponseMsg(new ProvideResultEntities([loadResult])) }
+
+        then:
+        !subscription.isCancelled()
+        subscription.droppedResults() == 2
+        subscriber.received.isEmpty()
+    }
+
+    def "An ExtResultListener should cancel a flow subscription, if the buffer is full"() {
+        given:
+        ExtResultListener listener = new ExtResultListener(false)
+        def subscriber = new TestSubscriber(0)
+        def subscription = listener.subscribe(LoadResult, subscriber, Runnable::run, 1, ExtResultListener.OverflowPolicy.CANCEL)
+
+        when:
+        2.times { listener.queueExtResponseMsg(new ProvideResultEntities([loadResult])) }
+
+        then:
+        subscription.isCancelled()
+        subscription.failure.get() instanceof IllegalStateException
+        subscriber.error instanceof IllegalStateException
+        listener.subscriptionCount() == 0
+    }
+
+    def "An ExtResultListener should cancel a subscription, if the flow subscriber cancelled"() {
+        given:
+        ExtResultListener listener = new ExtResultListener(false)
+        def subscriber = new TestSubscriber(Long.MAX_VALUE)
+        def subscription = listener.subscribe([inputUuid] as Set, subscriber, Runnable::run, 4, ExtResultListener.OverflowPolicy.DROP)
+
+        when:
+        subscriber.subscription.cancel()
+        listener.queueExtResponseMsg(new ProvideResultEntities([loadResult]))
+        listener.queueExtResponseMsg(new ProvideResultEntities([loadResult]))
+
+        then:
+        subscription.isCancelled()
+        subscription.failure.isEmpty()
+        listener.subscriptionCount() == 0
+    }
+
+    /** Subscriber, that records the received results and requests a fixed number of results. */
+    private static class TestSubscriber implements Flow.Subscriber<ResultEntity> {
+        private final long requested
+        Flow.Subscription subscription
+        List<ResultEntity> received = []
+        Throwable error
+        boolean completed
+
+        TestSubscriber(long requested) {
+            this.requested = requested
+        }
+
+        @Override
+        void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription
+
+            if (requested > 0) {
+                subscription.request(requested)
+            }
+        }
+
+        @Override
+        void onNext(ResultEntity item) {
+            received.add(item)
+        }
+
+        @Override
+        void onError(Throwable throwable) {
+            error = throwable
+        }
+
+        @Override
+        void onComplete() {
+            completed = true
+        }
+    }
 }
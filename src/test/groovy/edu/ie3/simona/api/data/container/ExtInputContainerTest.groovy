@@ -1,7 +1,11 @@
 package edu.ie3.simona.api.data.container
 
 import edu.ie3.datamodel.models.value.PValue
+import edu.ie3.datamodel.models.value.Value
 import edu.ie3.simona.api.data.model.em.*
+import edu.ie3.simona.api.mapping.DataType
+import edu.ie3.simona.api.mapping.ExtEntityEntry
+import edu.ie3.simona.api.mapping.ExtEntityMapping
 import spock.lang.Specification
 import tech.units.indriya.quantity.Quantities
 
@@ -253,4 +257,233 @@ class ExtInputContainerTest extends Specification {
         container.flexOptions.size() == 1
         container.setPoints.size() == 0
     }
+
+    def "An ExtInputContainer should add and extract set point batches correctly"() {
+        given:
+        def container = new ExtInputContainer(0L)
+        def receivers = [UUID.randomUUID(), UUID.randomUUID()]
+        def batch = new SetPointBatch(receivers, [1d, 2d] as double[])
+
+        when:
+        container.addSetPoint(batch)
+
+        then:
+        !container.empty
+        container.hasEmData()
+        container.entryCount() == 2
+
+        when:
+        // the batch is reused after it was added
+        batch.setP(0, 5d)
+        def extracted = container.extractSetPointBatches()
+
+        then:
+        extracted.size() == 1
+        extracted[0] == new SetPointBatch(receivers, [1d, 2d] as double[])
+        container.empty
+        container.extractSetPoints().isEmpty()
+    }
+
+    def "An ExtInputContainer should extract the rows of set point batches as set points"() {
+        given:
+        def container = new ExtInputContainer(0L)
+        def receivers = [UUID.randomUUID(), UUID.randomUUID()]
+        def batch = new SetPointBatch(receivers, [1d, 2d] as double[])
+        def power = Quantities.getQuantity(10d, KILOWATT)
+
+        container.addSetPoint(batch)
+        container.addSetPoint(new SetPoint.AggregatedSetPoint(receivers[1], power))
+
+        when:
+        def extracted = container.extractSetPoints()
+
+        then:
+        extracted == [
+                (receivers[0]): new SetPoint.AggregatedSetPoint(receivers[0], Quantities.getQuantity(1d, SetPointBatch.P_UNIT)),
+                (receivers[1]): new SetPoint.AggregatedSetPoint(receivers[1], power)
+        ]
+        container.empty
+        !container.hasEmData()
+        container.extractSetPointBatches().isEmpty()
+    }
+
+    def "An ExtInputContainer should hand over the extracted data without copying"() {
+        given:
+        def container = new ExtInputContainer(0L)
+
+        UUID primaryUuid = UUID.randomUUID()
+        PValue primaryValue = new PValue(Quantities.getQuantity(10d, KILOWATT))
+        container.addPrimaryValue(primaryUuid, primaryValue)
+        def backingMap = container.primaryData
+
+        when:
+        def extracted = container.extractPrimaryData()
+        container.addPrimaryValue(UUID.randomUUID(), primaryValue)
+
+        then:
+        extracted.is(backingMap)
+        extracted == [(primaryUuid): primaryValue]
+        container.primaryData.size() == 1
+        !container.primaryData.is(extracted)
+
+        when:
+        def extractedMessages = container.extractEmMessages()
+
+        then:
+        extractedMessages.isEmpty()
+        container.extractEmMessages().isEmpty()
+        !container.extractEmMessages().is(extractedMessages)
+    }
+
+    def "An ExtInputContainer should recycle the given collections when extracting"() {
+        given:
+        def container = new ExtInputContainer(0L)
+        def receivers = [UUID.randomUUID(), UUID.randomUUID()]
+        def power = Quantities.getQuantity(10d, KILOWATT)
+        PValue primaryValue = new PValue(power)
+
+        container.addPrimaryValue(receivers[0], primaryValue)
+        container.addSetPoint(new SetPointBatch(receivers, [1d, 2d] as double[]))
+        container.addSetPoint(new SetPoint.AggregatedSetPoint(receivers[1], power))
+
+        Map<UUID, Value> recycled = [(UUID.randomUUID()): primaryValue]
+
+        when:
+        def extracted = container.extractPrimaryData(recycled)
+        def setPoints = container.extractSetPoints([:])
+
+        then:
+        extracted == [(receivers[0]): primaryValue]
+        setPoints == [
+                (receivers[0]): new SetPoint.AggregatedSetPoint(receivers[0], Quantities.getQuantity(1d, SetPointBatch.P_UNIT)),
+                (receivers[1]): new SetPoint.AggregatedSetPoint(receivers[1], power)
+        ]
+        container.empty
+        container.primaryData.is(recycled)
+
+        when:
+        container.addPrimaryValue(receivers[1], primaryValue)
+        def next = container.extractPrimaryData(extracted)
+
+        then:
+        next.is(recycled)
+        next == [(receivers[1]): primaryValue]
+        container.primaryData.is(extracted)
+        container.empty
+
+        when:
+        container.extractPrimaryData(container.primaryData)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "An ExtInputContainer should be reset correctly"() {
+        given:
+        def container = new ExtInputContainer(0L, OptionalLong.of(900L), 10, 5)
+        def asset = UUID.randomUUID()
+        def power = new PValue(Quantities.getQuantity(5d, KILOWATT))
+        container.addPrimaryValue(asset, power)
+        container.addRequest(asset)
+        container.addSetPoint(asset, power)
+
+        when:
+        container.reset(900L, OptionalLong.empty())
+
+        then:
+        container.isEmpty()
+        container.tick == 900L
+        container.maybeNextTick == OptionalLong.empty()
+
+        when:
+        container.addPrimaryValue(asset, power)
+
+        then:
+        container.extractPrimaryData() == [(asset): power]
+    }
+
+    def "An ExtInputContainer can be sized for an entity mapping"() {
+        given:
+        def primary = UUID.randomUUID()
+        def em = UUID.randomUUID()
+        def mapping = new ExtEntityMapping([
+            new ExtEntityEntry(primary, "primary", DataType.PRIMARY),
+            new ExtEntityEntry(em, "em", DataType.EM)
+        ])
+        def power = new PValue(Quantities.getQuantity(5d, KILOWATT))
+
+        when:
+        def container = ExtInputContainer.sizedFor(0L, OptionalLong.of(900L), mapping)
+        container.addPrimaryValue(primary, power)
+        container.addSetPoint(em, power)
+
+        then:
+        container.tick == 0L
+        container.maybeNextTick == OptionalLong.of(900L)
+        container.extractPrimaryData() == [(primary): power]
+        container.extractSetPoints() == [(em): new SetPoint.AggregatedSetPoint(em, power)]
+    }
+
+    def "An ExtInputContainer should not accept negative expected sizes"() {
+        when:
+        new ExtInputContainer(0L, OptionalLong.empty(), primary, em)
+
+        then:
+        IllegalArgumentException ex = thrown()
+        ex.message == "The expected number of entries must not be negative, but was -1!"
+
+        where:
+        primary | em
+        -1      | 0
+        0       | -1
+    }
+
+    def "An ExtInputContainer should merge another container for the same tick correctly"() {
+        given:
+        UUID asset = UUID.randomUUID()
+        UUID otherAsset = UUID.randomUUID()
+        UUID receiver = UUID.randomUUID()
+        UUID sender = UUID.randomUUID()
+        def oldValue = new PValue(Quantities.getQuantity(10d, KILOWATT))
+        def newValue = new PValue(Quantities.getQuantity(5d, KILOWATT))
+        def flexOptions1 = new PowerLimitFlexOptions(receiver, sender, Quantities.getQuantity(0d, KILOWATT), Quantities.getQuantity(2d, KILOWATT), Quantities.getQuantity(5d, KILOWATT))
+        def flexOptions2 = new PowerLimitFlexOptions(receiver, sender, Quantities.getQuantity(1d, KILOWATT), Quantities.getQuantity(2d, KILOWATT), Quantities.getQuantity(3d, KILOWATT))
+
+        def container = new ExtInputContainer(0L, 1800L)
+        container.addPrimaryValue(asset, oldValue)
+        container.addSetPoint(asset, oldValue)
+        container.addFlexOptions(flexOptions1)
+
+        def other = new ExtInputContainer(0L, 900L)
+        other.addPrimaryValue(asset, newValue)
+        other.addPrimaryValue(otherAsset, oldValue)
+        other.addSetPoint(asset, newValue)
+        other.addRequest(receiver)
+        other.addFlexOptions(flexOptions2)
+
+        when:
+        container.merge(other)
+
+        then:
+        container.maybeNextTick == OptionalLong.of(900L)
+        container.primaryData == [(asset): newValue, (otherAsset): oldValue]
+        container.setPoints == [(asset): new SetPoint.AggregatedSetPoint(asset, newValue)]
+        container.flexRequests == [(receiver): new FlexOptionRequest(receiver, false)]
+        container.flexOptions == [(receiver): [flexOptions1, flexOptions2]]
+        container.entryCount() == 5
+
+        other.primaryData.size() == 2
+    }
+
+    def "An ExtInputContainer should not merge a container for a different tick"() {
+        given:
+        def container = new ExtInputContainer(0L)
+
+        when:
+        container.merge(new ExtInputContainer(900L))
+
+        then:
+        IllegalArgumentException ex = thrown(IllegalArgumentException)
+        ex.message == "Cannot merge a container for tick 900 into a container for tick 0"
+    }
 }
@@ -6,6 +6,9 @@ import edu.ie3.datamodel.models.result.system.FlexOptionsResult
 import edu.ie3.datamodel.models.result.system.LoadResult
 import edu.ie3.simona.api.data.model.em.PowerLimitFlexOptions
 import edu.ie3.simona.api.data.model.em.SetPoint
+import edu.ie3.simona.api.mapping.DataType
+import edu.ie3.simona.api.mapping.ExtEntityEntry
+import edu.ie3.simona.api.mapping.ExtEntityMapping
 import edu.ie3.simona.api.test.common.DataServiceTestData
 import edu.ie3.util.quantities.PowerSystemUnits
 import spock.lang.Shared
@@ -87,6 +90,145 @@ class ExtOutputContainerTest extends Specification implements DataServiceTestDat
         flexOptionsResults == [:]
     }
 
+    def "ExtResultContainer should return specific results added one by one correctly"() {
+        given:
+        def container = new ExtOutputContainer(0L)
+        def otherLoadResult = new LoadResult(
+                loadResult.time,
+                inputUuid,
+                loadResult.p,
+                loadResult.q
+        )
+
+        when:
+        container.addResult(nodeUuid, nodeResult)
+        container.addResult(inputUuid, loadResult)
+        container.addResult(inputUuid, otherLoadResult)
+
+        then:
+        container.getResults(NodeResult) == [(nodeUuid): nodeResult]
+        container.getResults(LoadResult)[inputUuid].is(otherLoadResult)
+        container.getResult(inputUuid) == [loadResult, otherLoadResult]
+    }
+
+    def "ExtResultContainer should replace indexed results, when results are added for the same receiver"() {
+        given:
+        def container = new ExtOutputContainer(0L)
+        container.addResult(inputUuid, loadResult)
+        container.addResult(nodeUuid, nodeResult)
+
+        when:
+        container.addResults([(inputUuid): [nodeResult]])
+
+        then:
+        container.getResults(LoadResult) == [:]
+        container.getResults(NodeResult) == [(nodeUuid): nodeResult, (inputUuid): nodeResult]
+        container.getResults() == [(inputUuid): [nodeResult], (nodeUuid): [nodeResult]]
+    }
+
+    def "ExtResultContainer should return an unmodifiable view of specific results"() {
+        given:
+        def container = new ExtOutputContainer(0L)
+        container.addResult(nodeUuid, nodeResult)
+
+        when:
+        def view = container.getResultsView(NodeResult)
+
+        then:
+        view == [(nodeUuid): nodeResult]
+        container.getResultsView(LoadResult).isEmpty()
+
+        when:
+        view.remove(nodeUuid)
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "ExtResultContainer should store provided result lists without copying and return them unmodifiable"() {
+        given:
+        def container = new ExtOutputContainer(0L)
+        def results = [nodeResult]
+
+        when:
+        container.addResults([(nodeUuid): results])
+
+        then:
+        container.results[nodeUuid].is(results)
+        container.getResult(nodeUuid) == [nodeResult]
+
+        when:
+        container.getResult(nodeUuid).add(loadResult)
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "ExtResultContainer should add power results correctly"() {
+        given:
+        def container = new ExtOutputContainer(0L)
+
+        when:
+        container.addPowerResult(inputUuid, 10d, 5d)
+
+        then:
+        !container.isEmpty()
+        container.entryCount() == 1
+        container.results.isEmpty()
+
+        def powerResults = container.powerResults
+        powerResults.size() == 1
+        powerResults.getAsset(0) == inputUuid
+        powerResults.getP(0) == 10d
+        powerResults.getQ(0) == 5d
+    }
+
+    def "ExtResultContainer can be sized for an entity mapping"() {
+        given:
+        def mapping = new ExtEntityMapping([
+            new ExtEntityEntry(nodeUuid, "node", DataType.RESULT),
+            new ExtEntityEntry(inputUuid, "em", DataType.EM)
+        ])
+
+        when:
+        def container = ExtOutputContainer.sizedFor(0L, OptionalLong.of(900L), mapping)
+        container.addResult(nodeUuid, nodeResult)
+
+        then:
+        container.tick == 0L
+        container.maybeNextTick == OptionalLong.of(900L)
+        container.getResult(nodeUuid) == [nodeResult]
+    }
+
+    def "ExtResultContainer should be reset correctly"() {
+        given:
+        def container = new ExtOutputContainer(0L, OptionalLong.of(900L), 10, 5)
+        def otherUuid = UUID.randomUUID()
+        container.addResult(nodeUuid, nodeResult)
+        container.addEmData(inputUuid, new SetPoint.AggregatedSetPoint(inputUuid))
+        container.addPowerResult(inputUuid, 1d, 0.5d)
+
+        when:
+        container.reset(900L, OptionalLong.empty())
+
+        then:
+        container.isEmpty()
+        container.tick == 900L
+        container.maybeNextTick == OptionalLong.empty()
+        container.getResults(NodeResult).isEmpty()
+
+        when:
+        container.addPowerResult(otherUuid, 2d, 1d)
+        container.addPowerResult(inputUuid, 3d, 1.5d)
+
+        then:
+        def powerResults = container.powerResults
+        powerResults.size() == 2
+        powerResults.getAssetIndex(0) == 1
+        powerResults.getAssetIndex(1) == 0
+        powerResults.getP(1) == 3d
+    }
+
     def "ExtResultContainer should return specific em data correctly"() {
         given:
         def container = new ExtOutputContainer(900L)
@@ -0,0 +1,100 @@
+package edu.ie3.simona.api.data.container
+
+import edu.ie3.datamodel.models.StandardUnits
+import edu.ie3.datamodel.models.result.NodeResult
+import edu.ie3.datamodel.models.result.system.LoadResult
+import edu.ie3.simona.api.test.common.DataServiceTestData
+import edu.ie3.util.quantities.PowerSystemUnits
+import spock.lang.Specification
+import tech.units.indriya.quantity.Quantities
+
+import java.time.ZonedDateTime
+
+class PowerResultColumnsTest extends Specification implements DataServiceTestData {
+
+    def "PowerResultColumns should add rows correctly"() {
+        given:
+        def columns = new PowerResultColumns()
+        def asset1 = UUID.randomUUID()
+        def asset2 = UUID.randomUUID()
+
+        when:
+        columns.add(asset1, 1d, 0.5d)
+        columns.add(asset2, 2d, 1d)
+        columns.add(asset1, 3d, 1.5d)
+
+        then:
+        columns.size() == 3
+        columns.assetCount() == 2
+        columns.getAsset(0) == asset1
+        columns.getAsset(1) == asset2
+        columns.getAsset(2) == asset1
+        columns.getAssetIndex(2) == 0
+        columns.getAssetByIndex(1) == asset2
+        columns.indexOf(asset2) == OptionalInt.of(1)
+        columns.indexOf(UUID.randomUUID()) == OptionalInt.empty()
+        columns.getP(2) == 3d
+        columns.getQ(1) == 1d
+        columns.copyP() == [1d, 2d, 3d] as double[]
+        columns.copyQ() == [0.5d, 1d, 1.5d] as double[]
+    }
+
+    def "PowerResultColumns should grow beyond the expected number of rows"() {
+        given:
+        def columns = new PowerResultColumns(1)
+
+        when:
+        (0..<100).each { columns.add(UUID.randomUUID(), it, -it) }
+
+        then:
+        columns.size() == 100
+        columns.assetCount() == 100
+        columns.getP(99) == 99d
+        columns.getQ(99) == -99d
+    }
+
+    def "PowerResultColumns should throw an exception for invalid rows"() {
+        given:
+        def columns = new PowerResultColumns(16)
+        columns.add(UUID.randomUUID(), 1d, 1d)
+
+        when:
+        columns.getP(1)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+
+    def "PowerResultColumns should be created from system participant results"() {
+        given:
+        def nodeUuid = UUID.randomUUID()
+        def nodeResult = new NodeResult(
+                ZonedDateTime.parse("2020-01-30T17:26:44Z"),
+                nodeUuid,
+                Quantities.getQuantity(0.95, PowerSystemUnits.PU),
+                Quantities.getQuantity(45, StandardUnits.VOLTAGE_ANGLE)
+        )
+        def kwResult = new LoadResult(
+                loadResult.time,
+                nodeUuid,
+                Quantities.getQuantity(500, PowerSystemUnits.KILOWATT),
+                Quantities.getQuantity(200, PowerSystemUnits.KILOVAR)
+        )
+
+        when:
+        def columns = PowerResultColumns.from([
+            (inputUuid): [loadResult],
+            (nodeUuid): [nodeResult, kwResult]
+        ])
+
+        then:
+        columns.size() == 2
+
+        def loadRow = columns.getAsset(0) == inputUuid ? 0 : 1
+        columns.getP(loadRow) == 10d
+        columns.getQ(loadRow) == 5d
+        columns.getAsset(1 - loadRow) == nodeUuid
+        columns.getP(1 - loadRow) == 0.5d
+        columns.getQ(1 - loadRow) == 0.2d
+    }
+}
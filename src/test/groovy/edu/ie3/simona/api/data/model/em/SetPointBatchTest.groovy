@@ -0,0 +1,126 @@
+package edu.ie3.simona.api.data.model.em
+
+import edu.ie3.util.quantities.PowerSystemUnits
+import spock.lang.Shared
+import spock.lang.Specification
+import tech.units.indriya.quantity.Quantities
+
+class SetPointBatchTest extends Specification {
+
+    @Shared
+    private List<UUID> receivers = [
+            UUID.fromString("978554e5-32cc-4221-bd39-84beac60f327"),
+            UUID.fromString("06a14909-366e-4e94-a593-1016e1455b30"),
+            UUID.fromString("5f9a1c4e-0d2b-4a47-8a6e-3c6f0b7e2d11")
+    ]
+
+    def "A SetPointBatch without values should contain no set points"() {
+        when:
+        def batch = new SetPointBatch(receivers)
+
+        then:
+        batch.size() == 3
+        batch.setPointCount() == 0
+        !batch.hasSetPoint(0)
+        batch.getP(0).naN
+        batch.receivers == receivers
+    }
+
+    def "A SetPointBatch should set and clear set points correctly"() {
+        given:
+        def batch = new SetPointBatch(receivers)
+
+        when:
+        batch.setP(0, 5d)
+        batch.setP(2, -3d)
+
+        then:
+        batch.setPointCount() == 2
+        batch.hasSetPoint(0)
+        !batch.hasSetPoint(1)
+        batch.getP(0) == 5d
+        batch.getReceiver(2) == receivers[2]
+        batch.copyP()[0] == 5d
+        batch.copyP()[1].naN
+        batch.copyP()[2] == -3d
+
+        when:
+        batch.clearP(0)
+
+        then:
+        batch.setPointCount() == 1
+        !batch.hasSetPoint(0)
+
+        when:
+        batch.clear()
+
+        then:
+        batch.setPointCount() == 0
+    }
+
+    def "A SetPointBatch should check the rows"() {
+        given:
+        def batch = new SetPointBatch(receivers)
+
+        when:
+        batch.setP(3, 1d)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+
+    def "A SetPointBatch should not accept a wrong number of values"() {
+        when:
+        new SetPointBatch(receivers, [1d] as double[])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "A SetPointBatch should be converted into set points correctly"() {
+        given:
+        def batch = new SetPointBatch(receivers, [1d, 2d, 3d] as double[])
+        batch.clearP(1)
+
+        when:
+        def setPoints = batch.toSetPoints()
+
+        then:
+        setPoints == [
+                (receivers[0]): new SetPoint.AggregatedSetPoint(receivers[0], Quantities.getQuantity(1d, PowerSystemUnits.KILOWATT)),
+                (receivers[1]): new SetPoint.AggregatedSetPoint(receivers[1]),
+                (receivers[2]): new SetPoint.AggregatedSetPoint(receivers[2], Quantities.getQuantity(3d, PowerSystemUnits.KILOWATT))
+        ]
+    }
+
+    def "Two SetPointBatches with the same set points should be equal"() {
+        given:
+        def first = new SetPointBatch(receivers, [1d, 2d, 3d] as double[])
+        def second = new SetPointBatch(receivers, [1d, 4d, 3d] as double[])
+
+        when:
+        first.clearP(1)
+        second.clearP(1)
+
+        then:
+        first == second
+        first.hashCode() == second.hashCode()
+    }
+
+    def "A copy of a SetPointBatch should not be changed by the original batch"() {
+        given:
+        def batch = new SetPointBatch(receivers, [1d, 2d, 3d] as double[])
+        batch.clearP(1)
+
+        when:
+        def copy = batch.copy()
+        batch.clear()
+        batch.setP(0, 5d)
+
+        then:
+        copy == new SetPointBatch(receivers, [1d, 4d, 3d] as double[]).tap { clearP(1) }
+        copy.getReceivers().is(batch.getReceivers())
+        batch.getP(0) == 5d
+        !batch.hasSetPoint(2)
+    }
+}
@@ -0,0 +1,103 @@
+package edu.ie3.simona.api.mapping
+
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static edu.ie3.simona.api.mapping.EmHierarchy.NONE
+
+class EmHierarchyTest extends Specification {
+
+    // ordinals: 0 = root em, 1 and 2 = ems below root, 3 = participant below 1, 4 = participant below 2,
+    // 5 = participant without em, 6 = participant below root, 7 = separate em
+    @Shared
+    int[] parents = [NONE, 0, 0, 1, 2, NONE, 0, NONE]
+
+    @Shared
+    Set<Integer> ems = [0, 1, 2, 7] as Set
+
+    def "An EmHierarchy should contain all ems and controlled participants"() {
+        when:
+        def hierarchy = new EmHierarchy(parents, { ems.contains(it) })
+
+        then:
+        hierarchy.size() == 7
+        (0..7).findAll { hierarchy.contains(it) } == [0, 1, 2, 3, 4, 6, 7]
+        !hierarchy.contains(-1)
+        !hierarchy.contains(8)
+        hierarchy.roots() == [0, 7] as int[]
+    }
+
+    def "An EmHierarchy should return parents and children correctly"() {
+        given:
+        def hierarchy = new EmHierarchy(parents, { ems.contains(it) })
+
+        expect:
+        hierarchy.parentOf(0) == NONE
+        hierarchy.parentOf(3) == 1
+        hierarchy.parentOf(6) == 0
+        hierarchy.childrenOf(0) == [1, 2, 6] as int[]
+        hierarchy.childrenOf(1) == [3] as int[]
+        hierarchy.childrenOf(3) == [] as int[]
+        hierarchy.childCount(0) == 3
+        hierarchy.childCount(7) == 0
+    }
+
+    def "An EmHierarchy should return the levels correctly"() {
+        given:
+        def hierarchy = new EmHierarchy(parents, { ems.contains(it) })
+
+        expect:
+        hierarchy.levelCount() == 3
+        hierarchy.atLevel(0) == [0, 7] as int[]
+        hierarchy.atLevel(1) == [1, 2, 6] as int[]
+        hierarchy.atLevel(2) == [3, 4] as int[]
+        hierarchy.levelOf(0) == 0
+        hierarchy.levelOf(6) == 1
+        hierarchy.levelOf(4) == 2
+    }
+
+    def "An EmHierarchy should return subtrees correctly"() {
+        given:
+        def hierarchy = new EmHierarchy(parents, { ems.contains(it) })
+
+        expect:
+        hierarchy.subtree(0) == [0, 1, 3, 2, 4, 6] as int[]
+        hierarchy.subtree(2) == [2, 4] as int[]
+        hierarchy.subtree(7) == [7] as int[]
+        hierarchy.subtreeSize(0) == 6
+        hierarchy.isInSubtree(0, 4)
+        hierarchy.isInSubtree(1, 1)
+        !hierarchy.isInSubtree(1, 4)
+        !hierarchy.isInSubtree(0, 7)
+        !hierarchy.isInSubtree(0, 5)
+    }
+
+    def "An EmHierarchy should throw an exception for ordinals, that are no members"() {
+        given:
+        def hierarchy = new EmHierarchy(parents, { ems.contains(it) })
+
+        when:
+        hierarchy.parentOf(5)
+
+        then:
+        IllegalArgumentException ex = thrown()
+        ex.message == "The ordinal 5 is not part of the em hierarchy!"
+    }
+
+    def "An EmHierarchy should throw an exception for a cycle"() {
+        when:
+        new EmHierarchy([1, 0] as int[], { true })
+
+        then:
+        IllegalArgumentException ex = thrown()
+        ex.message == "The em hierarchy contains a cycle!"
+    }
+
+    def "An empty EmHierarchy should not contain any member"() {
+        expect:
+        EmHierarchy.EMPTY_HIERARCHY.size() == 0
+        EmHierarchy.EMPTY_HIERARCHY.levelCount() == 0
+        EmHierarchy.EMPTY_HIERARCHY.roots() == [] as int[]
+        !EmHierarchy.EMPTY_HIERARCHY.contains(0)
+    }
+}
@@ -14,8 +14,12 @@ import edu.ie3.datamodel.models.voltagelevels.GermanVoltageLevelUtils
 import edu.ie3.util.quantities.PowerSystemUnits
 import spock.lang.Shared
 import spock.lang.Specification
+import spock.lang.TempDir
 import tech.units.indriya.quantity.Quantities
 
+import java.nio.file.Files
+import java.nio.file.Path
+
 import static edu.ie3.simona.api.mapping.DataType.*
 
 class ExtEntityMappingTest extends Specification {
@@ -43,6 +47,9 @@ class ExtEntityMappingTest extends Specification {
     @Shared
     ExtEntityEntry extEmInputEntry = new ExtEntityEntry(emUuid, "Em", Optional.empty(), EM)
 
+    @TempDir
+    Path tempDir
+
 
     def "ExtEntityMapping can be created from a grid container correctly"() {
         given:
@@ -82,6 +89,51 @@ class ExtEntityMappingTest extends Specification {
         mapping.ems == [em.uuid] as Set
     }
 
+    def "ExtEntityMapping should resolve all controlling ems of a grid"() {
+        given:
+        def node = new NodeInput(UUID.randomUUID(), "node", Quantities.getQuantity(1d, PowerSystemUnits.PU), false, NodeInput.DEFAULT_GEO_POSITION, GermanVoltageLevelUtils.LV, 1)
+        def root = new EmInput(UUID.randomUUID(), "root", "", null)
+        def middle = new EmInput(UUID.randomUUID(), "middle", "", root)
+        def leafs = (0..<3).collect { new EmInput(UUID.randomUUID(), "leaf_" + it, "", middle) }
+
+        List<SystemParticipantInput> participantInputs = (0..<participantCount).collect {
+            new FixedFeedInInput(UUID.randomUUID(), "ffi_" + it, node, null, leafs[it % leafs.size()], Quantities.getQuantity(10, PowerSystemUnits.KILOVOLTAMPERE), 0.9) as SystemParticipantInput
+        }
+
+        def grid = new SubGridContainer(
+                "test grid",
+                1,
+                new RawGridElements([node]),
+                new SystemParticipants(participantInputs),
+                new GraphicElements([])
+        )
+
+        when:
+        def mapping = new ExtEntityMapping(grid)
+
+        then:
+        mapping.ems == ([root, middle] + leafs).collect { it.uuid } as Set
+        mapping.participants == participantInputs.collect { it.uuid } as Set
+        mapping.gridAssets == [node.uuid] as Set
+        mapping.size() == participantCount + 6
+        mapping.from("middle") == middle.uuid
+        mapping.from("ffi_" + (participantCount - 1)) == participantInputs.last().uuid
+        mapping.getAssets(RESULT).take(participantCount + 1) == [node.uuid] + participantInputs.collect { it.uuid }
+
+        def hierarchy = mapping.emHierarchy
+        hierarchy.size() == participantCount + 5
+        hierarchy.roots() == [mapping.ordinalOf(root.uuid)] as int[]
+        hierarchy.levelCount() == 4
+        hierarchy.parentOf(mapping.ordinalOf(middle.uuid)) == mapping.ordinalOf(root.uuid)
+        hierarchy.parentOf(mapping.ordinalOf(participantInputs[1].uuid)) == mapping.ordinalOf(leafs[1].uuid)
+        hierarchy.childCount(mapping.ordinalOf(middle.uuid)) == 3
+        hierarchy.subtreeSize(mapping.ordinalOf(leafs[0].uuid)) == 1 + (participantCount + 2).intdiv(3)
+        !hierarchy.contains(mapping.ordinalOf(node.uuid))
+
+        where:
+        participantCount << [3, 20000]
+    }
+
     def "ExtEntityMapping can include specific external ids correctly"() {
         given:
         def node = new NodeInput(UUID.randomUUID(), "node", Quantities.getQuantity(1d, PowerSystemUnits.PU), false, NodeInput.DEFAULT_GEO_POSITION, GermanVoltageLevelUtils.LV, 1)
@@ -109,6 +161,270 @@ class ExtEntityMappingTest extends Specification {
         updated.getAssets(RESULT) == [participant.uuid]
     }
 
+    def "ExtEntityMapping should return the ordinals correctly"() {
+        given:
+        def extEntryMapping = new ExtEntityMapping([extResultEntry, extInputEntry, extPrimaryResultEntry, extEmInputEntry])
+
+        expect:
+        extEntryMapping.size() == 4
+        extEntryMapping.ordinalOf(loadUuid) == 0
+        extEntryMapping.ordinalOf(emUuid) == 3
+        extEntryMapping.ordinalOf("PV") == 1
+        extEntryMapping.ordinalOf(UUID.randomUUID()) == -1
+        extEntryMapping.ordinalOf("unknown") == -1
+        extEntryMapping.uuidOf(2) == prUuid
+        extEntryMapping.idOf(2) == "PR"
+        extEntryMapping.emHierarchy.size() == 0
+    }
+
+    def "ExtEntityMapping should override the mapping of an entry correctly"() {
+        given:
+        def extEntryMapping = new ExtEntityMapping([extResultEntry])
+
+        when:
+        def updated = extEntryMapping.include([new ExtEntityEntry(loadUuid, "NewLoad", RESULT), new ExtEntityEntry(pvUuid, "Load", PRIMARY)])
+
+        then:
+        updated.from(loadUuid) == "NewLoad"
+        updated.from("NewLoad") == loadUuid
+        updated.from("Load") == pvUuid
+        updated.extUuid2IdMapping == [(loadUuid): "NewLoad", (pvUuid): "Load"]
+        updated.extId2UuidMapping == ["NewLoad": loadUuid, "Load": pvUuid]
+
+        // the original mapping is not changed
+        extEntryMapping.from(loadUuid) == "Load"
+        extEntryMapping.from("Load") == loadUuid
+        !extEntryMapping.contains(pvUuid)
+    }
+
+    def "ExtEntityMapping should cache the assets of a data type"() {
+        given:
+        def mapping = new ExtEntityMapping([extResultEntry, extInputEntry])
+
+        when:
+        def assets = mapping.getAssets(RESULT)
+
+        then:
+        assets == [loadUuid]
+        mapping.getAssets(RESULT).is(assets)
+
+        when:
+        assets.add(pvUuid)
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "ExtEntityMapping should update the cached assets after including ids"() {
+        given:
+        def mapping = new ExtEntityMapping([extResultEntry])
+        def cached = mapping.getAssets(RESULT)
+
+        when:
+        mapping.includeIds(RESULT, [pvUuid], Optional.empty())
+
+        then:
+        cached == [loadUuid]
+        mapping.getAssets(RESULT) == [loadUuid, pvUuid]
+    }
+
+    def "ExtEntityMapping should include each entry only for its own data type"() {
+        given:
+        def mapping = new ExtEntityMapping([extResultEntry])
+
+        when:
+        def updated = mapping.include([extInputEntry, extEmInputEntry, extPrimaryResultEntry])
+
+        then:
+        updated.getAssets(RESULT) == [loadUuid, prUuid]
+        updated.getAssets(PRIMARY) == [pvUuid, prUuid]
+        updated.getAssets(EM) == [emUuid]
+        updated.dataTypes == [PRIMARY, EM, RESULT] as Set
+    }
+
+    def "ExtEntityMapping should share unchanged data with the included mapping"() {
+        given:
+        def mapping = new ExtEntityMapping([extResultEntry, extInputEntry])
+
+        when:
+        def updated = mapping.include(PRIMARY, ["Load"], Optional.empty())
+
+        then:
+        // known uuids and ids are not copied
+        updated.@uuids.is(mapping.@uuids)
+        updated.@ids.is(mapping.@ids)
+        !updated.@flags.is(mapping.@flags)
+
+        updated.getAssets(PRIMARY) == [loadUuid, pvUuid]
+        mapping.getAssets(PRIMARY) == [pvUuid]
+    }
+
+    def "ExtEntityMapping should copy shared data before changing it"() {
+        given:
+        def mapping = new ExtEntityMapping([extResultEntry])
+        def updated = mapping.include([extInputEntry])
+
+        when:
+        mapping.includeIds(EM, [emUuid], Optional.empty())
+
+        then:
+        !updated.@uuids.is(mapping.@uuids)
+        mapping.ordinalOf(emUuid) == 1
+        mapping.getAssets(EM) == [emUuid]
+        updated.ordinalOf(emUuid) == -1
+        updated.getAssets(EM) == []
+        updated.from("PV") == pvUuid
+        mapping.from("PV") == null
+    }
+
+    def "ExtEntityMapping should include a large number of entries"() {
+        given:
+        def mapping = new ExtEntityMapping([extResultEntry])
+        def entries = (0..<50000).collect { new ExtEntityEntry(UUID.randomUUID(), "entry_" + it, RESULT) }
+
+        when:
+        def updated = mapping.include(entries)
+
+        then:
+        updated.size() == 50001
+        updated.getAssets(RESULT).size() == 50001
+        updated.from("entry_49999") == entries.last().uuid()
+        mapping.size() == 1
+    }
+
+    def "ExtEntityMapping can be written to and read from a file"() {
+        given:
+        def file = tempDir.resolve("mapping.bin")
+        def mapping = new ExtEntityMapping([extResultEntry, extInputEntry, extPrimaryResultEntry, extEmInputEntry])
+                .include([new ExtEntityEntry(loadUuid, "NewLoad", RESULT)])
+
+        when:
+        mapping.write(file)
+        def read = ExtEntityMapping.read(file)
+
+        then:
+        read.size() == 4
+        read.ordinalOf(prUuid) == mapping.ordinalOf(prUuid)
+        read.from("NewLoad") == loadUuid
+        read.from(loadUuid) == "NewLoad"
+        read.extUuid2IdMapping == mapping.extUuid2IdMapping
+        read.primaryMapping == mapping.primaryMapping
+        read.dataTypes == mapping.dataTypes
+        DataType.values().every { read.getAssets(it) == mapping.getAssets(it) }
+
+        when:
+        def updated = read.include([new ExtEntityEntry(UUID.randomUUID(), "New", EM)])
+
+        then:
+        updated.size() == 5
+        updated.getAssets(EM).size() == 2
+        read.size() == 4
+    }
+
+    def "ExtEntityMapping read from a file should only change copies of its tables"() {
+        given:
+        def file = tempDir.resolve("views.bin")
+        new ExtEntityMapping([extResultEntry, extInputEntry]).write(file)
+        def read = ExtEntityMapping.read(file)
+
+        when:
+        def renamed = read.include([new ExtEntityEntry(loadUuid, "Renamed", ColumnScheme.parse("p"), PRIMARY)])
+
+        then:
+        renamed.from(loadUuid) == "Renamed"
+        renamed.from("Load") == null
+        renamed.primaryMapping.keySet() == [loadUuid, pvUuid] as Set
+        renamed.getAssets(PRIMARY) == [loadUuid, pvUuid]
+        read.from(loadUuid) == "Load"
+        read.from("Renamed") == null
+        read.primaryMapping.keySet() == [pvUuid] as Set
+        read.getAssets(PRIMARY) == [pvUuid]
+        read.emHierarchy.size() == 0
+    }
+
+    def "ExtEntityMapping can write and read the em hierarchy of a grid"() {
+        given:
+        def file = tempDir.resolve("grid.bin")
+        def node = new NodeInput(UUID.randomUUID(), "node", Quantities.getQuantity(1d, PowerSystemUnits.PU), false, NodeInput.DEFAULT_GEO_POSITION, GermanVoltageLevelUtils.LV, 1)
+        def root = new EmInput(UUID.randomUUID(), "root", "", null)
+        def leaf = new EmInput(UUID.randomUUID(), "leaf", "", root)
+        def participant = new FixedFeedInInput(UUID.randomUUID(), "ffi", node, null, leaf, Quantities.getQuantity(10, PowerSystemUnits.KILOVOLTAMPERE), 0.9)
+
+        def grid = new SubGridContainer(
+                "test grid",
+                1,
+                new RawGridElements([node]),
+                new SystemParticipants([participant as SystemParticipantInput]),
+                new GraphicElements([])
+        )
+        def mapping = new ExtEntityMapping(grid)
+
+        when:
+        mapping.write(file)
+        def read = ExtEntityMapping.read(file)
+
+        then:
+        read.extId2UuidMapping == mapping.extId2UuidMapping
+        read.gridAssets == [node.uuid] as Set
+        read.participants == [participant.uuid] as Set
+        read.ems == [root.uuid, leaf.uuid] as Set
+        read.getAssets(RESULT) == mapping.getAssets(RESULT)
+
+        def hierarchy = read.emHierarchy
+        hierarchy.size() == 3
+        hierarchy.levelCount() == 3
+        hierarchy.parentOf(read.ordinalOf(participant.uuid)) == read.ordinalOf(leaf.uuid)
+        hierarchy.roots() == [read.ordinalOf(root.uuid)] as int[]
+    }
+
+    def "ExtEntityMapping can write and read a grid mapping with included entries"() {
+        given:
+        def file = tempDir.resolve("included.bin")
+        def node = new NodeInput(UUID.randomUUID(), "node", Quantities.getQuantity(1d, PowerSystemUnits.PU), false, NodeInput.DEFAULT_GEO_POSITION, GermanVoltageLevelUtils.LV, 1)
+        def em = new EmInput(UUID.randomUUID(), "em", "", null)
+        def participant = new FixedFeedInInput(UUID.randomUUID(), "ffi", node, null, em, Quantities.getQuantity(10, PowerSystemUnits.KILOVOLTAMPERE), 0.9)
+
+        def grid = new SubGridContainer(
+                "test grid",
+                1,
+                new RawGridElements([node]),
+                new SystemParticipants([participant as SystemParticipantInput]),
+                new GraphicElements([])
+        )
+        def mapping = new ExtEntityMapping(grid).include([extResultEntry, extEmInputEntry])
+
+        when:
+        mapping.write(file)
+        def read = ExtEntityMapping.read(file)
+
+        then:
+        read.size() == 5
+        read.extId2UuidMapping == mapping.extId2UuidMapping
+        read.getAssets(RESULT) == mapping.getAssets(RESULT)
+        read.getAssets(EM) == mapping.getAssets(EM)
+
+        def hierarchy = read.emHierarchy
+        hierarchy.size() == 2
+        hierarchy.parentOf(read.ordinalOf(participant.uuid)) == read.ordinalOf(em.uuid)
+        !hierarchy.contains(read.ordinalOf(loadUuid))
+        !hierarchy.contains(read.ordinalOf(emUuid))
+    }
+
+    def "ExtEntityMapping should throw an exception when reading an invalid file"() {
+        given:
+        def file = tempDir.resolve("invalid.bin")
+        Files.write(file, content as byte[])
+
+        when:
+        ExtEntityMapping.read(file)
+
+        then:
+        thrown(IOException)
+
+        where:
+        content << [[], [1, 2, 3, 4, 5, 6, 7, 8], [0x53, 0x58, 0x45, 0x4D, 0, 0, 0, 1, 0, 0, 0, 5]]
+    }
+
     def "ExtEntityMapping should return the data types correctly"() {
         when:
         def extEntryMapping = new ExtEntityMapping(assets)
@@ -160,6 +476,24 @@ class ExtEntityMappingTest extends Specification {
         inputMap.get(emUuid) == "Em"
     }
 
+    def "ExtEntityMapping should cache the derived maps until the mapping is changed"() {
+        given:
+        def mapping = new ExtEntityMapping([extResultEntry, extInputEntry])
+
+        when:
+        def updated = mapping.include([extEmInputEntry])
+
+        then:
+        mapping.getPrimaryMapping().is(mapping.getPrimaryMapping())
+        mapping.getExtId2UuidMapping().is(mapping.getExtId2UuidMapping())
+        mapping.getExtUuid2IdMapping().is(mapping.getExtUuid2IdMapping())
+
+        mapping.getExtId2UuidMapping() == ["Load": loadUuid, "PV": pvUuid]
+        updated.getExtId2UuidMapping() == ["Load": loadUuid, "PV": pvUuid, "Em": emUuid]
+        updated.getExtUuid2IdMapping() == [(loadUuid): "Load", (pvUuid): "PV", (emUuid): "Em"]
+        updated.getPrimaryMapping() == mapping.getPrimaryMapping()
+    }
+
     def "ExtEntityMapping should return SIMONA uuid mapping correctly"() {
         given:
         def extAssetList = [extResultEntry, extInputEntry, extPrimaryResultEntry, extEmInputEntry]
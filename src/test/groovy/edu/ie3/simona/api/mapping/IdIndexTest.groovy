@@ -0,0 +1,100 @@
+package edu.ie3.simona.api.mapping
+
+import spock.lang.Specification
+
+class IdIndexTest extends Specification {
+
+    def "An IdIndex should look up ids correctly"() {
+        given:
+        def index = new IdIndex(0)
+
+        when:
+        (0..<100).each { index.put(it, "id_" + it) }
+
+        then:
+        (0..<100).every { index.indexOf("id_" + it) == it && index.get(it) == "id_" + it }
+        index.indexOf("unknown") == -1
+        index.get(100) == null
+    }
+
+    def "An IdIndex should reassign an id to another ordinal"() {
+        given:
+        def index = new IdIndex(10)
+        index.put(0, "a")
+
+        when:
+        index.put(1, "a")
+
+        then:
+        index.indexOf("a") == 1
+        index.get(0) == "a"
+        !index.isOwner(0)
+        index.isOwner(1)
+    }
+
+    def "An IdIndex should change the id of an ordinal"() {
+        given:
+        def index = new IdIndex(10)
+        index.put(0, "a")
+
+        when:
+        index.put(0, "b")
+        index.put(1, "a")
+
+        then:
+        index.indexOf("a") == 1
+        index.indexOf("b") == 0
+        index.isOwner(0)
+        index.isOwner(1)
+    }
+
+    def "An IdIndex should keep the owners of the ids while growing"() {
+        given:
+        def index = new IdIndex(0)
+
+        when:
+        (0..<50).each { index.put(it, "id_" + it) }
+        (0..<50).each { index.put(it + 50, "id_" + it) }
+        (0..<50).each { index.put(it + 100, "new_" + it) }
+
+        then:
+        (0..<50).every { index.indexOf("id_" + it) == it + 50 && !index.isOwner(it) }
+        (0..<50).every { index.indexOf("new_" + it) == it + 100 }
+    }
+
+    def "An IdIndex read from a buffer should look up ids and be copied before it is changed"() {
+        given:
+        def index = new IdIndex(10)
+        index.put(0, "a")
+        index.put(2, "ö")
+        index.put(3, "a")
+
+        def out = new ByteArrayOutputStream()
+        index.writeTo(new DataOutputStream(out), 4)
+        def read = IdIndex.readFrom(java.nio.ByteBuffer.wrap(out.toByteArray()), 4)
+
+        expect:
+        read.indexOf("a") == 3
+        read.indexOf("ö") == 2
+        read.indexOf("b") == -1
+        read.get(0) == "a"
+        read.get(1) == null
+        !read.isOwner(0)
+        read.isOwner(3)
+
+        when:
+        read.put(1, "b")
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        def copy = read.copy()
+        copy.put(1, "b")
+
+        then:
+        copy.indexOf("b") == 1
+        copy.indexOf("ö") == 2
+        read.indexOf("b") == -1
+    }
+}
@@ -0,0 +1,116 @@
+package edu.ie3.simona.api.mapping
+
+import spock.lang.Specification
+
+class UuidIndexTest extends Specification {
+
+    def "A UuidIndex should assign dense ordinals correctly"() {
+        given:
+        def index = new UuidIndex(0)
+        def uuids = (0..<100).collect { UUID.randomUUID() }
+
+        when:
+        def ordinals = uuids.collect { index.add(it) }
+
+        then:
+        ordinals == (0..<100).toList()
+        index.size() == 100
+        uuids.every { index.indexOf(it) == uuids.indexOf(it) }
+        uuids.every { index.get(index.indexOf(it)) == it }
+    }
+
+    def "A UuidIndex should return the existing ordinal for a known uuid"() {
+        given:
+        def index = new UuidIndex(10)
+        def uuid = UUID.randomUUID()
+        index.add(UUID.randomUUID())
+        index.add(uuid)
+
+        expect:
+        index.add(uuid) == 1
+        index.add(new UUID(uuid.mostSignificantBits, uuid.leastSignificantBits)) == 1
+        index.size() == 2
+    }
+
+    def "A UuidIndex should return -1 for unknown uuids"() {
+        given:
+        def index = new UuidIndex(10)
+        index.add(UUID.randomUUID())
+
+        expect:
+        index.indexOf(UUID.randomUUID()) == -1
+    }
+
+    def "A UuidIndex should throw an exception for an unknown ordinal"() {
+        given:
+        def index = new UuidIndex(10)
+        index.add(UUID.randomUUID())
+
+        when:
+        index.get(1)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+
+    def "A copy of a UuidIndex should be independent"() {
+        given:
+        def index = new UuidIndex(10)
+        def uuid = UUID.randomUUID()
+        index.add(uuid)
+
+        when:
+        def copy = index.copy()
+        def other = UUID.randomUUID()
+        copy.add(other)
+
+        then:
+        copy.indexOf(uuid) == 0
+        copy.indexOf(other) == 1
+        index.indexOf(other) == -1
+        index.size() == 1
+    }
+
+    def "A UuidIndex should return equal uuids after copying and reading"() {
+        given:
+        def index = new UuidIndex(10)
+        def uuid = UUID.randomUUID()
+        index.add(uuid)
+
+        def out = new ByteArrayOutputStream()
+        index.writeTo(new DataOutputStream(out))
+        def read = UuidIndex.readFrom(java.nio.ByteBuffer.wrap(out.toByteArray()))
+
+        expect:
+        index.get(0) == uuid
+        index.copy().get(0) == uuid
+        read.get(0) == uuid
+    }
+
+    def "A UuidIndex read from a buffer should be copied before uuids are added"() {
+        given:
+        def index = new UuidIndex(10)
+        def uuid = UUID.randomUUID()
+        index.add(uuid)
+
+        def out = new ByteArrayOutputStream()
+        index.writeTo(new DataOutputStream(out))
+        def read = UuidIndex.readFrom(java.nio.ByteBuffer.wrap(out.toByteArray()))
+        def other = UUID.randomUUID()
+
+        when:
+        read.add(other)
+
+        then:
+        thrown(java.nio.ReadOnlyBufferException)
+        read.add(uuid) == 0
+
+        when:
+        def copy = read.copy()
+
+        then:
+        copy.add(other) == 1
+        copy.indexOf(uuid) == 0
+        read.indexOf(other) == -1
+    }
+}
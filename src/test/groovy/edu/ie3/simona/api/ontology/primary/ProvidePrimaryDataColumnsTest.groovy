@@ -0,0 +1,78 @@
+package edu.ie3.simona.api.ontology.primary
+
+import edu.ie3.datamodel.models.StandardUnits
+import edu.ie3.datamodel.models.value.PValue
+import edu.ie3.datamodel.models.value.SValue
+import spock.lang.Specification
+import tech.units.indriya.quantity.Quantities
+
+class ProvidePrimaryDataColumnsTest extends Specification {
+
+    UUID asset1 = UUID.randomUUID()
+    UUID asset2 = UUID.randomUUID()
+
+    def "A ProvidePrimaryDataColumns should be converted to active power values correctly"() {
+        given:
+        def message = new ProvidePrimaryDataColumns(
+                0L,
+                [asset1, asset2],
+                [1d, Double.NaN] as double[],
+                StandardUnits.ACTIVE_POWER_IN,
+                OptionalLong.of(900L)
+        )
+
+        expect:
+        !message.hasReactivePower()
+        message.toPrimaryData() == [
+            (asset1): new PValue(Quantities.getQuantity(1d, StandardUnits.ACTIVE_POWER_IN))
+        ]
+    }
+
+    def "A ProvidePrimaryDataColumns should be converted to apparent power values correctly"() {
+        given:
+        def message = new ProvidePrimaryDataColumns(
+                0L,
+                [asset1, asset2],
+                [1d, 2d] as double[],
+                [0.5d, 1d] as double[],
+                StandardUnits.ACTIVE_POWER_IN,
+                StandardUnits.REACTIVE_POWER_IN,
+                OptionalLong.empty()
+        )
+
+        expect:
+        message.hasReactivePower()
+        message.toPrimaryData() == [
+            (asset1): new SValue(
+            Quantities.getQuantity(1d, StandardUnits.ACTIVE_POWER_IN),
+            Quantities.getQuantity(0.5d, StandardUnits.REACTIVE_POWER_IN)
+            ),
+            (asset2): new SValue(
+            Quantities.getQuantity(2d, StandardUnits.ACTIVE_POWER_IN),
+            Quantities.getQuantity(1d, StandardUnits.REACTIVE_POWER_IN)
+            )
+        ]
+    }
+
+    def "A ProvidePrimaryDataColumns should compare the columns by their values"() {
+        expect:
+        new ProvidePrimaryDataColumns(0L, [asset1], [1d] as double[], StandardUnits.ACTIVE_POWER_IN, OptionalLong.empty()) ==
+                new ProvidePrimaryDataColumns(0L, [asset1], [1d] as double[], StandardUnits.ACTIVE_POWER_IN, OptionalLong.empty())
+        new ProvidePrimaryDataColumns(0L, [asset1], [1d] as double[], StandardUnits.ACTIVE_POWER_IN, OptionalLong.empty()) !=
+                new ProvidePrimaryDataColumns(0L, [asset1], [2d] as double[], StandardUnits.ACTIVE_POWER_IN, OptionalLong.empty())
+    }
+
+    def "A ProvidePrimaryDataColumns should throw an exception, if the columns do not match the assets"() {
+        when:
+        new ProvidePrimaryDataColumns(0L, [asset1, asset2], p as double[], q as double[], StandardUnits.ACTIVE_POWER_IN, StandardUnits.REACTIVE_POWER_IN, OptionalLong.empty())
+
+        then:
+        IllegalArgumentException ex = thrown()
+        ex.message == message
+
+        where:
+        p        | q    || message
+        [1d]     | []   || "Expected active power for 2 assets, but got 1!"
+        [1d, 2d] | [1d] || "Expected reactive power for 2 assets, but got 1!"
+    }
+}
@@ -14,6 +14,9 @@ import spock.lang.Shared
 import spock.lang.Specification
 
 import java.lang.reflect.Method
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+import jdk.jfr.consumer.RecordingStream
 
 class ExtSimulationSpec extends Specification {
 
@@ -144,4 +147,57 @@ class ExtSimulationSpec extends Specification {
         false                 || true
         true                  || true
     }
+
+    def "An ExtSimulation should be started on a virtual thread"() {
+        given:
+        def extSimAdapter = testKit.createTestProbe(ControlResponseMessageFromExt)
+        def extSimDataConnection = new ExtSimDataConnection(extSimAdapter.ref())
+        def extSim = new TestSimulation(0L, OptionalLong.empty())
+        extSim.setDataConnection(extSimDataConnection)
+
+        when:
+        def thread = extSim.startVirtual()
+        extSimDataConnection.queueExtMsg(new ActivationMessage(0L))
+        thread.join(Duration.ofSeconds(10))
+
+        then:
+        thread.virtual
+        thread.name == "TestSimulation"
+        !thread.alive
+        extSimAdapter.expectMessage(new CompletionMessage(OptionalLong.empty()))
+    }
+
+    def "Many ExtSimulations should run on virtual threads without pinning the carrier threads"() {
+        given:
+        def count = 512
+        def extSimAdapter = testKit.createTestProbe(ControlResponseMessageFromExt)
+        def connections = (0..<count).collect { new ExtSimDataConnection(extSimAdapter.ref()) }
+
+        def pinned = new AtomicInteger()
+        def recording = new RecordingStream()
+        recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO)
+        recording.onEvent("jdk.VirtualThreadPinned") { pinned.incrementAndGet() }
+        recording.startAsync()
+
+        when:
+        def threads = connections.collect { connection ->
+            def extSim = new TestSimulation(0L, OptionalLong.empty())
+            extSim.setDataConnection(connection)
+            extSim.startVirtual()
+        }
+
+        // all simulations are waiting for messages now, which would dead-lock the small carrier pool of the virtualThreadTest task, if the waiting threads were pinned, a pinned thread is also reported by the recording
+        connections.each { it.queueExtMsg(new ActivationMessage(-1L)) }
+        connections.each { it.queueExtMsg(new ActivationMessage(0L)) }
+        threads.each { it.join(Duration.ofSeconds(30)) }
+        def messages = extSimAdapter.receiveSeveralMessages(2 * count, Duration.ofSeconds(30))
+        recording.stop()
+        recording.close()
+
+        then:
+        threads.every { !it.alive }
+        messages.count { it == new CompletionMessage(OptionalLong.of(0L)) } == count
+        messages.count { it == new CompletionMessage(OptionalLong.empty()) } == count
+        pinned.get() == 0
+    }
 }